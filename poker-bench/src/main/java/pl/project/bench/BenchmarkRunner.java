@@ -0,0 +1,38 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line
+ * (e.g. {@code java -jar benchmarks.jar Deck -f 1}) and always adds the GC profiler,
+ * so every result also shows allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs benchmarks
+     * @param args JMH command line options
+     * @throws CommandLineOptionException when options are not valid
+     * @throws RunnerException when benchmarks fail
+     * @throws IOException when benchmark list cannot be read
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
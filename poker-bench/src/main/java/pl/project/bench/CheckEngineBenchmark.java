@@ -0,0 +1,52 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.Player;
+import pl.project.cards.Deck;
+import pl.project.check.CheckEngine;
+import pl.project.check.hand.EvaluatedHand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Showdown of 2 to 10 players - {@link CheckEngine#check(List)} with lookup tables and with the reference chain.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckEngineBenchmark {
+
+    @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int players;
+
+    @Param({"LOOKUP", "REFERENCE"})
+    public CheckEngine.Mode mode;
+
+    private CheckEngine engine;
+    private final List<Player> table = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        engine = new CheckEngine(mode);
+        Deck deck = new Deck();
+        Collections.shuffle(deck.getCardList(), new Random(players));
+        for (int id = 0; id < players; id++) {
+            Player player = new Player("player" + id, id);
+            player.setHand(deck.dealHand(5));
+            table.add(player);
+        }
+    }
+
+    @Benchmark
+    public List<EvaluatedHand> check() {
+        return engine.check(table);
+    }
+}
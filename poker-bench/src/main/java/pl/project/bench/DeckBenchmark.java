@@ -0,0 +1,60 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.cards.Deck;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Operations of {@link Deck}. Every benchmark puts dealt cards back, so the deck keeps 52 cards.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck();
+    }
+
+    /**
+     * Shuffles the whole deck at once - reading the list view finishes the shuffle
+     */
+    @Benchmark
+    public Card shuffle() {
+        deck.shuffle();
+        return deck.getCardList().get(0);
+    }
+
+    /**
+     * Shuffles for a new hand, deals a hand and returns its cards one by one to the front of the deck
+     */
+    @Benchmark
+    public List<Card> dealHand() {
+        deck.shuffle();
+        List<Card> hand = deck.dealHand(5);
+        for (Card card : hand) {
+            deck.addCardToDeck(card);
+        }
+        return hand;
+    }
+
+    /**
+     * Draws one card and puts it back to the front, as exchanging a card does
+     */
+    @Benchmark
+    public Card getAndAddCard() {
+        Card card = deck.getCardFromDeck();
+        deck.addCardToDeck(card);
+        return card;
+    }
+}
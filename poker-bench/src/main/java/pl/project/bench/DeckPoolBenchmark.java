@@ -0,0 +1,71 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.cards.Deck;
+import pl.project.cards.DeckPool;
+import pl.project.cards.DeckRandom;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Latency of the start of a hand - a deck taken from a running {@link DeckPool} against a deck shuffled inline,
+ * both dealing 6 hands of 5 cards. Before every invocation the producer gets the time to refill an empty pool.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckPoolBenchmark {
+
+    static final int HANDS = 6;
+
+    @Param({"FAST", "SECURE"})
+    public DeckRandom.Mode mode;
+
+    private DeckPool pool;
+    private DeckRandom random;
+
+    @Setup
+    public void setUp() {
+        pool = new DeckPool(1024, 0, DeckRandom.of(mode, 5));
+        pool.start();
+        random = DeckRandom.of(mode, 7);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        while (pool.depth() == 0) {
+            Thread.yield();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.stop();
+    }
+
+    @Benchmark
+    public List<Card> pooled() {
+        return deal(pool.take(random));
+    }
+
+    @Benchmark
+    public List<Card> inline() {
+        Deck deck = new Deck(0, random);
+        deck.shuffle();
+        return deal(deck);
+    }
+
+    private static List<Card> deal(Deck deck) {
+        List<Card> last = null;
+        for (int i = 0; i < HANDS; i++) {
+            last = deck.dealHand(5);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,47 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.cards.Deck;
+import pl.project.cards.DeckRandom;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Generators of {@link DeckRandom} - single numbers and whole shuffles of 52 cards.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckRandomBenchmark {
+
+    @Param({"FAST", "SEEDED", "SECURE"})
+    public DeckRandom.Mode mode;
+
+    private DeckRandom random;
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        random = DeckRandom.of(mode, 5);
+        deck = new Deck(0, DeckRandom.of(mode, 5));
+    }
+
+    @Benchmark
+    public int nextInt() {
+        return random.nextInt(Card.COUNT);
+    }
+
+    /**
+     * Shuffles the whole deck - reading the list view finishes the shuffle
+     */
+    @Benchmark
+    public Card shuffle() {
+        deck.shuffle();
+        return deck.getCardList().get(0);
+    }
+}
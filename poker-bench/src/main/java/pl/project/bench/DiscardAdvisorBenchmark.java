@@ -0,0 +1,65 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.draw.DiscardAdvisor;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Latency of {@link DiscardAdvisor} - sampled, so percentiles up to p99.99 are reported next to the mean.
+ * {@code remembered} is a hand seen before, {@code computed} scores all 32 discards of a hand as the first call does,
+ * {@code knownCards} does the same with ten more cards out of the deck.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscardAdvisorBenchmark {
+
+    static final int HANDS = 1 << 12;
+
+    private final long[] hands = new long[HANDS];
+    private final long[] decks = new long[HANDS];
+    private final DiscardAdvisor advisor = new DiscardAdvisor();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < HANDS; i++) {
+            long seen = 0;
+            while (Long.bitCount(seen) < 15) {
+                long card = 1L << random.nextInt(Card.COUNT);
+                if (Long.bitCount(seen) < 5) {
+                    hands[i] |= card;
+                }
+                seen |= card;
+            }
+            decks[i] = CardSet.FULL_DECK & ~seen;
+            advisor.advise(hands[i]);
+        }
+    }
+
+    @Benchmark
+    public long remembered() {
+        return advisor.advise(hands[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public long computed() {
+        long hand = hands[next++ & (HANDS - 1)];
+        return advisor.advise(hand, CardSet.FULL_DECK & ~hand, DiscardAdvisor.HAND_SIZE);
+    }
+
+    @Benchmark
+    public long knownCards() {
+        int i = next++ & (HANDS - 1);
+        return advisor.advise(hands[i], decks[i], DiscardAdvisor.HAND_SIZE);
+    }
+}
@@ -0,0 +1,41 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.check.equity.Equity;
+import pl.project.check.equity.EquityCalculator;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Monte Carlo equity of one known hand against 1 to 9 unknown hands, {@code SAMPLES} deals per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EquityCalculatorBenchmark {
+
+    static final int SAMPLES = 10_000;
+
+    @Param({"2", "6", "10"})
+    public int players;
+
+    private final EquityCalculator calculator = new EquityCalculator(5);
+    private long[] hands;
+
+    @Setup
+    public void setUp() {
+        hands = new long[players];
+        hands[0] = 1L << Card.id(Card.Rank.ACE, Card.Suit.SPADES) | 1L << Card.id(Card.Rank.ACE, Card.Suit.HEARTS)
+                | 1L << Card.id(Card.Rank.KING, Card.Suit.CLUBS);
+    }
+
+    @Benchmark
+    public Equity samples() {
+        return calculator.calculate(hands, 0, SAMPLES);
+    }
+}
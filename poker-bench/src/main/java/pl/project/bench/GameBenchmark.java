@@ -0,0 +1,95 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.Game;
+import pl.project.Player;
+import pl.project.cards.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Dealing and exchanging cards in a {@link Game} of 2 to 10 players.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"2", "4", "6", "8", "10"})
+    public int players;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        game = new Game(1, new Player("player0", 0), players);
+        for (int id = 1; id < players; id++) {
+            game.addPlayer(new Player("player" + id, id));
+        }
+        for (int id = 0; id < players; id++) {
+            game.handCards(id);
+        }
+        returnCards();
+    }
+
+    /**
+     * Deals hands to all players, then puts the cards back into the deck
+     */
+    @Benchmark
+    public List<List<String>> handCards() {
+        List<List<String>> hands = new ArrayList<>(players);
+        for (int id = 0; id < players; id++) {
+            hands.add(game.handCards(id));
+        }
+        returnCards();
+        return hands;
+    }
+
+    /**
+     * Every player exchanges four cards
+     */
+    @Benchmark
+    public List<String> changeCard() {
+        List<String> cards = new ArrayList<>(4 * players);
+        for (int id = 0; id < players; id++) {
+            for (int position = 0; position < 4; position++) {
+                cards.add(game.changeCard(id, position));
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * A betting round - every player is queued, the last one raises and the players before answer
+     */
+    @Benchmark
+    public int bettingRound() {
+        int sum = 0;
+        for (int id = game.getQueueOfPlayers(); id != -1; id = game.nextPlayerIDFromQueue()) {
+            sum += id;
+        }
+        game.queuePlayersBefore(players - 1);
+        for (int id = game.nextPlayerIDFromQueue(); id != -1; id = game.nextPlayerIDFromQueue()) {
+            sum += id;
+        }
+        return sum;
+    }
+
+    /**
+     * Puts the cards back and shuffles, as a new hand does
+     */
+    private void returnCards() {
+        for (Player player : game.getPlayers().values()) {
+            for (Card card : player.getHand()) {
+                game.getDeck().addCardToDeck(card);
+            }
+        }
+        game.getDeck().shuffle();
+    }
+}
@@ -0,0 +1,72 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Single evaluators of the reference chain on random hands.
+ * Every operation creates a new evaluator, as {@code CheckEngine} in reference mode does,
+ * because evaluators keep the found cards as their state.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandEvaluatorBenchmark {
+
+    private static final int HANDS = 1024;
+
+    @Param({"RoyalFlush", "StraightFlush", "FourSome", "FullHouse", "Flush", "Straight",
+            "ThreeSome", "TwoPair", "OnePair", "HighestCard"})
+    public String evaluator;
+
+    private Supplier<HandEvaluator> factory;
+    private final List<List<Card>> hands = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        factory = factory(evaluator);
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < HANDS; i++) {
+            long mask = 0;
+            while (Long.bitCount(mask) < 5) {
+                mask |= 1L << random.nextInt(Card.COUNT);
+            }
+            hands.add(CardSet.toList(mask));
+        }
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        List<Card> hand = hands.get(next++ & (HANDS - 1));
+        return factory.get().evaluate(hand);
+    }
+
+    private static Supplier<HandEvaluator> factory(String name) {
+        switch (name) {
+            case "RoyalFlush": return RoyalFlushEvaluator::new;
+            case "StraightFlush": return StraightFlushEvaluator::new;
+            case "FourSome": return FourSomeEvaluator::new;
+            case "FullHouse": return FullHouseEvaluator::new;
+            case "Flush": return FlushEvaluator::new;
+            case "Straight": return StraightEvaluator::new;
+            case "ThreeSome": return ThreeSomeEvaluator::new;
+            case "TwoPair": return TwoPairEvaluator::new;
+            case "OnePair": return OnePairEvaluator::new;
+            case "HighestCard": return HighestCardEvaluator::new;
+            default: throw new IllegalArgumentException("Unknown evaluator " + name);
+        }
+    }
+}
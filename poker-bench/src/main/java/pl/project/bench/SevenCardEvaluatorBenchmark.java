@@ -0,0 +1,74 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.cards.Card;
+import pl.project.check.SevenCardEvaluator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * 7-card evaluation - random hands one at a time, and the walk over all 133,784,560 hands
+ * where hands sharing their first cards share the states of those cards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SevenCardEvaluatorBenchmark {
+
+    static final int HANDS = 1 << 16;
+    static final int ALL_HANDS = 133_784_560;
+
+    private final SevenCardEvaluator evaluator = new SevenCardEvaluator();
+    private final long[] masks = new long[HANDS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < HANDS; i++) {
+            while (Long.bitCount(masks[i]) < SevenCardEvaluator.MAX_CARDS) {
+                masks[i] |= 1L << random.nextInt(Card.COUNT);
+            }
+        }
+    }
+
+    @Benchmark
+    public int randomHands() {
+        return evaluator.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ALL_HANDS)
+    public long allHandsWalk() {
+        long sum = 0;
+        for (int c0 = 0; c0 < Card.COUNT; c0++) {
+            int s0 = evaluator.walk(SevenCardEvaluator.START, c0);
+            for (int c1 = c0 + 1; c1 < Card.COUNT; c1++) {
+                int s1 = evaluator.walk(s0, c1);
+                for (int c2 = c1 + 1; c2 < Card.COUNT; c2++) {
+                    int s2 = evaluator.walk(s1, c2);
+                    for (int c3 = c2 + 1; c3 < Card.COUNT; c3++) {
+                        int s3 = evaluator.walk(s2, c3);
+                        for (int c4 = c3 + 1; c4 < Card.COUNT; c4++) {
+                            int s4 = evaluator.walk(s3, c4);
+                            long m4 = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            for (int c5 = c4 + 1; c5 < Card.COUNT; c5++) {
+                                int s5 = evaluator.walk(s4, c5);
+                                long m5 = m4 | 1L << c5;
+                                for (int c6 = c5 + 1; c6 < Card.COUNT; c6++) {
+                                    sum += evaluator.strength(evaluator.walk(s5, c6), m5 | 1L << c6);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+}
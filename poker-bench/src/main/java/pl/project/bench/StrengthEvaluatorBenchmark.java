@@ -0,0 +1,116 @@
+package pl.project.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pl.project.Game;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
+import pl.project.check.CheckEngine;
+import pl.project.check.EvaluationCache;
+import pl.project.check.LookupEvaluator;
+import pl.project.check.LowballEvaluator;
+import pl.project.check.batch.BatchEvaluator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Evaluators working on {@code CardSet} masks. Single-hand benchmarks cycle over a small pool of hands,
+ * batch benchmarks evaluate the whole pool in one call and are reported per hand as well.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrengthEvaluatorBenchmark {
+
+    static final int HANDS = 1 << 16;
+
+    private final long[] masks = new long[HANDS];
+    private final long[] jokerMasks = new long[HANDS];
+    private final int[] strengths = new int[HANDS];
+    private final LookupEvaluator lookupEvaluator = new LookupEvaluator();
+    private final LowballEvaluator deuceToSeven = LowballEvaluator.of(Game.Variant.DEUCE_TO_SEVEN);
+    private final LowballEvaluator aceToFive = LowballEvaluator.of(Game.Variant.ACE_TO_FIVE);
+    private final CheckEngine referenceEngine = new CheckEngine(CheckEngine.Mode.REFERENCE);
+    private final EvaluationCache cache = new EvaluationCache(lookupEvaluator, HANDS);
+    private final BatchEvaluator scalarBatch = new BatchEvaluator(lookupEvaluator, ForkJoinPool.commonPool(), HANDS);
+    private final BatchEvaluator fastestBatch = BatchEvaluator.fastest();
+    private final HandState handState = HandState.of(0b11111);
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < HANDS; i++) {
+            while (Long.bitCount(masks[i]) < 5) {
+                masks[i] |= 1L << random.nextInt(Card.COUNT);
+            }
+            // the lowest card of the hand becomes a joker
+            jokerMasks[i] = (masks[i] & masks[i] - 1) | 1L << Card.JOKER;
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        return lookupEvaluator.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public int lookupWithJoker() {
+        return lookupEvaluator.strength(jokerMasks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public int lowballDeuceToSeven() {
+        return deuceToSeven.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public int lowballAceToFive() {
+        return aceToFive.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    /**
+     * Exchanges one card of a running hand state and reads the strength of the new hand
+     */
+    @Benchmark
+    public int handStateExchange() {
+        long candidates = masks[next++ & (HANDS - 1)] & ~handState.getMask();
+        if (candidates == 0) {
+            candidates = CardSet.FULL_DECK & ~handState.getMask();
+        }
+        int removed = Long.numberOfTrailingZeros(handState.getMask());
+        int added = Long.numberOfTrailingZeros(candidates);
+        handState.replace(removed, added);
+        return lookupEvaluator.strength(handState);
+    }
+
+    @Benchmark
+    public int referenceChain() {
+        return referenceEngine.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public int cachedLookup() {
+        return cache.strength(masks[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int[] batchScalar() {
+        scalarBatch.evaluate(masks, strengths);
+        return strengths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int[] batchFastest() {
+        fastestBatch.evaluate(masks, strengths);
+        return strengths;
+    }
+}
@@ -5,6 +5,9 @@ import pl.project.communication.ReadToken;
 import pl.project.communication.SendToken;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
 
 /**
@@ -13,6 +16,16 @@ import java.util.Scanner;
  */
 public class PreGame implements Stage {
 
+    /**
+     * Game variants accepted by the server, the first one is used when none is chosen
+     */
+    static final List<String> VARIANTS = Arrays.asList("high", "deuce_to_seven", "ace_to_five");
+
+    /**
+     * Largest number of jokers in the deck, only high hand games are played with jokers
+     */
+    static final int MAX_JOKERS = 2;
+
     /**
      * Executes the pre-game stage for the client.
      * Allows the player to either create or join a game and handles server communication.
@@ -35,7 +48,7 @@ public class PreGame implements Stage {
                 command = scanner.nextLine().trim();
 
                 if ("create".equals(command)) {
-                    command = handleCreate(client);
+                    command = handleCreate(client, scanner);
                     break; // Kończy pętlę
                 } else if ("join".equals(command)) {
                     command = handleJoin(client, scanner);
@@ -88,6 +101,10 @@ public class PreGame implements Stage {
             client.setStage(new Waiting());
         } else if (tokens[0].equals("rejectedJoin")) {
             System.out.println("Game of ID you entered does not exist");
+        } else if (tokens[0].equals("rejectedCreate")) {
+            String rejected = String.join(" ", Arrays.copyOfRange(tokens, 1, tokens.length));
+            System.out.println("Server rejected the game '" + rejected + "', create the game again");
+            client.setGameFounder(false);
         }
 
         else {
@@ -106,6 +123,50 @@ public class PreGame implements Stage {
         return "create " + client.getPlayerID();
     }
 
+    /**
+     * Asks the player for the variant of the game and, for high hand games, the number of jokers,
+     * then prepares the command to create it. Empty input chooses the default high hand game without jokers.
+     *
+     * @param client  the {@link Client} object representing the player
+     * @param scanner a {@link Scanner} for reading player input
+     * @return a string command to send to the server for game creation
+     */
+    String handleCreate(Client client, Scanner scanner) {
+        while (true) {
+            System.out.print("Choose variant - 'high', 'deuce_to_seven' or 'ace_to_five' (Enter for high): ");
+            String variant = scanner.nextLine().trim().toLowerCase(Locale.ROOT);
+            if (variant.isEmpty() || variant.equals(VARIANTS.get(0))) {
+                int jokers = readJokers(scanner);
+                return jokers == 0 ? handleCreate(client) : handleCreate(client) + " " + VARIANTS.get(0) + " " + jokers;
+            } else if (VARIANTS.contains(variant)) {
+                return handleCreate(client) + " " + variant;
+            } else {
+                System.out.println("Unknown variant, try again:");
+            }
+        }
+    }
+
+    /**
+     * Asks the player for the number of jokers in the deck until it is a number from 0 to {@value #MAX_JOKERS}.
+     * Empty input chooses no jokers.
+     *
+     * @param scanner a {@link Scanner} for reading player input
+     * @return number of jokers
+     */
+    int readJokers(Scanner scanner) {
+        while (true) {
+            System.out.print("Number of jokers - 0 to " + MAX_JOKERS + " (Enter for none): ");
+            String jokers = scanner.nextLine().trim();
+            if (jokers.isEmpty()) {
+                return 0;
+            }
+            if (jokers.length() == 1 && jokers.charAt(0) >= '0' && jokers.charAt(0) <= '0' + MAX_JOKERS) {
+                return jokers.charAt(0) - '0';
+            }
+            System.out.println("Wrong number of jokers, try again:");
+        }
+    }
+
     /**
      * Handles the input from the player to join an existing game.
      * Validates the game ID entered by the player.
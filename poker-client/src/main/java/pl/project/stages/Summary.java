@@ -88,6 +88,11 @@ public class Summary implements Stage{
             System.out.println("Winner layout was: " + winnerLayout);
         }
 
+        // servers that split pots add the number of winners
+        if (parts.length > 7 && Integer.parseInt(parts[7]) > 1){
+            System.out.println("The pot was split between " + parts[7] + " players");
+        }
+
         handleLeft(client);
 
     }
@@ -59,6 +59,41 @@ class PreGameTest {
         verify(mockClient, times(1)).setGameFounder(true);
     }
 
+    @Test
+    void testHandleCreate_LowballVariant() {
+        when(mockClient.getPlayerID()).thenReturn(123);
+        Scanner scanner = new Scanner(new ByteArrayInputStream("ace_to_five\n".getBytes()));
+
+        String result = preGame.handleCreate(mockClient, scanner);
+
+        assertEquals("create 123 ace_to_five", result);
+        verify(mockClient, times(1)).setGameFounder(true);
+    }
+
+    @Test
+    void testHandleCreate_DefaultVariant() {
+        when(mockClient.getPlayerID()).thenReturn(123);
+        Scanner scanner = new Scanner(new ByteArrayInputStream("\n\n".getBytes()));
+
+        assertEquals("create 123", preGame.handleCreate(mockClient, scanner));
+    }
+
+    @Test
+    void testHandleCreate_HighWithJokers() {
+        when(mockClient.getPlayerID()).thenReturn(123);
+        Scanner scanner = new Scanner(new ByteArrayInputStream("high\n3\n2\n".getBytes()));
+
+        assertEquals("create 123 high 2", preGame.handleCreate(mockClient, scanner));
+    }
+
+    @Test
+    void testHandleCreate_UnknownVariantAsksAgain() {
+        when(mockClient.getPlayerID()).thenReturn(123);
+        Scanner scanner = new Scanner(new ByteArrayInputStream("razz\nDEUCE_TO_SEVEN\n".getBytes()));
+
+        assertEquals("create 123 deuce_to_seven", preGame.handleCreate(mockClient, scanner));
+    }
+
     @Test
     void testHandleJoin_ValidInput() {
         // Mockowanie wejścia użytkownika
@@ -117,6 +152,19 @@ class PreGameTest {
 
     }
 
+    @Test
+    void testHandleResponse_RejectedCreate() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent));
+
+        String[] tokens = {"rejectedCreate", "deuce_to_seven", "1"};
+        preGame.handleResponse(mockClient, tokens);
+
+        assertTrue(outContent.toString().contains("Server rejected the game 'deuce_to_seven 1'"));
+        verify(mockClient).setGameFounder(false);
+        verify(mockClient, never()).setStage(any());
+    }
+
     @Test
     void testHandleResponse_UnrecognizedMessage() {
         ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import pl.project.cards.Card;
 import pl.project.cards.Deck;
+import pl.project.cards.DeckPool;
+import pl.project.cards.DeckRandom;
 
 import java.util.*;
 
@@ -13,22 +15,52 @@ import java.util.*;
  */
 public class Game {
 
+    /**
+     * Rules deciding which hand wins the showdown
+     */
+    public enum Variant {
+        /**
+         * Five card draw - the highest hand wins
+         */
+        HIGH,
+        /**
+         * Deuce-to-seven lowball - the lowest hand wins, aces are high, straights and flushes count against the hand,
+         * the best hand is 7-5-4-3-2 of mixed suits
+         */
+        DEUCE_TO_SEVEN,
+        /**
+         * Ace-to-five lowball - the lowest hand wins, aces are low, straights and flushes are ignored,
+         * the best hand is A-2-3-4-5
+         */
+        ACE_TO_FIVE
+    }
+
+    /**
+     * Largest number of seats, one bit of the fold and all-in masks each
+     */
+    public static final int MAX_SEATS = Integer.SIZE;
+
     @Getter
     private int gameID;
     @Getter
     private final Map<Integer, Player> players = new HashMap<>();
     @Getter
-    @Setter
-    private Map<Integer, Player> activePlayers = new HashMap<>();
-    @Getter
     private Player gameFounder;
     private final int maxNumberOfPlayers;
+    // gracze w kolejnosci miejsc przy stole, bit i masek to miejsce i
+    private final Player[] seats;
+    private final int[] seatPlayerIDs;
+    private int seatCount = 0;
+    private int foldedSeats = 0;
+    private int allInSeats = 0;
     @Getter
-    private List<Integer> orderedPlayersIDs = new ArrayList<>();
+    private final List<Integer> orderedPlayersIDs = new SeatPlayerIDs();
     @Getter
-    private List<Integer> orderedActivePlayersIDs = new ArrayList<>();
+    private DeckRandom random = DeckRandom.fast();
+    // czy generator wybrano przez setRandom, wtedy talie z puli tylko tego samego rodzaju
+    private boolean randomChosen = false;
     @Getter
-    private Deck deck = new Deck();
+    private Deck deck = new Deck(0, random);
     @Getter
     @Setter
     private int numberOfAuction = 0;
@@ -38,59 +70,147 @@ public class Game {
     @Getter
     @Setter
     private int minimumBet = 100;
-    @Getter
-    @Setter
-    private List<Integer> currentAuctionQueue = new ArrayList<>();
+    // kolejka licytacji - bufor cykliczny id graczy
+    private int[] auctionQueue = new int[2 * MAX_SEATS];
+    private int queueHead = 0;
+    private int queueSize = 0;
     @Setter
     @Getter
     private int numActivePlayers = 0;
+    @Getter
+    private Variant variant = Variant.HIGH;
+    @Getter
+    private int jokers = 0;
+    @Getter
+    @Setter
+    private DeckPool deckPool;
+    // gracz, ktory teraz wymienia karty, -1 poza faza wymiany
+    @Getter
+    @Setter
+    private int changingPlayerID = -1;
+    private boolean handStarted = false;
 
 
 
 
     /**
-     * fucking magic!
-     * @return
+     * Starts a betting round - queues every player still in the hand, who neither folded nor went all-in, in seat order
+     * @return id of the first player of the queue, -1 when nobody can bet
      */
     public int getQueueOfPlayers(){
-
-        for (Integer playerID : orderedPlayersIDs) {
-            Player player = players.get(playerID);
-            if (!player.isFold() && !player.isAllIn()) {
-                currentAuctionQueue.add(playerID);
-            }
-        }
-
-        if (!currentAuctionQueue.isEmpty()){
-            return currentAuctionQueue.remove(0);
-        }
-        return -1;
+        queueSeats(bettingSeats());
+        return nextPlayerIDFromQueue();
     }
 
+    /**
+     * Takes the next player of the betting queue
+     * @return id of the player, -1 when the queue is empty
+     */
     public int nextPlayerIDFromQueue(){
-        if (!currentAuctionQueue.isEmpty()){
-            return currentAuctionQueue.remove(0);
+        if (queueSize == 0){
+            return -1;
         }
-        return -1;
+        int playerID = auctionQueue[queueHead];
+        queueHead = (queueHead + 1) & (auctionQueue.length - 1);
+        queueSize--;
+        return playerID;
+    }
+
+    /**
+     * @return {@code true} if some player still waits in the betting queue
+     */
+    public boolean hasQueuedPlayers(){
+        return queueSize != 0;
     }
 
 
     // do zostanowienai
     public void addPlayerToQueue(Integer playerID){
-        currentAuctionQueue.add(playerID);
+        if (queueSize == auctionQueue.length){
+            int[] grown = new int[auctionQueue.length * 2];
+            for (int i = 0; i < queueSize; i++) {
+                grown[i] = auctionQueue[(queueHead + i) & (auctionQueue.length - 1)];
+            }
+            auctionQueue = grown;
+            queueHead = 0;
+        }
+        auctionQueue[(queueHead + queueSize) & (auctionQueue.length - 1)] = playerID;
+        queueSize++;
+    }
+
+    /**
+     * Seats before the player's seat which are still in the hand - did not fold and did not go all-in,
+     * so they have to answer a raise
+     * @param playerID id of a player of the game
+     * @return bitmask of seats, bit {@code i} is seat {@code i}
+     */
+    public int getSeatsBeforeNotFold(int playerID){
+        return bettingSeats() & ((1 << seatOf(playerID)) - 1);
     }
 
+    /**
+     * Queues the players who have to answer a raise of the player, in seat order
+     * @param playerID id of the raising player
+     */
+    public void queuePlayersBefore(int playerID){
+        queueSeats(getSeatsBeforeNotFold(playerID));
+    }
 
-    public List<Integer> getPlayersIDsBeforeNotFold(Integer playerID){
-        int currentPosition = orderedPlayersIDs.indexOf(playerID);
-        List<Integer> playersIDs = orderedPlayersIDs.subList(0, currentPosition);
-        List<Integer> notFoldPlayersIDs = new ArrayList<>();
-        for (Integer playerID2 : playersIDs) {
-            if (!players.get(playerID2).isFold() && !players.get(playerID2).isAllIn()) {
-                notFoldPlayersIDs.add(playerID2);
+    /**
+     * @param playerID id of a player
+     * @return seat of the player, -1 when the player is not in the game
+     */
+    public int seatOf(int playerID){
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seatPlayerIDs[seat] == playerID) {
+                return seat;
             }
         }
-        return notFoldPlayersIDs;
+        return -1;
+    }
+
+    /**
+     * Id of the player in the seat. Together with {@link #getSeatCount()} it iterates over the players
+     * in seat order without allocating:
+     * <pre>{@code
+     * for (int seat = 0; seat < game.getSeatCount(); seat++) {
+     *     int playerID = game.getSeatPlayerID(seat);
+     * }
+     * }</pre>
+     * @param seat index of a taken seat
+     * @return id of the player sitting there
+     */
+    public int getSeatPlayerID(int seat){
+        return seatPlayerIDs[Objects.checkIndex(seat, seatCount)];
+    }
+
+    /**
+     * @param seat index of a taken seat
+     * @return player sitting there
+     */
+    public Player getSeat(int seat){
+        return seats[Objects.checkIndex(seat, seatCount)];
+    }
+
+    /**
+     * @return number of taken seats
+     */
+    public int getSeatCount(){
+        return seatCount;
+    }
+
+    /**
+     * @return bitmask of seats whose players folded
+     */
+    public int getFoldedSeats(){
+        return foldedSeats;
+    }
+
+    /**
+     * @return bitmask of seats whose players went all-in
+     */
+    public int getAllInSeats(){
+        return allInSeats;
     }
 
 
@@ -98,25 +218,69 @@ public class Game {
      * Main constructor
      * @param gameID
      * @param gameFounder
-     * @param maxNumberOfPlayers
+     * @param maxNumberOfPlayers at most {@value #MAX_SEATS}
      */
     public Game(int gameID, Player gameFounder, int maxNumberOfPlayers) {
+        if (maxNumberOfPlayers < 1 || maxNumberOfPlayers > MAX_SEATS) {
+            throw new IllegalArgumentException("Game can have 1.." + MAX_SEATS + " players, got " + maxNumberOfPlayers);
+        }
         this.gameID = gameID;
         this.gameFounder = gameFounder;
         this.maxNumberOfPlayers = maxNumberOfPlayers;
         this.numActivePlayers = maxNumberOfPlayers;
-        players.put(gameFounder.getPlayerId(), gameFounder);
-        activePlayers.put(gameFounder.getPlayerId(), gameFounder);
-        orderedPlayersIDs.add(gameFounder.getPlayerId());
-        activePlayers.put(gameFounder.getPlayerId(), gameFounder);
+        this.seats = new Player[maxNumberOfPlayers];
+        this.seatPlayerIDs = new int[maxNumberOfPlayers];
+        seat(gameFounder);
+        // jedno tasowanie na cale rozdanie, karty sa losowane przy rozdawaniu
+        deck.shuffle();
     }
 
 
 
 
+    /**
+     * @return copy of the ids of all players, in no particular order - loops over players should use
+     * {@link #getSeatPlayerID(int)}, which allocates nothing and keeps seat order
+     */
     public Set<Integer> getPlayerIDs() {return new HashSet<>(players.keySet());}
 
 
+    /**
+     * Chooses the number of wild cards - the game starts over with a full deck of 52 cards and the jokers
+     * @param jokers number of jokers, at most {@value Card#JOKERS}, none in lowball
+     */
+    public void setJokers(int jokers) {
+        if (jokers != 0 && variant != Variant.HIGH) {
+            throw new IllegalArgumentException("Lowball is played without jokers");
+        }
+        this.deck = new Deck(jokers, random);
+        this.deck.shuffle();
+        this.jokers = jokers;
+    }
+
+    /**
+     * Chooses the rules of the showdown
+     * @param variant variant of the game, lowball variants are played without jokers
+     */
+    public void setVariant(Variant variant) {
+        if (variant != Variant.HIGH && jokers != 0) {
+            throw new IllegalArgumentException("Lowball is played without jokers");
+        }
+        this.variant = variant;
+    }
+
+    /**
+     * Chooses the generator shuffling the deck of this game, e.g. {@link DeckRandom#secure()} for real money tables
+     * or {@link DeckRandom#seeded(long)} to replay a game
+     * @param random source of random numbers for shuffling
+     */
+    public void setRandom(DeckRandom random) {
+        this.random = random;
+        this.randomChosen = true;
+        deck.setRandom(random);
+    }
+
+
     /**
      * Adds a player to the game if there is space available.
      *
@@ -124,17 +288,11 @@ public class Game {
      * @return 1 if the game is full after adding, 0 if successfully added, -1 if the game is already full.
      */
     public int addPlayer(Player player) {
-        if (players.size() +1 == maxNumberOfPlayers){
-            players.put(player.getPlayerId(), player);
-            activePlayers.put(player.getPlayerId(), player);
-            orderedPlayersIDs.add(player.getPlayerId());
-            orderedActivePlayersIDs.add(player.getPlayerId());
+        if (seatCount + 1 == maxNumberOfPlayers){
+            seat(player);
             return 1;
-        } else if (players.size() < maxNumberOfPlayers) {
-            players.put(player.getPlayerId(), player);
-            activePlayers.put(player.getPlayerId(), player);
-            orderedPlayersIDs.add(player.getPlayerId());
-            activePlayers.put(player.getPlayerId(), player);
+        } else if (seatCount < maxNumberOfPlayers) {
+            seat(player);
             return 0;
         }else{
             return -1;
@@ -143,12 +301,17 @@ public class Game {
 
     /**
      * Deals a hand of 5 cards to the player with the specified ID.
+     * The deck is shuffled once for the whole hand, so dealing costs only the cards drawn. The first deal
+     * of the hand takes a shuffled deck from the {@link DeckPool} of the game, if it has one with the same jokers
+     * and a generator the game can use - never for a seeded game, which must repeat its own shuffles.
      *
      * @param playerID the ID of the player.
      * @return a list of card descriptions.
      */
     public List<String> handCards(Integer playerID){
-        deck.shuffle();
+        if (!handStarted) {
+            startHand();
+        }
         List<Card> hand = deck.dealHand(5);
         players.get(playerID).setHand(hand);
 
@@ -159,6 +322,25 @@ public class Game {
         return handCardsStrings;
     }
 
+    private void startHand() {
+        handStarted = true;
+        if (usesPool()) {
+            deck = deckPool.take(random);
+        }
+    }
+
+    /**
+     * Decks of the pool were shuffled by its own generator - a seeded game would not repeat its shuffles,
+     * a secure game could get a deck shuffled by a fast generator, so the pool is used only when the game
+     * did not choose its generator or the pool shuffles with the same kind, and never by a seeded game.
+     */
+    private boolean usesPool() {
+        if (deckPool == null || deckPool.getJokers() != jokers || random.getMode() == DeckRandom.Mode.SEEDED) {
+            return false;
+        }
+        return !randomChosen || deckPool.getMode() == random.getMode();
+    }
+
     /**
      * Changes a card in the player's hand at the specified position.
      *
@@ -167,16 +349,13 @@ public class Game {
      * @return the new card description.
      */
     public String changeCard(Integer playerID, Integer cardID){
-        List<Card> hand = players.get(playerID).getHand();
-
-        Card cardToExchange = hand.get(cardID);
         Card newCard = deck.getCardFromDeck();
 
-        // nie usuwamy tylko podmieniamy
-        hand.set(cardID, cardToExchange);
+        // nie usuwamy tylko podmieniamy, stan reki zmienia sie o jedna karte
+        Card cardToExchange = players.get(playerID).exchangeCard(cardID, newCard);
 
-        // dodaje z powrotem do eck
-        deck.addCardToDeck(newCard);
+        // dodaje z powrotem do deck
+        deck.addCardToDeck(cardToExchange);
 
         return newCard.toString();
     }
@@ -190,41 +369,70 @@ public class Game {
     public int playerFold(Integer playerID){
         // ustawienie na true fold
         players.get(playerID).setFold(true);
+        foldedSeats |= 1 << seatOf(playerID);
 
         numActivePlayers--;
 
-        if (numActivePlayers == 1){
-
-            for(Player player : players.values()){
-                if (!player.isFold()){
-                    return player.getPlayerId();
-                }
-            }
-
-        }
-        return -1;
+        return foldedWinner();
+    }
 
+    /**
+     * Marks a player as all-in - the player stays in the hand, but takes no part in further betting
+     *
+     * @param playerID the ID of the player going all-in.
+     */
+    public void playerAllIn(int playerID){
+        players.get(playerID).setAllIn(true);
+        allInSeats |= 1 << seatOf(playerID);
     }
 
     /**
+     * Winner of a hand where everyone else folded
      *
-     * @return
+     * @return the ID of the only player who did not fold, or -1 if more players remain.
      */
     public int foldedWinner(){
-        if (numActivePlayers == 1){
-            for(Player player : players.values()){
-                if (!player.isFold()){
-                    return player.getPlayerId();
-                }
-            }
+        int notFolded = takenSeats() & ~foldedSeats;
+        if (numActivePlayers == 1 && notFolded != 0){
+            return seatPlayerIDs[Integer.numberOfTrailingZeros(notFolded)];
         }
         return -1;
     }
 
+    private void seat(Player player){
+        players.put(player.getPlayerId(), player);
+        seats[seatCount] = player;
+        seatPlayerIDs[seatCount] = player.getPlayerId();
+        seatCount++;
+    }
 
+    private int takenSeats(){
+        return (int) ((1L << seatCount) - 1);
+    }
 
+    private int bettingSeats(){
+        return takenSeats() & ~foldedSeats & ~allInSeats;
+    }
 
+    private void queueSeats(int seatMask){
+        for (int m = seatMask; m != 0; m &= m - 1) {
+            addPlayerToQueue(seatPlayerIDs[Integer.numberOfTrailingZeros(m)]);
+        }
+    }
 
+    /**
+     * Read only view of the ids of seated players in seat order
+     */
+    private final class SeatPlayerIDs extends AbstractList<Integer> implements RandomAccess {
 
+        @Override
+        public Integer get(int seat) {
+            return seatPlayerIDs[Objects.checkIndex(seat, seatCount)];
+        }
 
+        @Override
+        public int size() {
+            return seatCount;
+        }
+    }
 }
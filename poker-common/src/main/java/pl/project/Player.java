@@ -3,6 +3,8 @@ package pl.project;
 import lombok.Getter;
 import lombok.Setter;
 import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,8 +21,9 @@ public class Player {
     @Setter
     private int gameId;
     final int playerId;
-    @Setter
     private List<Card> hand = new ArrayList<>();
+    // summary of the hand kept up to date by exchangeCard, built again on first use after setHand
+    private HandState handState;
     @Setter
     private int exchangeCounter = 0;
     @Setter
@@ -46,6 +49,53 @@ public class Player {
         this.playerId = playerId;
     }
 
+    /**
+     * Sets the hand. Changes of single cards should go through {@link #exchangeCard(int, Card)},
+     * which keeps {@link #getHandState()} current without evaluating the hand again.
+     *
+     * @param hand new hand of the player
+     */
+    public void setHand(List<Card> hand) {
+        this.hand = hand;
+        this.handState = null;
+    }
+
+    /**
+     * Replaces the card at the position and updates the hand state in O(1)
+     *
+     * @param position index of the card in the hand
+     * @param card     card taking its place
+     * @return the replaced card
+     */
+    public Card exchangeCard(int position, Card card) {
+        Card replaced = hand.set(position, card);
+        if (handState != null) {
+            handState.replace(replaced.getId(), card.getId());
+        }
+        return replaced;
+    }
+
+    /**
+     * Running rank and suit counts of the hand, see {@link HandState}
+     *
+     * @return state of the current hand, owned by the player
+     */
+    public HandState getHandState() {
+        if (handState == null) {
+            handState = HandState.of(CardSet.mask(hand));
+        }
+        return handState;
+    }
+
+    /**
+     * Returns the hand as a {@link CardSet} mask, for evaluation without touching {@code Card} objects
+     *
+     * @return mask with one bit set for every card in hand
+     */
+    public long getHandMask() {
+        return handState != null ? handState.getMask() : CardSet.mask(hand);
+    }
+
     /**
      * Compares this player to another object for equality based on their player IDs.
      *
@@ -1,6 +1,5 @@
 package pl.project.cards;
 
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -8,9 +7,11 @@ import lombok.ToString;
 /**
  * The {@code Card} class represents a card containing rand and suit.
  * Class has two public enums - {@code Suit} and {@code Rank}
+ * <p>
+ * Decks can also hold up to {@value #JOKERS} jokers - wild cards without rank and suit, with ids
+ * {@value #JOKER} and up, see {@link #joker(int)}.
  */
 @Getter
-@AllArgsConstructor
 @EqualsAndHashCode
 public class Card implements Comparable<Card>{
 
@@ -21,8 +22,136 @@ public class Card implements Comparable<Card>{
         TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN, JACK, QUEEN, KING, ACE
     }
 
+    /**
+     * Number of distinct cards, ids are in range 0..51
+     */
+    public static final int COUNT = 52;
+
+    /**
+     * Largest number of jokers in a deck
+     */
+    public static final int JOKERS = 2;
+
+    /**
+     * Id of the first joker, jokers follow the 52 regular cards
+     */
+    public static final int JOKER = COUNT;
+
+    private static final Card[] BY_ID = new Card[COUNT + JOKERS];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                BY_ID[id(rank, suit)] = new Card(rank, suit);
+            }
+        }
+        for (int i = 0; i < JOKERS; i++) {
+            BY_ID[JOKER + i] = new Card(JOKER + i);
+        }
+    }
+
     private final Rank rank;
     private final Suit suit;
+    private final int id;
+
+    /**
+     * Creates a regular card
+     * @param rank rank of the card
+     * @param suit suit of the card
+     */
+    public Card(Rank rank, Suit suit) {
+        this.rank = rank;
+        this.suit = suit;
+        this.id = id(rank, suit);
+    }
+
+    private Card(int jokerId) {
+        this.rank = null;
+        this.suit = null;
+        this.id = jokerId;
+    }
+
+    /**
+     * Id of the card - {@code suit * 13 + rank}, the bit of the card in {@link CardSet}
+     * @return number in range 0..51, for jokers {@value #JOKER} and up
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns shared instance of a regular card
+     * @param rank rank of the card
+     * @param suit suit of the card
+     * @return card
+     */
+    public static Card of(Rank rank, Suit suit) {
+        return BY_ID[id(rank, suit)];
+    }
+
+    /**
+     * Returns shared instance of a joker
+     * @param index number of the joker, below {@value #JOKERS}
+     * @return joker without rank and suit
+     */
+    public static Card joker(int index) {
+        if (index < 0 || index >= JOKERS) {
+            throw new IllegalArgumentException("Joker index must be in range 0.." + (JOKERS - 1) + ", got " + index);
+        }
+        return BY_ID[JOKER + index];
+    }
+
+    /**
+     * @return {@code true} if the card is a joker
+     */
+    public boolean isJoker() {
+        return isJoker(id);
+    }
+
+    /**
+     * @param id card id
+     * @return {@code true} if the id belongs to a joker
+     */
+    public static boolean isJoker(int id) {
+        return id >= JOKER;
+    }
+
+    /**
+     * Id of the card with given rank and suit
+     * @param rank rank of the card
+     * @param suit suit of the card
+     * @return number in range 0..51
+     */
+    public static int id(Rank rank, Suit suit) {
+        return suit.ordinal() * 13 + rank.ordinal();
+    }
+
+    /**
+     * Rank ordinal of the card id
+     * @param id number in range 0..51
+     * @return ordinal of {@link Rank}
+     */
+    public static int rankOf(int id) {
+        return id % 13;
+    }
+
+    /**
+     * Suit ordinal of the card id
+     * @param id number in range 0..51
+     * @return ordinal of {@link Suit}
+     */
+    public static int suitOf(int id) {
+        return id / 13;
+    }
+
+    /**
+     * Returns shared instance of the card with given id
+     * @param id number in range 0..51, or id of a joker
+     * @return card
+     */
+    public static Card fromId(int id) {
+        return BY_ID[id];
+    }
 
     /**
      * Method to compare to cards - needed to sort deck
@@ -32,6 +161,10 @@ public class Card implements Comparable<Card>{
      */
     @Override
     public int compareTo(Card other) {
+        if (isJoker() || other.isJoker()) {
+            // jokers go after all regular cards
+            return id - other.id;
+        }
         if (getRank().ordinal() < other.getRank().ordinal()) return -1;
 
         else if (getRank().ordinal() > other.getRank().ordinal()) return 1;
@@ -41,7 +174,7 @@ public class Card implements Comparable<Card>{
 
 
     public String toString(){
-        return rank + "-" + suit;
+        return isJoker() ? "JOKER" : rank + "-" + suit;
     }
 
     /**
@@ -0,0 +1,242 @@
+package pl.project.cards;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * The {@code CardSet} class represents a set of cards stored in a single {@code long}.
+ * Card with id {@code suit * 13 + rank} (see {@link Card#getId()}) is the bit of that number,
+ * so every suit occupies its own 13-bit plane and one card is one bit.
+ * <p>
+ * Static methods work directly on the mask and are meant for hot paths, instances are
+ * immutable values. Jokers are the bits above the regular cards, see {@link #JOKERS}.
+ * Bits of a mask can be walked without allocation:
+ * {@code for (long m = mask; m != 0; m &= m - 1) { int id = Long.numberOfTrailingZeros(m); }}
+ */
+@Getter
+@EqualsAndHashCode
+public final class CardSet {
+
+    /**
+     * Mask of all 52 cards
+     */
+    public static final long FULL_DECK = (1L << Card.COUNT) - 1;
+
+    /**
+     * Mask of the jokers, the bits right above the 52 regular cards
+     */
+    public static final long JOKERS = ((1L << Card.JOKERS) - 1) << Card.JOKER;
+
+    /**
+     * Mask of one 13-bit suit plane
+     */
+    public static final int PLANE = 0x1FFF;
+
+    /**
+     * One bit in every suit plane - shifted by rank it selects all four cards of that rank
+     */
+    public static final long RANK_COLUMN = 1L | 1L << 13 | 1L << 26 | 1L << 39;
+
+    private final long mask;
+
+    /**
+     * Creates set from the mask
+     * @param mask bits of cards
+     */
+    public CardSet(long mask) {
+        if ((mask & ~(FULL_DECK | JOKERS)) != 0) {
+            throw new IllegalArgumentException("Mask contains bits above the jokers: " + Long.toHexString(mask));
+        }
+        this.mask = mask;
+    }
+
+    /**
+     * Creates set of given cards
+     * @param cards cards, duplicates are counted once
+     * @return set of cards
+     */
+    public static CardSet of(List<Card> cards) {
+        return new CardSet(mask(cards));
+    }
+
+    /**
+     * Creates set of given cards
+     * @param cards cards, duplicates are counted once
+     * @return set of cards
+     */
+    public static CardSet of(Card... cards) {
+        return new CardSet(mask(cards));
+    }
+
+    /**
+     * Converts cards to mask
+     * @param cards cards, duplicates are counted once
+     * @return mask with one bit set for every card
+     */
+    public static long mask(Card... cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= 1L << card.getId();
+        }
+        return mask;
+    }
+
+    /**
+     * Converts list of cards to mask
+     * @param cards list of cards
+     * @return mask with one bit set for every card
+     */
+    public static long mask(List<Card> cards) {
+        long mask = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= 1L << cards.get(i).getId();
+        }
+        return mask;
+    }
+
+    /**
+     * Converts mask to list of cards ordered by id
+     * @param mask bits of cards
+     * @return new list of cards
+     */
+    public static List<Card> toList(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            cards.add(Card.fromId(Long.numberOfTrailingZeros(m)));
+        }
+        return cards;
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param id card id
+     * @return {@code true} if card is in the mask
+     */
+    public static boolean contains(long mask, int id) {
+        return (mask & (1L << id)) != 0;
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param id card id
+     * @return mask with the card added
+     */
+    public static long add(long mask, int id) {
+        return mask | (1L << id);
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param id card id
+     * @return mask with the card removed
+     */
+    public static long remove(long mask, int id) {
+        return mask & ~(1L << id);
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param rank rank ordinal
+     * @return number of cards of the rank
+     */
+    public static int rankCount(long mask, int rank) {
+        return Long.bitCount(mask & (RANK_COLUMN << rank));
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param suit suit ordinal
+     * @return number of cards of the suit
+     */
+    public static int suitCount(long mask, int suit) {
+        return Long.bitCount(mask & ((long) PLANE << (suit * 13)));
+    }
+
+    /**
+     * @param mask bits of cards
+     * @param suit suit ordinal
+     * @return 13-bit mask of ranks present in the suit
+     */
+    public static int suitPlane(long mask, int suit) {
+        return (int) (mask >>> (suit * 13)) & PLANE;
+    }
+
+    /**
+     * @param mask bits of cards
+     * @return 13-bit mask of ranks present in any suit
+     */
+    public static int rankMask(long mask) {
+        return (int) (mask | mask >>> 13 | mask >>> 26 | mask >>> 39) & PLANE;
+    }
+
+    /**
+     * @param mask bits of cards
+     * @return number of cards of every rank, indexed by rank ordinal
+     */
+    public static int[] rankHistogram(long mask) {
+        int[] histogram = new int[13];
+        for (int rank = 0; rank < histogram.length; rank++) {
+            histogram[rank] = rankCount(mask, rank);
+        }
+        return histogram;
+    }
+
+    /**
+     * @param mask bits of cards
+     * @return number of cards of every suit, indexed by suit ordinal
+     */
+    public static int[] suitHistogram(long mask) {
+        int[] histogram = new int[4];
+        for (int suit = 0; suit < histogram.length; suit++) {
+            histogram[suit] = suitCount(mask, suit);
+        }
+        return histogram;
+    }
+
+    /**
+     * @param card card to look for
+     * @return {@code true} if card is in the set
+     */
+    public boolean contains(Card card) {
+        return contains(mask, card.getId());
+    }
+
+    /**
+     * @param card card to add
+     * @return new set with the card
+     */
+    public CardSet with(Card card) {
+        return new CardSet(add(mask, card.getId()));
+    }
+
+    /**
+     * @param card card to remove
+     * @return new set without the card
+     */
+    public CardSet without(Card card) {
+        return new CardSet(remove(mask, card.getId()));
+    }
+
+    /**
+     * @return number of cards in the set
+     */
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * @return cards of the set ordered by id
+     */
+    public List<Card> toList() {
+        return toList(mask);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
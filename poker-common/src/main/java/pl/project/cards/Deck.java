@@ -1,45 +1,93 @@
 package pl.project.cards;
 
-import lombok.Getter;
-
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 
 /**
  * The {@code Deck} class represents a deck containing objects of class {@link Card}.
- * Default constructor creates deck containing 52 cards.
+ * Default constructor creates deck containing 52 cards, {@link #Deck(int)} adds jokers.
+ * <p>
+ * Cards are kept as ids in a circular buffer - the top of the deck is its end, cards put back go under the bottom,
+ * so drawing and returning a card costs O(1). {@link #shuffle()} only starts a new random order, the order
+ * is drawn card by card with a partial Fisher-Yates step as cards are dealt from the top, so dealing a hand
+ * costs as many swaps as cards dealt. Cards put back after the shuffle are drawn only when the shuffled
+ * cards run out. {@link #getCardList()} shuffles the rest of the deck at once and gives a live view of it,
+ * with the bottom card first.
+ * <p>
+ * Random numbers come from the {@link DeckRandom} of the deck, {@link DeckRandom#fast()} unless given.
  */
-@Getter
 public class Deck {
 
-    private List<Card> cardList = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 64;
+
+    // ids of cards, the bottom card at index bottom of the buffer (modulo its length)
+    private int[] cards = new int[INITIAL_CAPACITY];
+    private int bottom;
+    private int size;
+    // number of cards from the top down which are not shuffled yet
+    private int pending;
+    private DeckRandom random;
+    private final CardList cardList = new CardList();
 
     /**
      * Default constructor - creates deck of 52 cards
      */
     public Deck() {
-        for (Card.Suit suit : Card.Suit.values()) {
-            for (Card.Rank rank : Card.Rank.values()) {
-                cardList.add(new Card(rank, suit));
-            }
+        this(0);
+    }
+
+    /**
+     * Creates deck of 52 cards and the jokers
+     * @param jokers number of jokers, at most {@value Card#JOKERS}
+     */
+    public Deck(int jokers) {
+        this(jokers, DeckRandom.fast());
+    }
+
+    /**
+     * Creates deck of 52 cards and the jokers, shuffled with the given generator
+     * @param jokers number of jokers, at most {@value Card#JOKERS}
+     * @param random source of random numbers for shuffling
+     */
+    public Deck(int jokers, DeckRandom random) {
+        this.random = random;
+        if (jokers < 0 || jokers > Card.JOKERS) {
+            throw new IllegalArgumentException("Deck can have 0.." + Card.JOKERS + " jokers, got " + jokers);
+        }
+        for (int id = 0; id < Card.JOKER + jokers; id++) {
+            cards[size++] = id;
         }
     }
 
     /**
      * Creates deck based on given List of cards. It will be used in hands
-     * @param cardList List of cards, on which deck will be based
+     * @param cardList List of cards, on which deck will be based, the last card on top
      */
     public Deck(List<Card> cardList) {
-        this.cardList = cardList;
+        this.random = DeckRandom.fast();
+        for (Card card : cardList) {
+            push(card.getId());
+        }
     }
 
     /**
-     * Shuffles current deck
+     * Shuffles current deck. Cards are put in random order as they are drawn, so it costs nothing until then
      */
     public void shuffle() {
-        Collections.shuffle(cardList);
+        pending = size;
+    }
+
+    /**
+     * Chooses the generator of next shuffles
+     * @param random source of random numbers for shuffling
+     */
+    public void setRandom(DeckRandom random) {
+        this.random = random;
     }
 
     /**
@@ -51,13 +99,14 @@ public class Deck {
         if (numberOfCards <= 0) {
             throw new IndexOutOfBoundsException("Number of Cards must be greater than 0");
         }
-        else if (numberOfCards > cardList.size()) {
+        else if (numberOfCards > size) {
             throw new IndexOutOfBoundsException("Number of Cards must be less than the number of Cards");
         }
 
-        List<Card> handView = this.cardList.subList(cardList.size() - numberOfCards, cardList.size());
-        List<Card> hand = new ArrayList<>(handView);
-        handView.clear();
+        List<Card> hand = new ArrayList<>(numberOfCards);
+        for (int i = 0; i < numberOfCards; i++) {
+            hand.add(Card.fromId(draw()));
+        }
         return hand;
     }
 
@@ -65,7 +114,15 @@ public class Deck {
      * Method which sorts the {@code Deck}
      */
     public void sort(){
-        Collections.sort(cardList);
+        pending = 0;
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = sortKey(cards[index(i)]);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            cards[index(i)] = fromSortKey(keys[i]);
+        }
     }
 
     /**
@@ -73,15 +130,157 @@ public class Deck {
      * @return Card
      */
     public Card getCardFromDeck() {
-        return cardList.remove(cardList.size() - 1);
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Deck is empty");
+        }
+        return Card.fromId(draw());
     }
 
     /**
-     * Adds cart back to deck
+     * Adds cart back to deck, under the bottom card
      * @param card object of Card
      */
     public void addCardToDeck(Card card) {
-        cardList.add(0, card);
+        ensureCapacity();
+        bottom--;
+        cards[index(0)] = card.getId();
+        size++;
+    }
+
+    /**
+     * Shuffles the cards which were not drawn yet and returns the deck as a list
+     * @return live view of the deck, the bottom card first and the top card last
+     */
+    public List<Card> getCardList() {
+        return cardList;
+    }
+
+    /**
+     * Shuffles the whole deck at once, so dealing takes no random numbers
+     */
+    void shuffleNow() {
+        shuffle();
+        settle();
+    }
+
+    /**
+     * Takes the top card, first swapping it with a random card of the part that is not shuffled yet
+     */
+    private int draw() {
+        int top = size - 1;
+        if (pending > 0) {
+            swap(top, top - random.nextInt(pending));
+            pending--;
+        }
+        size--;
+        return cards[index(top)];
+    }
+
+    /**
+     * Finishes the shuffle, so the order of all cards is known
+     */
+    private void settle() {
+        for (int top = size - 1; pending > 0; top--, pending--) {
+            swap(top, top - random.nextInt(pending));
+        }
+    }
+
+    private void push(int id) {
+        ensureCapacity();
+        cards[index(size++)] = id;
+    }
+
+    private void ensureCapacity() {
+        if (size == cards.length) {
+            int[] grown = new int[cards.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = cards[index(i)];
+            }
+            cards = grown;
+            bottom = 0;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = index(i);
+        int b = index(j);
+        int id = cards[a];
+        cards[a] = cards[b];
+        cards[b] = id;
+    }
+
+    /**
+     * @param position position counted from the bottom card
+     * @return index of the position in the buffer
+     */
+    private int index(int position) {
+        return (bottom + position) & (cards.length - 1);
+    }
+
+    /**
+     * Key ordering ids as {@link Card#compareTo} - by rank, then by suit, jokers last
+     */
+    private static int sortKey(int id) {
+        return Card.isJoker(id) ? id : Card.rankOf(id) * Card.Suit.values().length + Card.suitOf(id);
+    }
+
+    private static int fromSortKey(int key) {
+        int suits = Card.Suit.values().length;
+        return Card.isJoker(key) ? key : (key % suits) * Card.Rank.values().length + key / suits;
     }
 
+    /**
+     * List view of the buffer, every access first finishes the shuffle
+     */
+    private final class CardList extends AbstractList<Card> implements RandomAccess {
+
+        @Override
+        public Card get(int position) {
+            settle();
+            return Card.fromId(cards[index(Objects.checkIndex(position, size))]);
+        }
+
+        @Override
+        public Card set(int position, Card card) {
+            settle();
+            int i = index(Objects.checkIndex(position, size));
+            Card previous = Card.fromId(cards[i]);
+            cards[i] = card.getId();
+            return previous;
+        }
+
+        @Override
+        public void add(int position, Card card) {
+            settle();
+            Objects.checkIndex(position, size + 1);
+            if (position == 0) {
+                addCardToDeck(card);
+            } else {
+                ensureCapacity();
+                for (int i = size; i > position; i--) {
+                    cards[index(i)] = cards[index(i - 1)];
+                }
+                cards[index(position)] = card.getId();
+                size++;
+            }
+            modCount++;
+        }
+
+        @Override
+        public Card remove(int position) {
+            settle();
+            Card removed = Card.fromId(cards[index(Objects.checkIndex(position, size))]);
+            for (int i = position; i < size - 1; i++) {
+                cards[index(i)] = cards[index(i + 1)];
+            }
+            size--;
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
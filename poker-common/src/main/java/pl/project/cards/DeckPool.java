@@ -0,0 +1,160 @@
+package pl.project.cards;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Bounded pool of shuffled decks, filled by a background producer thread, so a new hand takes a deck
+ * in constant time whatever {@link DeckRandom} shuffles it. When the pool is empty {@link #take(DeckRandom)}
+ * falls back to a new deck shuffled by the caller and counts the fallback.
+ * <p>
+ * Decks are kept in a ring buffer. Only the producer writes the tail, consumers move the head with
+ * compare-and-set, so taking a deck never blocks. A slot is written again only after the head moved past it,
+ * so a consumer reads the deck before its compare-and-set succeeds. The producer parks when the pool is full
+ * and is woken up only when half of the decks were taken, so most takes do not pay for waking a thread.
+ */
+public final class DeckPool {
+
+    private final int jokers;
+    private final DeckRandom random;
+    private final AtomicReferenceArray<Deck> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder fallbacks = new LongAdder();
+    private volatile Thread producer;
+    private volatile boolean parked;
+
+    /**
+     * Creates pool without starting the producer, see {@link #start()}
+     * @param capacity largest number of shuffled decks, a power of two
+     * @param jokers number of jokers in every deck, at most {@value Card#JOKERS}
+     * @param random generator of the producer, used only by its thread
+     */
+    public DeckPool(int capacity, int jokers, DeckRandom random) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        if (jokers < 0 || jokers > Card.JOKERS) {
+            throw new IllegalArgumentException("Deck can have 0.." + Card.JOKERS + " jokers, got " + jokers);
+        }
+        this.jokers = jokers;
+        this.random = random;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Starts the daemon thread filling the pool, does nothing when it is already running
+     */
+    public synchronized void start() {
+        if (producer == null) {
+            Thread thread = new Thread(this::produce, "deck-pool");
+            thread.setDaemon(true);
+            producer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the producer, decks already in the pool can still be taken
+     */
+    public synchronized void stop() {
+        Thread thread = producer;
+        producer = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Takes a shuffled deck. When the pool is empty a new deck is shuffled with the given generator instead
+     * @param random generator of the caller, it shuffles the returned deck from now on
+     * @return full deck in random order
+     */
+    public Deck take(DeckRandom random) {
+        Deck deck = poll();
+        if (deck == null) {
+            fallbacks.increment();
+            deck = new Deck(jokers, random);
+            deck.shuffle();
+            return deck;
+        }
+        deck.setRandom(random);
+        if (parked && depth() <= slots.length() / 2) {
+            LockSupport.unpark(producer);
+        }
+        return deck;
+    }
+
+    /**
+     * @return number of shuffled decks waiting in the pool
+     */
+    public int depth() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return largest number of decks in the pool
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return number of decks shuffled by the caller because the pool was empty
+     */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * @return number of jokers in every deck
+     */
+    public int getJokers() {
+        return jokers;
+    }
+
+    /**
+     * @return kind of the generator shuffling the decks of the pool
+     */
+    public DeckRandom.Mode getMode() {
+        return random.getMode();
+    }
+
+    private Deck poll() {
+        while (true) {
+            long h = head.get();
+            if (h == tail.get()) {
+                return null;
+            }
+            Deck deck = slots.get((int) h & mask);
+            if (head.compareAndSet(h, h + 1)) {
+                return deck;
+            }
+        }
+    }
+
+    private void produce() {
+        Thread self = Thread.currentThread();
+        while (producer == self) {
+            long t = tail.get();
+            if (t - head.get() == slots.length()) {
+                // the flag is set before the last check, so a deck taken after it wakes the producer
+                parked = true;
+                if (t - head.get() == slots.length()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+                continue;
+            }
+            Deck deck = new Deck(jokers, random);
+            deck.shuffleNow();
+            slots.set((int) t & mask, deck);
+            tail.set(t + 1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pl.project.cards;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+
+/**
+ * Source of random numbers for shuffling a {@link Deck}. Every deck draws from its own instance, so tables
+ * do not contend for a shared generator. Instances are not thread-safe, they belong to the owner of the deck.
+ * <p>
+ * {@link Mode} chooses the generator - a fast stream for simulations, a seeded stream which repeats the same
+ * shuffles for replays and tests, or {@link SecureRandom} for games where the order must not be predictable.
+ */
+public interface DeckRandom {
+
+    /**
+     * Kinds of generators
+     */
+    enum Mode {
+        /**
+         * {@link SplittableRandom} with a fresh seed, the fastest
+         */
+        FAST,
+        /**
+         * {@link SplittableRandom} with a given seed, the same seed gives the same shuffles
+         */
+        SEEDED,
+        /**
+         * {@link SecureRandom} read in bulk into a buffer, so its cost is spread over many shuffles
+         */
+        SECURE
+    }
+
+    /**
+     * Returns random number from 0 to {@code bound - 1}, every number with the same probability
+     * @param bound number of possible values, greater than 0
+     * @return random number
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return kind of the generator
+     */
+    Mode getMode();
+
+    /**
+     * @return fast generator with a fresh seed
+     */
+    static DeckRandom fast() {
+        return new SplittableDeckRandom(new SplittableRandom(), Mode.FAST);
+    }
+
+    /**
+     * @param seed seed of the generator
+     * @return generator giving the same numbers for the same seed
+     */
+    static DeckRandom seeded(long seed) {
+        return new SplittableDeckRandom(new SplittableRandom(seed), Mode.SEEDED);
+    }
+
+    /**
+     * @return cryptographically strong generator
+     */
+    static DeckRandom secure() {
+        return new SecureDeckRandom(new SecureRandom());
+    }
+
+    /**
+     * Creates generator of the mode
+     * @param mode kind of the generator
+     * @param seed seed, used only by {@link Mode#SEEDED}
+     * @return new generator
+     */
+    static DeckRandom of(Mode mode, long seed) {
+        switch (mode) {
+            case FAST:
+                return fast();
+            case SEEDED:
+                return seeded(seed);
+            case SECURE:
+                return secure();
+            default:
+                throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+    }
+}
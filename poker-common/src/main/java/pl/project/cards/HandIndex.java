@@ -0,0 +1,203 @@
+package pl.project.cards;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Dense integer identities of hands given as {@link CardSet} masks.
+ * <p>
+ * {@link #rank(long)} maps a hand of {@code k} cards to its combinatorial (colex) index: for card ids
+ * {@code c0 < c1 < ... < ck-1} it is {@code C(c0,1) + C(c1,2) + ... + C(ck-1,k)}, which for 5-card hands
+ * fills the range {@code [0, 2598960)} without gaps. {@link #unrank(int, int)} is the inverse.
+ * <p>
+ * Hands that differ only by renaming suits are equally strong. {@link #canonical(long)} picks one
+ * representative of such hands by ordering the 13-bit suit planes from the greatest to the smallest,
+ * which leaves 134,459 distinct 5-card hands, numbered densely by {@link #canonicalIndex(long)}.
+ */
+public final class HandIndex {
+
+    /**
+     * Number of 5-card hands
+     */
+    public static final int HANDS = 2_598_960;
+
+    /**
+     * Number of 5-card hands distinct under suit permutation
+     */
+    public static final int CANONICAL_HANDS = 134_459;
+
+    /**
+     * Largest number of cards a hand can have to be ranked
+     */
+    public static final int MAX_CARDS = 7;
+
+    private static final int SUITS = 4;
+
+    private static final int[][] BINOMIAL = new int[Card.COUNT + 1][MAX_CARDS + 1];
+
+    static {
+        for (int n = 0; n <= Card.COUNT; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= MAX_CARDS && k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k < n ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private HandIndex() {
+    }
+
+    /**
+     * @param n number of elements, at most 52
+     * @param k size of subsets, at most 7
+     * @return number of k-element subsets of n elements
+     */
+    public static int binomial(int n, int k) {
+        return BINOMIAL[n][k];
+    }
+
+    /**
+     * Colex index of the hand among hands of the same size
+     * @param mask {@link CardSet} mask with at most 7 bits set
+     * @return index in range {@code [0, C(52, size))}
+     */
+    public static int rank(long mask) {
+        if (Long.bitCount(mask) > MAX_CARDS) {
+            throw new IllegalArgumentException("At most " + MAX_CARDS + " cards can be ranked");
+        }
+        int index = 0;
+        int k = 1;
+        for (long m = mask; m != 0; m &= m - 1) {
+            index += BINOMIAL[Long.numberOfTrailingZeros(m)][k++];
+        }
+        return index;
+    }
+
+    /**
+     * @param hand cards of the hand, at most 7 different
+     * @return colex index of the hand
+     */
+    public static int rank(List<Card> hand) {
+        return rank(CardSet.mask(hand));
+    }
+
+    /**
+     * Hand with the given colex index
+     * @param index colex index
+     * @param size number of cards in the hand
+     * @return {@link CardSet} mask of the hand
+     */
+    public static long unrank(int index, int size) {
+        if (size < 0 || size > MAX_CARDS || index < 0 || index >= BINOMIAL[Card.COUNT][size]) {
+            throw new IllegalArgumentException("No hand of " + size + " cards with index " + index);
+        }
+        long mask = 0;
+        int card = Card.COUNT;
+        for (int k = size; k > 0; k--) {
+            do {
+                card--;
+            } while (BINOMIAL[card][k] > index);
+            index -= BINOMIAL[card][k];
+            mask |= 1L << card;
+        }
+        return mask;
+    }
+
+    /**
+     * Representative of all hands that differ from this one only by suits
+     * @param mask {@link CardSet} mask of any size
+     * @return mask with suit planes ordered from the greatest to the smallest
+     */
+    public static long canonical(long mask) {
+        return canonical(mask, null);
+    }
+
+    /**
+     * Representative of all hands that differ from this one only by suits, with the mapping used
+     * @param mask {@link CardSet} mask of any size
+     * @param permutation if not {@code null}, receives for every suit of the result the suit of the hand
+     *                    it was taken from - {@code permutation[canonicalSuit] = originalSuit}
+     * @return mask with suit planes ordered from the greatest to the smallest
+     */
+    public static long canonical(long mask, int[] permutation) {
+        // plane in the upper bits, suit in the lowest two - sorting also carries suits
+        int s0 = CardSet.suitPlane(mask, 0) << 2;
+        int s1 = CardSet.suitPlane(mask, 1) << 2 | 1;
+        int s2 = CardSet.suitPlane(mask, 2) << 2 | 2;
+        int s3 = CardSet.suitPlane(mask, 3) << 2 | 3;
+        int t;
+        if (s0 < s1) { t = s0; s0 = s1; s1 = t; }
+        if (s2 < s3) { t = s2; s2 = s3; s3 = t; }
+        if (s0 < s2) { t = s0; s0 = s2; s2 = t; }
+        if (s1 < s3) { t = s1; s1 = s3; s3 = t; }
+        if (s1 < s2) { t = s1; s1 = s2; s2 = t; }
+
+        if (permutation != null) {
+            permutation[0] = s0 & 3;
+            permutation[1] = s1 & 3;
+            permutation[2] = s2 & 3;
+            permutation[3] = s3 & 3;
+        }
+        return (long) (s0 >>> 2) | (long) (s1 >>> 2) << 13 | (long) (s2 >>> 2) << 26 | (long) (s3 >>> 2) << 39;
+    }
+
+    /**
+     * Applies suit permutation returned by {@link #canonical(long, int[])} to another mask,
+     * e.g. to cards dealt after the hand was canonicalized
+     * @param mask {@link CardSet} mask
+     * @param permutation {@code permutation[newSuit] = oldSuit}
+     * @return mask with suits renamed
+     */
+    public static long permute(long mask, int[] permutation) {
+        long result = 0;
+        for (int suit = 0; suit < SUITS; suit++) {
+            result |= (long) CardSet.suitPlane(mask, permutation[suit]) << (13 * suit);
+        }
+        return result;
+    }
+
+    /**
+     * Dense index of the hand among 5-card hands distinct under suit permutation
+     * @param mask {@link CardSet} mask with 5 bits set
+     * @return index in range {@code [0, 134459)}
+     */
+    public static int canonicalIndex(long mask) {
+        if (Long.bitCount(mask) != 5) {
+            throw new IllegalArgumentException("Hand must contain 5 cards");
+        }
+        return Arrays.binarySearch(Canonical.RANKS, rank(canonical(mask)));
+    }
+
+    /**
+     * Canonical hand with the given dense index
+     * @param canonicalIndex index in range {@code [0, 134459)}
+     * @return canonical {@link CardSet} mask
+     */
+    public static long unrankCanonical(int canonicalIndex) {
+        return unrank(Canonical.RANKS[canonicalIndex], 5);
+    }
+
+    /**
+     * Colex indexes of canonical 5-card hands, in ascending order. Built on first use.
+     */
+    private static final class Canonical {
+
+        private static final int[] RANKS = build();
+
+        private static int[] build() {
+            int[] ranks = new int[CANONICAL_HANDS];
+            int count = 0;
+            for (int index = 0; index < HANDS; index++) {
+                long mask = unrank(index, 5);
+                if (canonical(mask) == mask) {
+                    ranks[count++] = index;
+                }
+            }
+            if (count != CANONICAL_HANDS) {
+                throw new IllegalStateException("Found " + count + " canonical hands");
+            }
+            return ranks;
+        }
+    }
+}
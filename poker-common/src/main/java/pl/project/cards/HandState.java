@@ -0,0 +1,209 @@
+package pl.project.cards;
+
+/**
+ * Running summary of a hand that changes one card at a time. Next to the {@link CardSet} mask it keeps the count
+ * of every rank and suit and, for every multiplicity, the mask of ranks held at least that many times -
+ * exactly what evaluators derive from the mask - so adding, removing or replacing a card costs O(1)
+ * and the strength of the current hand is a table lookup (see {@code LookupEvaluator.strength(HandState)}).
+ * <p>
+ * Rank masks have bit {@code rank} set, suit masks bit {@code suit}. State is mutable and not thread-safe,
+ * it belongs to the owner of the hand.
+ * <p>
+ * Jokers are kept only in the mask - they have no rank or suit, so counts and rank masks describe the regular cards.
+ */
+public final class HandState {
+
+    private static final int COUNT_BITS = 4;
+    private static final int COUNT_MASK = (1 << COUNT_BITS) - 1;
+    // a rank has one card of every suit
+    private static final int COPIES = Card.Suit.values().length;
+    private static final int WHEEL = 1 << 12 | 0xF;
+
+    private long mask;
+    // 4-bit count of every rank and every suit
+    private long rankCounts;
+    private int suitCounts;
+    private int suitMask;
+    // atLeast[k] has bit r set when rank r is held more than k times
+    private final int[] atLeast = new int[COPIES];
+
+    /**
+     * Creates state of an empty hand
+     */
+    public HandState() {
+    }
+
+    /**
+     * Creates state of the cards
+     * @param mask {@link CardSet} mask of the hand
+     * @return state of the hand
+     */
+    public static HandState of(long mask) {
+        if ((mask & ~(CardSet.FULL_DECK | CardSet.JOKERS)) != 0) {
+            throw new IllegalArgumentException("Mask contains bits above the jokers: " + Long.toHexString(mask));
+        }
+        HandState state = new HandState();
+        for (long m = mask; m != 0; m &= m - 1) {
+            state.add(Long.numberOfTrailingZeros(m));
+        }
+        return state;
+    }
+
+    /**
+     * Adds the card to the hand
+     * @param id id of a card not in the hand
+     */
+    public void add(int id) {
+        long bit = bit(id);
+        if ((mask & bit) != 0) {
+            throw new IllegalArgumentException("Card " + Card.fromId(id) + " is already in hand");
+        }
+        mask |= bit;
+        if (Card.isJoker(id)) {
+            return;
+        }
+
+        int rank = Card.rankOf(id);
+        int count = rankCount(rank);
+        atLeast[count] |= 1 << rank;
+        rankCounts += 1L << (rank * COUNT_BITS);
+
+        int suit = Card.suitOf(id);
+        suitCounts += 1 << (suit * COUNT_BITS);
+        suitMask |= 1 << suit;
+    }
+
+    /**
+     * Removes the card from the hand
+     * @param id id of a card in the hand
+     */
+    public void remove(int id) {
+        long bit = bit(id);
+        if ((mask & bit) == 0) {
+            throw new IllegalArgumentException("Card " + Card.fromId(id) + " is not in hand");
+        }
+        mask &= ~bit;
+        if (Card.isJoker(id)) {
+            return;
+        }
+
+        int rank = Card.rankOf(id);
+        int count = rankCount(rank);
+        atLeast[count - 1] &= ~(1 << rank);
+        rankCounts -= 1L << (rank * COUNT_BITS);
+
+        int suit = Card.suitOf(id);
+        suitCounts -= 1 << (suit * COUNT_BITS);
+        if (suitCount(suit) == 0) {
+            suitMask &= ~(1 << suit);
+        }
+    }
+
+    /**
+     * Exchanges a card of the hand for a new one
+     * @param removed id of a card in the hand
+     * @param added id of a card not in the hand
+     */
+    public void replace(int removed, int added) {
+        remove(removed);
+        add(added);
+    }
+
+    /**
+     * @return {@link CardSet} mask of the hand
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * @return number of cards in the hand, jokers included
+     */
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * @return number of jokers in the hand
+     */
+    public int jokerCount() {
+        return Long.bitCount(mask & CardSet.JOKERS);
+    }
+
+    /**
+     * @param rank rank ordinal
+     * @return number of cards of the rank
+     */
+    public int rankCount(int rank) {
+        return (int) (rankCounts >>> (rank * COUNT_BITS)) & COUNT_MASK;
+    }
+
+    /**
+     * @param suit suit ordinal
+     * @return number of cards of the suit
+     */
+    public int suitCount(int suit) {
+        return (suitCounts >>> (suit * COUNT_BITS)) & COUNT_MASK;
+    }
+
+    /**
+     * @return mask of suits in the hand
+     */
+    public int getSuitMask() {
+        return suitMask;
+    }
+
+    /**
+     * @return mask of ranks in the hand
+     */
+    public int getRankMask() {
+        return atLeast[0];
+    }
+
+    /**
+     * @param times number of cards from 1 to 4
+     * @return mask of ranks with at least that many cards in the hand, e.g. 2 for pairs and better
+     */
+    public int ranksAtLeast(int times) {
+        return atLeast[times - 1];
+    }
+
+    /**
+     * Mask of the top ranks of all 5-card straights in the hand, for the wheel (A-2-3-4-5) that is the five
+     * @return mask of ranks
+     */
+    public int getStraightMask() {
+        int ranks = atLeast[0];
+        int straights = ranks & ranks << 1 & ranks << 2 & ranks << 3 & ranks << 4 & CardSet.PLANE;
+        if ((ranks & WHEEL) == WHEEL) {
+            straights |= 1 << 3;
+        }
+        return straights;
+    }
+
+    /**
+     * @return {@code true} if the hand has 5 cards of one suit and nothing else
+     */
+    public boolean isFlush() {
+        return Long.bitCount(mask & CardSet.FULL_DECK) == 5 && Integer.bitCount(suitMask) == 1;
+    }
+
+    /**
+     * @return {@code true} if the hand has 5 cards of consecutive ranks and nothing else
+     */
+    public boolean isStraight() {
+        return Long.bitCount(mask & CardSet.FULL_DECK) == 5 && getStraightMask() != 0;
+    }
+
+    @Override
+    public String toString() {
+        return CardSet.toList(mask).toString();
+    }
+
+    private static long bit(int id) {
+        if (id < 0 || id >= Card.JOKER + Card.JOKERS) {
+            throw new IllegalArgumentException("Card id must be in range 0.." + (Card.JOKER + Card.JOKERS - 1) + ", got " + id);
+        }
+        return 1L << id;
+    }
+}
@@ -0,0 +1,59 @@
+package pl.project.cards;
+
+import java.security.SecureRandom;
+
+
+/**
+ * {@link DeckRandom} of mode {@link DeckRandom.Mode#SECURE}. Bytes of {@link SecureRandom} are read
+ * {@value #BUFFER_SIZE} at a time - one call fills about 20 shuffles of 52 cards - and numbers in range
+ * are taken from 32-bit words by multiplication, rejecting the few words which would make some numbers
+ * more likely than others.
+ */
+final class SecureDeckRandom implements DeckRandom {
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final long WORDS = 1L << Integer.SIZE;
+
+    private final SecureRandom source;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = BUFFER_SIZE;
+
+    SecureDeckRandom(SecureRandom source) {
+        this.source = source;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive, got " + bound);
+        }
+        long product = nextWord() * bound;
+        if ((product & (WORDS - 1)) < bound) {
+            // words below the threshold would give the lowest numbers one extra chance
+            long threshold = WORDS % bound;
+            while ((product & (WORDS - 1)) < threshold) {
+                product = nextWord() * bound;
+            }
+        }
+        return (int) (product >>> Integer.SIZE);
+    }
+
+    @Override
+    public Mode getMode() {
+        return Mode.SECURE;
+    }
+
+    /**
+     * @return next 32 random bits as an unsigned number
+     */
+    private long nextWord() {
+        if (position == BUFFER_SIZE) {
+            source.nextBytes(buffer);
+            position = 0;
+        }
+        long word = (buffer[position] & 0xFFL) | (buffer[position + 1] & 0xFFL) << 8
+                | (buffer[position + 2] & 0xFFL) << 16 | (buffer[position + 3] & 0xFFL) << 24;
+        position += Integer.BYTES;
+        return word;
+    }
+}
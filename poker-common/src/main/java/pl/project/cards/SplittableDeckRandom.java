@@ -0,0 +1,28 @@
+package pl.project.cards;
+
+import java.util.SplittableRandom;
+
+
+/**
+ * {@link DeckRandom} of modes {@link DeckRandom.Mode#FAST} and {@link DeckRandom.Mode#SEEDED}
+ */
+final class SplittableDeckRandom implements DeckRandom {
+
+    private final SplittableRandom random;
+    private final Mode mode;
+
+    SplittableDeckRandom(SplittableRandom random, Mode mode) {
+        this.random = random;
+        this.mode = mode;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public Mode getMode() {
+        return mode;
+    }
+}
@@ -2,7 +2,12 @@ package pl.project;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.DeckPool;
+import pl.project.cards.DeckRandom;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +41,71 @@ class GameTest {
         assertEquals(5, hand.size(), "Founder should receive 5 cards.");
     }
 
+    @Test
+    void testSetJokers_DealsFromDeckWithJokers() {
+        game.setJokers(2);
+
+        assertEquals(2, game.getJokers());
+        assertEquals(54, game.getDeck().getCardList().size());
+        assertTrue(game.getDeck().getCardList().contains(Card.joker(1)));
+    }
+
+    @Test
+    void testSetJokers_RejectedInLowball() {
+        game.setVariant(Game.Variant.DEUCE_TO_SEVEN);
+
+        assertThrows(IllegalArgumentException.class, () -> game.setJokers(1));
+        assertEquals(0, game.getJokers());
+    }
+
+    @Test
+    void testSetVariant_LowballRejectedWithJokers() {
+        game.setJokers(1);
+
+        assertThrows(IllegalArgumentException.class, () -> game.setVariant(Game.Variant.ACE_TO_FIVE));
+        assertEquals(Game.Variant.HIGH, game.getVariant());
+    }
+
+    @Test
+    void testHandCards_TakesDeckFromPool() {
+        DeckPool pool = new DeckPool(4, 0, DeckRandom.fast());
+        game.setDeckPool(pool);
+        game.addPlayer(player1);
+
+        game.handCards(founder.getPlayerId());
+        game.handCards(player1.getPlayerId());
+
+        assertEquals(1, pool.fallbacks(), "Only the first deal of the hand should need a deck.");
+        assertEquals(42, game.getDeck().getCardList().size());
+        assertEquals(0, CardSet.mask(founder.getHand()) & CardSet.mask(player1.getHand()));
+    }
+
+    @Test
+    void testHandCards_SeededGameWithPoolRepeatsDeal() throws InterruptedException {
+        DeckPool pool = filledPool(DeckRandom.Mode.FAST);
+        try {
+            assertEquals(dealSeeded(pool, 7), dealSeeded(pool, 7), "The same seed should deal the same cards.");
+            assertEquals(4, pool.depth(), "A seeded game should not take decks from the pool.");
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    void testHandCards_PoolOfOtherModeIsNotUsed() throws InterruptedException {
+        DeckPool pool = filledPool(DeckRandom.Mode.FAST);
+        try {
+            game.setRandom(DeckRandom.secure());
+            game.setDeckPool(pool);
+            game.handCards(founder.getPlayerId());
+
+            assertEquals(4, pool.depth(), "A secure game should not take a deck shuffled by a fast generator.");
+            assertEquals(0, pool.fallbacks());
+        } finally {
+            pool.stop();
+        }
+    }
+
     @Test
     void testChangeCard() {
         game.handCards(founder.getPlayerId());
@@ -43,6 +113,30 @@ class GameTest {
         assertNotNull(oldCard, "Old card description should not be null.");
     }
 
+    @Test
+    void testChangeCard_ReplacesCardInHand() {
+        game.handCards(founder.getPlayerId());
+        Card oldCard = founder.getHand().get(0);
+
+        String newCard = game.changeCard(founder.getPlayerId(), 0);
+
+        assertEquals(newCard, founder.getHand().get(0).toString(), "New card should take the place of the old one.");
+        assertFalse(founder.getHand().contains(oldCard), "Old card should leave the hand.");
+        assertEquals(oldCard, game.getDeck().getCardList().get(0), "Old card should go back to the deck.");
+    }
+
+    @Test
+    void testChangeCard_KeepsHandStateCurrent() {
+        game.handCards(founder.getPlayerId());
+        founder.getHandState();
+
+        for (int cardID = 0; cardID < 4; cardID++) {
+            game.changeCard(founder.getPlayerId(), cardID);
+            assertEquals(CardSet.mask(founder.getHand()), founder.getHandState().getMask(),
+                    "Hand state should follow every exchange.");
+        }
+    }
+
     @Test
     void testPlayerFold() {
         int result = game.playerFold(founder.getPlayerId());
@@ -63,4 +157,94 @@ class GameTest {
         assertEquals(-1, game.nextPlayerIDFromQueue(), "Queue should return -1 when empty.");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetQueueOfPlayers_SkipsFoldedAndAllIn() {
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.playerFold(player1.getPlayerId());
+        game.playerAllIn(player2.getPlayerId());
+
+        assertEquals(founder.getPlayerId(), game.getQueueOfPlayers());
+        assertFalse(game.hasQueuedPlayers());
+        assertTrue(player2.isAllIn(), "Player should be marked all-in as well.");
+        assertEquals(0b010, game.getFoldedSeats());
+        assertEquals(0b100, game.getAllInSeats());
+    }
+
+    @Test
+    void testQueuePlayersBefore_RaiseQueuesEarlierSeatsInHand() {
+        Player player3 = new Player("Player3", 4);
+        game = new Game(100, founder, 4);
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.addPlayer(player3);
+        game.playerFold(player1.getPlayerId());
+
+        assertEquals(0b101, game.getSeatsBeforeNotFold(player3.getPlayerId()));
+        assertEquals(0, game.getSeatsBeforeNotFold(founder.getPlayerId()));
+
+        game.queuePlayersBefore(player3.getPlayerId());
+        assertEquals(founder.getPlayerId(), game.nextPlayerIDFromQueue());
+        assertEquals(player2.getPlayerId(), game.nextPlayerIDFromQueue());
+        assertEquals(-1, game.nextPlayerIDFromQueue());
+    }
+
+    @Test
+    void testAuctionQueue_GrowsPastItsCapacity() {
+        for (int i = 0; i < 3 * Game.MAX_SEATS; i++) {
+            game.addPlayerToQueue(i);
+        }
+        for (int i = 0; i < 3 * Game.MAX_SEATS; i++) {
+            assertEquals(i, game.nextPlayerIDFromQueue());
+        }
+        assertFalse(game.hasQueuedPlayers());
+    }
+
+    @Test
+    void testSeats_FollowJoinOrder() {
+        game.addPlayer(player2);
+        game.addPlayer(player1);
+
+        assertEquals(List.of(1, 3, 2), game.getOrderedPlayersIDs());
+        assertEquals(3, game.getSeatCount());
+        assertSame(player2, game.getSeat(1));
+        assertEquals(player2.getPlayerId(), game.getSeatPlayerID(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getSeatPlayerID(3));
+        assertEquals(2, game.seatOf(player1.getPlayerId()));
+        assertEquals(-1, game.seatOf(99));
+    }
+
+    @Test
+    void testFoldedWinner_LastPlayerInHand() {
+        game = new Game(100, founder, 2);
+        game.addPlayer(player1);
+
+        assertEquals(founder.getPlayerId(), game.playerFold(player1.getPlayerId()));
+        assertEquals(founder.getPlayerId(), game.foldedWinner());
+    }
+
+    private static DeckPool filledPool(DeckRandom.Mode mode) throws InterruptedException {
+        DeckPool pool = new DeckPool(4, 0, DeckRandom.of(mode, 1));
+        pool.start();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (pool.depth() < pool.capacity()) {
+            assertTrue(System.nanoTime() < deadline, "Producer should fill the pool.");
+            Thread.sleep(1);
+        }
+        return pool;
+    }
+
+    private static List<Card> dealSeeded(DeckPool pool, long seed) {
+        Player first = new Player("First", 1);
+        Player second = new Player("Second", 2);
+        Game seeded = new Game(100, first, 3);
+        seeded.addPlayer(second);
+        seeded.setRandom(DeckRandom.seeded(seed));
+        seeded.setDeckPool(pool);
+        seeded.handCards(1);
+        seeded.handCards(2);
+        List<Card> dealt = new ArrayList<>(first.getHand());
+        dealt.addAll(second.getHand());
+        return dealt;
+    }
+}
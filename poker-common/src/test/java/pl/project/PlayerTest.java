@@ -3,7 +3,10 @@ package pl.project;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +45,35 @@ class PlayerTest {
         assertEquals(newHand, player.getHand(), "Hand should match the newly set cards.");
     }
 
+    @Test
+    void testExchangeCard_UpdatesHandState() {
+        Card ace = new Card(Card.Rank.ACE, Card.Suit.SPADES);
+        Card king = new Card(Card.Rank.KING, Card.Suit.HEARTS);
+        Card queen = new Card(Card.Rank.QUEEN, Card.Suit.CLUBS);
+        player.setHand(new ArrayList<>(List.of(ace, king)));
+        HandState state = player.getHandState();
+
+        Card replaced = player.exchangeCard(1, queen);
+
+        assertSame(king, replaced, "Exchanged card should be returned.");
+        assertEquals(List.of(ace, queen), player.getHand());
+        assertEquals(CardSet.mask(player.getHand()), state.getMask(), "State should follow the exchange.");
+        assertEquals(1, state.rankCount(Card.Rank.QUEEN.ordinal()));
+        assertEquals(0, state.rankCount(Card.Rank.KING.ordinal()));
+    }
+
+    @Test
+    void testSetHand_ResetsHandState() {
+        player.setHand(new ArrayList<>(List.of(new Card(Card.Rank.ACE, Card.Suit.SPADES))));
+        HandState state = player.getHandState();
+
+        player.setHand(new ArrayList<>(List.of(new Card(Card.Rank.TWO, Card.Suit.CLUBS))));
+
+        assertNotSame(state, player.getHandState());
+        assertEquals(CardSet.mask(player.getHand()), player.getHandState().getMask());
+        assertEquals(player.getHandMask(), player.getHandState().getMask());
+    }
+
     @Test
     void testSetAndGetExchangeCounter() {
         player.setExchangeCounter(3);
@@ -125,4 +157,13 @@ class PlayerTest {
         // Then
         assertTrue(hashCode1 != hashCode2, "hashCode dwóch różnych obiektów powinno być różne");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetHandMask() {
+        Card ace = new Card(Card.Rank.ACE, Card.Suit.SPADES);
+        Card king = new Card(Card.Rank.KING, Card.Suit.HEARTS);
+        player.setHand(List.of(ace, king));
+
+        assertEquals(1L << ace.getId() | 1L << king.getId(), player.getHandMask());
+    }
+}
@@ -0,0 +1,84 @@
+package pl.project.cards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class CardSetTest {
+
+    private final List<Card> cards = List.of(
+            new Card(KING, HEARTS),
+            new Card(KING, SPADES),
+            new Card(TWO, HEARTS),
+            new Card(NINE, HEARTS),
+            new Card(ACE, CLUBS)
+    );
+
+    @Test
+    void testOfAndToList() {
+        CardSet set = CardSet.of(cards);
+
+        assertEquals(5, set.size());
+        assertEquals(List.of(
+                new Card(ACE, CLUBS),
+                new Card(TWO, HEARTS),
+                new Card(NINE, HEARTS),
+                new Card(KING, HEARTS),
+                new Card(KING, SPADES)
+        ), set.toList(), "Cards should be ordered by id.");
+    }
+
+    @Test
+    void testOfCards_MatchesList() {
+        Card[] array = cards.toArray(new Card[0]);
+
+        assertEquals(CardSet.mask(cards), CardSet.mask(array));
+        assertEquals(CardSet.of(cards), CardSet.of(array));
+        assertEquals(0, CardSet.mask());
+    }
+
+    @Test
+    void testContainsAddRemove() {
+        long mask = CardSet.mask(cards);
+        int queen = new Card(QUEEN, DIAMONDS).getId();
+
+        assertFalse(CardSet.contains(mask, queen));
+        assertTrue(CardSet.contains(CardSet.add(mask, queen), queen));
+        assertEquals(mask, CardSet.remove(CardSet.add(mask, queen), queen));
+
+        CardSet set = CardSet.of(cards);
+        assertTrue(set.contains(new Card(KING, SPADES)));
+        assertFalse(set.without(new Card(KING, SPADES)).contains(new Card(KING, SPADES)));
+        assertEquals(6, set.with(new Card(QUEEN, DIAMONDS)).size());
+    }
+
+    @Test
+    void testHistograms() {
+        long mask = CardSet.mask(cards);
+
+        assertArrayEquals(new int[]{1, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 2, 1}, CardSet.rankHistogram(mask));
+        assertArrayEquals(new int[]{1, 0, 3, 1}, CardSet.suitHistogram(mask));
+        assertEquals(3, CardSet.suitCount(mask, HEARTS.ordinal()));
+        assertEquals(2, CardSet.rankCount(mask, KING.ordinal()));
+    }
+
+    @Test
+    void testRankMaskAndSuitPlane() {
+        long mask = CardSet.mask(cards);
+
+        assertEquals(1 << KING.ordinal() | 1 << TWO.ordinal() | 1 << NINE.ordinal() | 1 << ACE.ordinal(), CardSet.rankMask(mask));
+        assertEquals(1 << KING.ordinal() | 1 << TWO.ordinal() | 1 << NINE.ordinal(), CardSet.suitPlane(mask, HEARTS.ordinal()));
+    }
+
+    @Test
+    void testEqualsAndInvalidMask() {
+        assertEquals(CardSet.of(cards), new CardSet(CardSet.mask(cards)));
+        assertEquals(52, new CardSet(CardSet.FULL_DECK).size());
+        assertEquals(54, new CardSet(CardSet.FULL_DECK | CardSet.JOKERS).size());
+        assertThrows(IllegalArgumentException.class, () -> new CardSet(1L << 54));
+    }
+}
@@ -59,4 +59,33 @@ class CardTest {
         Card card = new Card(Card.Rank.TEN, Card.Suit.SPADES);
         assertEquals("TEN-SPADES", card.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIdRoundTrip() {
+        for (int id = 0; id < Card.COUNT; id++) {
+            Card card = Card.fromId(id);
+            assertEquals(id, card.getId());
+            assertEquals(card.getRank().ordinal(), Card.rankOf(id));
+            assertEquals(card.getSuit().ordinal(), Card.suitOf(id));
+        }
+        assertEquals(51, new Card(Card.Rank.ACE, Card.Suit.SPADES).getId());
+        assertSame(Card.fromId(51), Card.of(Card.Rank.ACE, Card.Suit.SPADES));
+    }
+
+    @Test
+    void testJokers() {
+        Card first = Card.joker(0);
+        Card second = Card.joker(1);
+
+        assertTrue(first.isJoker());
+        assertFalse(new Card(Card.Rank.ACE, Card.Suit.SPADES).isJoker());
+        assertEquals(Card.JOKER, first.getId());
+        assertSame(second, Card.fromId(Card.JOKER + 1));
+        assertNull(first.getRank());
+        assertNotEquals(first, second);
+        assertEquals("JOKER", first.toString());
+        assertTrue(first.compareTo(new Card(Card.Rank.ACE, Card.Suit.SPADES)) > 0);
+        assertTrue(first.compareTo(second) < 0);
+        assertThrows(IllegalArgumentException.class, () -> Card.joker(Card.JOKERS));
+    }
+}
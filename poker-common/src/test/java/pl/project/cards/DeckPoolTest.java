@@ -0,0 +1,60 @@
+package pl.project.cards;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckPoolTest {
+
+    private final DeckPool pool = new DeckPool(8, 0, DeckRandom.seeded(1));
+
+    @AfterEach
+    void tearDown() {
+        pool.stop();
+    }
+
+    @Test
+    void testTake_EmptyPoolFallsBackToInlineShuffle() {
+        Deck deck = pool.take(DeckRandom.seeded(2));
+
+        assertEquals(1, pool.fallbacks());
+        assertEquals(0, pool.depth());
+        assertEquals(CardSet.FULL_DECK, CardSet.mask(deck.dealHand(52)));
+    }
+
+    @Test
+    void testStart_ProducerFillsPoolAndRefillsIt() throws InterruptedException {
+        pool.start();
+        awaitDepth(8);
+
+        Set<Deck> taken = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            Deck deck = pool.take(DeckRandom.seeded(2));
+            assertTrue(taken.add(deck), "Every deck should be taken once.");
+            assertEquals(CardSet.FULL_DECK, CardSet.mask(deck.getCardList()));
+        }
+        assertEquals(0, pool.fallbacks());
+
+        // the producer may park again above half depth, if it refilled while the decks were taken
+        awaitDepth(8 / 2 + 1);
+        assertEquals(8, pool.capacity());
+    }
+
+    @Test
+    void testDeckPool_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DeckPool(6, 0, DeckRandom.fast()));
+        assertThrows(IllegalArgumentException.class, () -> new DeckPool(8, 3, DeckRandom.fast()));
+    }
+
+    private void awaitDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (pool.depth() < depth) {
+            assertTrue(System.nanoTime() < deadline, "Producer should fill the pool.");
+            Thread.sleep(1);
+        }
+    }
+}
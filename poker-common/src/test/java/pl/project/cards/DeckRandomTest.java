@@ -0,0 +1,56 @@
+package pl.project.cards;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckRandomTest {
+
+    @ParameterizedTest
+    @EnumSource(DeckRandom.Mode.class)
+    void testNextInt_EveryValueInRangeAppears(DeckRandom.Mode mode) {
+        DeckRandom random = DeckRandom.of(mode, 7);
+        int[] counts = new int[52];
+        for (int i = 0; i < 52_000; i++) {
+            counts[random.nextInt(52)]++;
+        }
+
+        for (int count : counts) {
+            // expected 1000, standard deviation about 31
+            assertTrue(count > 800 && count < 1200, "Values should be uniform, got count " + count);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeckRandom.Mode.class)
+    void testOf_GeneratorOfMode(DeckRandom.Mode mode) {
+        assertEquals(mode, DeckRandom.of(mode, 7).getMode());
+    }
+
+    @Test
+    void testSeeded_SameSeedSameShuffle() {
+        assertEquals(shuffled(DeckRandom.seeded(42)), shuffled(DeckRandom.seeded(42)));
+        assertNotEquals(shuffled(DeckRandom.seeded(42)), shuffled(DeckRandom.seeded(43)));
+    }
+
+    @Test
+    void testSecure_LargeBounds() {
+        DeckRandom random = DeckRandom.secure();
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(Integer.MAX_VALUE);
+            assertTrue(value >= 0 && value < Integer.MAX_VALUE);
+        }
+        assertEquals(0, random.nextInt(1));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    private static List<Card> shuffled(DeckRandom random) {
+        Deck deck = new Deck(0, random);
+        deck.shuffle();
+        return deck.dealHand(52);
+    }
+}
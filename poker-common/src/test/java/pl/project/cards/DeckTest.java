@@ -3,6 +3,7 @@ package pl.project.cards;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -82,4 +83,56 @@ class DeckTest {
         assertEquals(newCard, deck.getCardList().get(0), "Added card should be at the top of the deck.");
         assertEquals(53, deck.getCardList().size(), "Deck size should increase to 53 after adding a card.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeckWithJokers() {
+        Deck withJokers = new Deck(2);
+
+        assertEquals(54, withJokers.getCardList().size());
+        assertEquals(CardSet.FULL_DECK | CardSet.JOKERS, CardSet.mask(withJokers.getCardList()));
+        assertThrows(IllegalArgumentException.class, () -> new Deck(3));
+    }
+
+    @Test
+    void testDealHand_AfterShuffleDealsEveryCardOnce() {
+        deck.shuffle();
+        List<Card> dealt = new ArrayList<>(deck.dealHand(50));
+        dealt.addAll(deck.dealHand(2));
+
+        assertEquals(CardSet.FULL_DECK, CardSet.mask(dealt), "Every card should be dealt exactly once.");
+        assertEquals(0, deck.getCardList().size());
+    }
+
+    @Test
+    void testShuffle_ReturnedCardsAreDrawnLast() {
+        deck.shuffle();
+        List<Card> hand = deck.dealHand(5);
+        for (Card card : hand) {
+            deck.addCardToDeck(card);
+        }
+
+        List<Card> rest = deck.dealHand(47);
+        assertTrue(rest.stream().noneMatch(hand::contains), "Returned cards should stay under the shuffled ones.");
+        assertEquals(hand.get(0), deck.getCardFromDeck(), "First returned card should be the last one drawn.");
+    }
+
+    @Test
+    void testGetCardList_IsLiveView() {
+        Card aceOfSpades = new Card(Card.Rank.ACE, Card.Suit.SPADES);
+        deck.shuffle();
+        List<Card> view = deck.getCardList();
+
+        view.remove(aceOfSpades);
+        assertEquals(51, deck.getCardList().size());
+        assertFalse(deck.dealHand(51).contains(aceOfSpades));
+
+        view.add(aceOfSpades);
+        assertEquals(aceOfSpades, deck.getCardFromDeck(), "Card added at the end of the list should be on top.");
+    }
+
+    @Test
+    void testGetCardFromDeck_EmptyDeck() {
+        deck.dealHand(52);
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.getCardFromDeck());
+    }
+}
@@ -0,0 +1,99 @@
+package pl.project.cards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandIndexTest {
+
+    @Test
+    void testRankUnrank_RoundTripOverAllHands() {
+        for (int index = 0; index < HandIndex.HANDS; index++) {
+            long mask = HandIndex.unrank(index, 5);
+            assertEquals(5, Long.bitCount(mask));
+            assertEquals(index, HandIndex.rank(mask));
+        }
+    }
+
+    @Test
+    void testRank_OtherSizes() {
+        assertEquals(0, HandIndex.rank(0L));
+        assertEquals(HandIndex.binomial(52, 7) - 1, HandIndex.rank(0x7FL << 45));
+        assertEquals(0x7FL << 45, HandIndex.unrank(HandIndex.binomial(52, 7) - 1, 7));
+        assertEquals(51, HandIndex.rank(1L << 51));
+    }
+
+    @Test
+    void testRank_ListAndMaskAgree() {
+        List<Card> hand = List.of(new Card(Card.Rank.ACE, Card.Suit.SPADES), new Card(Card.Rank.TWO, Card.Suit.CLUBS),
+                new Card(Card.Rank.TEN, Card.Suit.HEARTS), new Card(Card.Rank.FIVE, Card.Suit.DIAMONDS),
+                new Card(Card.Rank.KING, Card.Suit.SPADES));
+
+        assertEquals(HandIndex.rank(CardSet.mask(hand)), HandIndex.rank(hand));
+    }
+
+    @Test
+    void testRankUnrank_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HandIndex.rank(0xFFL));
+        assertThrows(IllegalArgumentException.class, () -> HandIndex.unrank(HandIndex.HANDS, 5));
+        assertThrows(IllegalArgumentException.class, () -> HandIndex.unrank(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> HandIndex.canonicalIndex(0xFL));
+    }
+
+    @Test
+    void testCanonical_SameForEverySuitPermutation() {
+        // Given
+        long hand = 1L | 1L << 14 | 1L << 27 | 1L << 28 | 1L << 51;
+        Set<Long> canonical = new HashSet<>();
+
+        // When
+        for (int[] permutation : permutations()) {
+            canonical.add(HandIndex.canonical(HandIndex.permute(hand, permutation)));
+        }
+
+        // Then
+        assertEquals(Set.of(HandIndex.canonical(hand)), canonical);
+    }
+
+    @Test
+    void testCanonical_PermutationMapsHandToCanonical() {
+        long hand = 1L << 3 | 1L << 16 | 1L << 17 | 1L << 40 | 1L << 50;
+        int[] permutation = new int[4];
+
+        long canonical = HandIndex.canonical(hand, permutation);
+
+        assertEquals(canonical, HandIndex.permute(hand, permutation));
+        assertEquals(Long.bitCount(hand), Long.bitCount(canonical));
+    }
+
+    @Test
+    void testCanonicalIndex_DenseOverAllHands() {
+        boolean[] seen = new boolean[HandIndex.CANONICAL_HANDS];
+        for (int index = 0; index < HandIndex.HANDS; index++) {
+            int canonicalIndex = HandIndex.canonicalIndex(HandIndex.unrank(index, 5));
+            assertTrue(canonicalIndex >= 0 && canonicalIndex < HandIndex.CANONICAL_HANDS);
+            seen[canonicalIndex] = true;
+        }
+        for (int i = 0; i < seen.length; i++) {
+            assertTrue(seen[i]);
+            assertEquals(i, HandIndex.canonicalIndex(HandIndex.unrankCanonical(i)));
+        }
+    }
+
+    private static List<int[]> permutations() {
+        List<int[]> permutations = new ArrayList<>();
+        for (int a = 0; a < 4; a++)
+            for (int b = 0; b < 4; b++)
+                for (int c = 0; c < 4; c++)
+                    for (int d = 0; d < 4; d++)
+                        if (a != b && a != c && a != d && b != c && b != d && c != d) {
+                            permutations.add(new int[]{a, b, c, d});
+                        }
+        return permutations;
+    }
+}
@@ -0,0 +1,117 @@
+package pl.project.cards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class HandStateTest {
+
+    @Test
+    void testAddAndRemove_Counts() {
+        HandState state = new HandState();
+        state.add(Card.id(KING, HEARTS));
+        state.add(Card.id(KING, SPADES));
+        state.add(Card.id(TWO, HEARTS));
+
+        assertEquals(3, state.size());
+        assertEquals(2, state.rankCount(KING.ordinal()));
+        assertEquals(2, state.suitCount(HEARTS.ordinal()));
+        assertEquals(1 << KING.ordinal() | 1 << TWO.ordinal(), state.getRankMask());
+        assertEquals(1 << KING.ordinal(), state.ranksAtLeast(2));
+        assertEquals(1 << HEARTS.ordinal() | 1 << SPADES.ordinal(), state.getSuitMask());
+
+        state.remove(Card.id(KING, SPADES));
+
+        assertEquals(1, state.rankCount(KING.ordinal()));
+        assertEquals(0, state.ranksAtLeast(2));
+        assertEquals(1 << HEARTS.ordinal(), state.getSuitMask());
+    }
+
+    @Test
+    void testStraightAndFlush() {
+        HandState broadway = HandState.of(CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, HEARTS),
+                Card.of(QUEEN, CLUBS), Card.of(KING, DIAMONDS), Card.of(ACE, SPADES)));
+        HandState wheel = HandState.of(CardSet.mask(Card.of(ACE, CLUBS), Card.of(TWO, CLUBS),
+                Card.of(THREE, CLUBS), Card.of(FOUR, CLUBS), Card.of(FIVE, CLUBS)));
+        HandState flush = HandState.of(CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS),
+                Card.of(NINE, HEARTS), Card.of(JACK, HEARTS), Card.of(KING, HEARTS)));
+
+        assertTrue(broadway.isStraight());
+        assertFalse(broadway.isFlush());
+        assertEquals(1 << ACE.ordinal(), broadway.getStraightMask());
+        assertTrue(wheel.isStraight());
+        assertTrue(wheel.isFlush());
+        assertEquals(1 << FIVE.ordinal(), wheel.getStraightMask());
+        assertFalse(flush.isStraight());
+        assertTrue(flush.isFlush());
+    }
+
+    @Test
+    void testReplace_MatchesStateBuiltFromMask() {
+        SplittableRandom random = new SplittableRandom(3);
+        long mask = HandIndex.unrank(random.nextInt(HandIndex.HANDS), 5);
+        HandState state = HandState.of(mask);
+
+        for (int i = 0; i < 10_000; i++) {
+            int removed = nthCard(mask, random.nextInt(5));
+            int added = nthCard(CardSet.FULL_DECK & ~mask, random.nextInt(Card.COUNT - 5));
+            state.replace(removed, added);
+            mask = mask & ~(1L << removed) | 1L << added;
+
+            HandState expected = HandState.of(mask);
+            assertEquals(mask, state.getMask());
+            assertEquals(expected.getSuitMask(), state.getSuitMask());
+            assertEquals(expected.getStraightMask(), state.getStraightMask());
+            for (int times = 1; times <= 4; times++) {
+                assertEquals(expected.ranksAtLeast(times), state.ranksAtLeast(times));
+            }
+            for (int rank = 0; rank < 13; rank++) {
+                assertEquals(CardSet.rankCount(mask, rank), state.rankCount(rank));
+            }
+            for (int suit = 0; suit < 4; suit++) {
+                assertEquals(CardSet.suitCount(mask, suit), state.suitCount(suit));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidCards() {
+        HandState state = HandState.of(CardSet.mask(Card.of(TWO, HEARTS)));
+
+        assertThrows(IllegalArgumentException.class, () -> state.add(Card.id(TWO, HEARTS)));
+        assertThrows(IllegalArgumentException.class, () -> state.remove(Card.id(THREE, HEARTS)));
+        assertThrows(IllegalArgumentException.class, () -> state.add(Card.JOKER + Card.JOKERS));
+        assertThrows(IllegalArgumentException.class, () -> HandState.of(1L << (Card.JOKER + Card.JOKERS)));
+    }
+
+    @Test
+    void testJokers_KeptOnlyInMask() {
+        HandState state = HandState.of(CardSet.mask(Card.of(KING, HEARTS), Card.of(KING, SPADES),
+                Card.of(TWO, HEARTS), Card.of(THREE, HEARTS)));
+        int kings = state.ranksAtLeast(2);
+
+        state.add(Card.JOKER);
+        state.replace(Card.id(TWO, HEARTS), Card.JOKER + 1);
+
+        assertEquals(5, state.size());
+        assertEquals(2, state.jokerCount());
+        assertEquals(kings, state.ranksAtLeast(2));
+        assertEquals(2, state.suitCount(HEARTS.ordinal()));
+        assertFalse(state.isFlush());
+        assertEquals(state.getMask(), HandState.of(state.getMask()).getMask());
+
+        state.remove(Card.JOKER);
+        assertEquals(1, state.jokerCount());
+    }
+
+    private static int nthCard(long mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+}
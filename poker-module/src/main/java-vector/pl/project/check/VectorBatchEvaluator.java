@@ -0,0 +1,120 @@
+package pl.project.check;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import pl.project.cards.CardSet;
+import pl.project.check.batch.BatchEvaluator;
+
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Batch evaluator that runs {@link LookupEvaluator} on {@code jdk.incubator.vector} lanes -
+ * as many hands at once as the preferred {@code long} species holds (4 with AVX2, 8 with AVX-512).
+ * For every lane it splits the mask into suit planes, builds the rank histogram as multiplicity masks
+ * (ranks seen at least twice, three and four times), detects flushes and hashes the multiplicity key,
+ * ending with one index into a flat copy of the tables. Only the two loads of that index are done lane by lane,
+ * without branches.
+ * <p>
+ * The class is compiled only on JDK 17+ and needs {@code --add-modules jdk.incubator.vector} at runtime,
+ * use {@link BatchEvaluator#fastest()} to get it with fallback to the scalar evaluator.
+ */
+public class VectorBatchEvaluator extends BatchEvaluator {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private static final int FLUSH_INDEX = LookupTables.RANK_MASK_SIZE;
+    private static final int PAIRED_INDEX = 2 * LookupTables.RANK_MASK_SIZE;
+    private static final int NO_BUCKET = 1 << LookupTables.BUCKET_BITS;
+
+    /**
+     * Strengths of hands with five ranks at {@code ranks}, of flushes at {@code FLUSH_INDEX + ranks}
+     * and of paired hands at {@code PAIRED_INDEX + slot}
+     */
+    private static final int[] STRENGTH = new int[PAIRED_INDEX + LookupEvaluator.PAIRED.length];
+
+    /**
+     * Displacement of every bucket and zero for hands that are not hashed
+     */
+    private static final int[] DISPLACEMENT = new int[NO_BUCKET + 1];
+
+    static {
+        for (int ranks = 0; ranks < LookupTables.RANK_MASK_SIZE; ranks++) {
+            if (Integer.bitCount(ranks) == 5) {
+                STRENGTH[ranks] = LookupEvaluator.STRENGTH[LookupEvaluator.UNIQUE5[ranks]];
+                STRENGTH[FLUSH_INDEX + ranks] = LookupEvaluator.STRENGTH[LookupEvaluator.FLUSH[ranks]];
+            }
+        }
+        for (int slot = 0; slot < LookupEvaluator.PAIRED.length; slot++) {
+            STRENGTH[PAIRED_INDEX + slot] = LookupEvaluator.STRENGTH[LookupEvaluator.PAIRED[slot]];
+        }
+        for (int bucket = 0; bucket < NO_BUCKET; bucket++) {
+            DISPLACEMENT[bucket] = LookupEvaluator.DISPLACEMENT[bucket];
+        }
+    }
+
+    /**
+     * Default constructor - works on the common pool
+     */
+    public VectorBatchEvaluator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool pool used for large inputs
+     * @param threshold number of hands below which input is evaluated sequentially
+     */
+    public VectorBatchEvaluator(ForkJoinPool pool, int threshold) {
+        super(new LookupEvaluator(), pool, threshold);
+    }
+
+    /**
+     * @return number of hands evaluated by one vector operation
+     */
+    public static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    protected void evaluateSequentially(long[] handMasks, int[] outStrength, int from, int to) {
+        long[] indexes = new long[SPECIES.length()];
+        int i = from;
+        for (int upper = from + SPECIES.loopBound(to - from); i < upper; i += SPECIES.length()) {
+            LongVector mask = LongVector.fromArray(SPECIES, handMasks, i);
+            LongVector a = mask.and(CardSet.PLANE);
+            LongVector b = mask.lanewise(VectorOperators.LSHR, 13).and(CardSet.PLANE);
+            LongVector c = mask.lanewise(VectorOperators.LSHR, 26).and(CardSet.PLANE);
+            LongVector d = mask.lanewise(VectorOperators.LSHR, 39).and(CardSet.PLANE);
+            LongVector ab = a.or(b);
+            LongVector cd = c.or(d);
+            LongVector ranks = ab.or(cd);
+            LongVector twice = a.and(b).or(c.and(d)).or(ab.and(cd));
+            LongVector thrice = a.and(b).and(cd).or(c.and(d).and(ab));
+            LongVector fourTimes = a.and(b).and(c).and(d);
+
+            // with five cards no rank is repeated exactly when nothing was seen twice
+            VectorMask<Long> paired = twice.compare(VectorOperators.NE, 0);
+            VectorMask<Long> flush = a.eq(ranks).or(b.eq(ranks)).or(c.eq(ranks)).or(d.eq(ranks));
+
+            LongVector key = ranks
+                    .or(twice.lanewise(VectorOperators.LSHL, 13))
+                    .or(thrice.lanewise(VectorOperators.LSHL, 26))
+                    .or(fourTimes.lanewise(VectorOperators.LSHL, 39));
+            LongVector hash = key.mul(LookupEvaluator.MULTIPLIER).lanewise(VectorOperators.LSHR, 32);
+
+            // low half - index into STRENGTH before displacement, high half - bucket of the displacement
+            LongVector unique = ranks.blend(ranks.or(FLUSH_INDEX), flush).or((long) NO_BUCKET << 32);
+            LongVector hashed = hash.and((1 << LookupTables.HASH_BITS) - 1).or(PAIRED_INDEX)
+                    .or(hash.lanewise(VectorOperators.LSHR, 32 - LookupTables.BUCKET_BITS).lanewise(VectorOperators.LSHL, 32));
+            unique.blend(hashed, paired).intoArray(indexes, 0);
+
+            for (int lane = 0; lane < indexes.length; lane++) {
+                long index = indexes[lane];
+                outStrength[i + lane] = STRENGTH[(int) index ^ DISPLACEMENT[(int) (index >>> 32)]];
+            }
+        }
+        super.evaluateSequentially(handMasks, outStrength, i, to);
+    }
+}
@@ -2,8 +2,11 @@ package pl.project.check;
 
 import pl.project.Player;
 import pl.project.cards.Card;
+import pl.project.cards.CardSet;
 import pl.project.check.evaluators.*;
 import pl.project.check.hand.EvaluatedHand;
+import pl.project.check.hand.HandResult;
+import pl.project.check.hand.HandStrength;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,54 +14,173 @@ import java.util.List;
 
 
 /**
- * Class that handles checking different layouts of cards that players have
+ * Class that handles checking different layouts of cards that players have.
+ * Engine holds no state between calls and never modifies players' hands,
+ * so one instance can be shared by all games.
  */
-public class CheckEngine {
-
-    private final List<HandEvaluator> evaluators = List.of(
-            new RoyalFlushEvaluator(),
-            new StraightFlushEvaluator(),
-            new FourSomeEvaluator(),
-            new FullHouseEvaluator(),
-            new FlushEvaluator(),
-            new StraightEvaluator(),
-            new ThreeSomeEvaluator(),
-            new TwoPairEvaluator(),
-            new OnePairEvaluator(),
-            new HighestCardEvaluator()
-    );
+public class CheckEngine implements StrengthEvaluator {
+
+    /**
+     * How hands are evaluated
+     */
+    public enum Mode {
+        /**
+         * Precomputed tables of {@link LookupEvaluator} - default
+         */
+        LOOKUP,
+        /**
+         * Original chain of {@link HandEvaluator} objects, kept as a reference for differential tests
+         */
+        REFERENCE
+    }
+
+    private final Mode mode;
+
+    private final LookupEvaluator lookupEvaluator = new LookupEvaluator();
+
+    /**
+     * Default constructor - engine uses {@link Mode#LOOKUP}
+     */
+    public CheckEngine() {
+        this(Mode.LOOKUP);
+    }
+
+    /**
+     * Creates engine with chosen evaluation mode
+     * @param mode lookup tables or reference evaluator chain
+     */
+    public CheckEngine(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
 
     /**
      * All magic happens here
      * @param players List of players
-     * @return list of marked hands
+     * @return list of marked hands, from the weakest to the strongest
      */
     public List<EvaluatedHand> check(List<Player> players) {
-
-        List<EvaluatedHand> evaluatedHands = new ArrayList<>();
-
-        List<HandEvaluator.Layouts> playersLayouts = new ArrayList<>(Collections.nCopies(players.size(), HandEvaluator.Layouts.HIGH_CARD));
-        List<List<Card>> hands = new ArrayList<>(Collections.nCopies(players.size(), null));
-        int playerIndex = 0;
+        List<EvaluatedHand> evaluatedHands = new ArrayList<>(players.size());
         for (Player player : players) {
-            for (HandEvaluator evaluator : evaluators) {
-                evaluator.getPosition().clear();
-                if (evaluator.evaluate(player.getHand())){
-                    playersLayouts.set(playerIndex, evaluator.getLayout());
-                    hands.set(playerIndex, evaluator.getPosition());
-                    System.out.println(evaluator.getPosition());
-                    EvaluatedHand current = new EvaluatedHand(player.getHand(), evaluator.highestCard(player.getHand()), evaluator.getLayout(), player.getPlayerId(), evaluator.getPosition());
-
-                    evaluatedHands.add(current);
-                    break;
-                }
-                evaluator.getPosition().clear();
-            }
-            playerIndex++;
+            HandResult result = evaluate(player.getHand());
+            evaluatedHands.add(new EvaluatedHand(player.getHand(), result.getHighestCard(), result.getLayout(),
+                    player.getPlayerId(), new ArrayList<>(result.getCards()), result.getStrength()));
         }
         Collections.sort(evaluatedHands);
         return evaluatedHands;
+    }
+
+    /**
+     * Evaluates one hand
+     * @param hand list of 5 cards, it is not modified
+     * @return immutable result
+     */
+    public HandResult evaluate(List<Card> hand) {
+        long mask = CardSet.mask(hand);
+        if (mode == Mode.REFERENCE) {
+            if ((mask & CardSet.JOKERS) != 0) {
+                throw new IllegalArgumentException("Reference evaluators do not support jokers: " + hand);
+            }
+            return evaluateWithEvaluators(hand);
+        }
+        if (hand.size() != 5 || Long.bitCount(mask) != 5) {
+            throw new IllegalArgumentException("Hand must contain 5 different cards: " + hand);
+        }
+        if ((mask & CardSet.JOKERS) != 0) {
+            int strength = lookupEvaluator.strength(mask);
+            HandEvaluator.Layouts layout = HandStrength.layout(strength);
+            return new HandResult(mask, layout, jokerLayoutCards(mask, strength), strength);
+        }
+        int rankClass = lookupEvaluator.rankClass(mask);
+        HandEvaluator.Layouts layout = LookupEvaluator.layout(rankClass);
+        return new HandResult(mask, layout, layoutCards(mask, layout), LookupEvaluator.strengthOfClass(rankClass));
+    }
+
+    /**
+     * Evaluates hand given as {@link CardSet} mask
+     * @param handMask mask with 5 bits set
+     * @return packed strength, see {@link HandStrength}
+     */
+    @Override
+    public int strength(long handMask) {
+        if (mode == Mode.REFERENCE) {
+            return evaluateWithEvaluators(CardSet.toList(handMask)).getStrength();
+        }
+        return lookupEvaluator.strength(handMask);
+    }
+
+    /**
+     * Cards of the hand that form the layout
+     * @param mask mask of the hand
+     * @param layout layout of the hand
+     * @return mask of cards forming the layout
+     */
+    private static long layoutCards(long mask, HandEvaluator.Layouts layout) {
+        long columns = 0;
+        for (int ranks = LookupEvaluator.layoutRanks(mask, layout); ranks != 0; ranks &= ranks - 1) {
+            columns |= CardSet.RANK_COLUMN << Integer.numberOfTrailingZeros(ranks);
+        }
+        return mask & columns;
+    }
+
+    /**
+     * Cards of a hand with jokers that form the layout - the jokers and the regular cards of the ranks
+     * the layout is made of, all cards for straights, flushes and full houses
+     * @param mask mask of the hand
+     * @param strength packed strength of the hand
+     * @return mask of cards forming the layout
+     */
+    private static long jokerLayoutCards(long mask, int strength) {
+        int ranks;
+        switch (HandStrength.layout(strength)) {
+            case PAIR:
+            case THREE_OF_A_KIND:
+            case FOUR_OF_A_KIND:
+            case FIVE_OF_A_KIND:
+                ranks = 1 << HandStrength.rank(strength, 0);
+                break;
+            case TWO_PAIRS:
+                ranks = 1 << HandStrength.rank(strength, 0) | 1 << HandStrength.rank(strength, 1);
+                break;
+            default:
+                return mask;
+        }
+        long columns = 0;
+        for (; ranks != 0; ranks &= ranks - 1) {
+            columns |= CardSet.RANK_COLUMN << Integer.numberOfTrailingZeros(ranks);
+        }
+        return mask & (columns | CardSet.JOKERS);
+    }
 
+    /**
+     * Runs the original evaluator chain. Evaluators keep the found cards as their state
+     * and sort the hand they get, so every call works on its own evaluators and its own copy of the hand.
+     */
+    private HandResult evaluateWithEvaluators(List<Card> hand) {
+        List<Card> copy = new ArrayList<>(hand);
+        List<HandEvaluator> evaluators = List.of(
+                new RoyalFlushEvaluator(),
+                new StraightFlushEvaluator(),
+                new FourSomeEvaluator(),
+                new FullHouseEvaluator(),
+                new FlushEvaluator(),
+                new StraightEvaluator(),
+                new ThreeSomeEvaluator(),
+                new TwoPairEvaluator(),
+                new OnePairEvaluator(),
+                new HighestCardEvaluator()
+        );
+        for (HandEvaluator evaluator : evaluators) {
+            if (evaluator.evaluate(copy)) {
+                return new HandResult(CardSet.mask(copy), evaluator.getLayout(), CardSet.mask(evaluator.getPosition()),
+                        HandStrength.of(evaluator.getLayout(), copy));
+            }
+            evaluator.getPosition().clear();
+        }
+        throw new IllegalStateException("No evaluator matched hand " + hand);
     }
 
 
@@ -0,0 +1,149 @@
+package pl.project.check;
+
+import pl.project.cards.Card;
+import pl.project.cards.HandIndex;
+import pl.project.check.batch.BatchEvaluator;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+
+/**
+ * Command line tool that evaluates all 2,598,960 five-card hands in parallel with every evaluator,
+ * compares the layout histogram with the known frequencies and reports hands per second.
+ * It is both the correctness check of evaluators at full scale and their throughput baseline.
+ * <p>
+ * Usage: {@code EnumerationTool [reference|lookup|batch ...]}, without arguments all evaluators are run.
+ * Every enumeration runs once untimed to warm up. Exit status is 1 if any histogram differs from the expected one.
+ */
+public final class EnumerationTool {
+
+    /**
+     * Number of hands of every layout, indexed by {@link HandEvaluator.Layouts} ordinal
+     */
+    static final long[] EXPECTED = {
+            1_302_540, // HIGH_CARD
+            1_098_240, // PAIR
+            123_552,   // TWO_PAIRS
+            54_912,    // THREE_OF_A_KIND
+            10_200,    // STRAIGHT
+            5_108,     // FLUSH
+            3_744,     // FULL_HOUSE
+            624,       // FOUR_OF_A_KIND
+            36,        // STRAIGHT_FLUSH
+            4,         // ROYAL_FLUSH
+            0          // FIVE_OF_A_KIND, only with jokers
+    };
+
+    private EnumerationTool() {
+    }
+
+    /**
+     * Evaluates all hands, splitting work by the highest card of the hand
+     * @param evaluator evaluator safe to use from many threads
+     * @return number of hands of every layout, indexed by {@link HandEvaluator.Layouts} ordinal
+     */
+    static long[] histogram(StrengthEvaluator evaluator) {
+        int layouts = HandEvaluator.Layouts.values().length;
+        return IntStream.range(4, Card.COUNT).parallel()
+                .mapToObj(c4 -> {
+                    long[] histogram = new long[layouts];
+                    for (int c3 = 3; c3 < c4; c3++)
+                        for (int c2 = 2; c2 < c3; c2++)
+                            for (int c1 = 1; c1 < c2; c1++)
+                                for (int c0 = 0; c0 < c1; c0++) {
+                                    long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                                    histogram[HandStrength.layout(evaluator.strength(mask)).ordinal()]++;
+                                }
+                    return histogram;
+                })
+                .reduce(new long[layouts], EnumerationTool::sum);
+    }
+
+    /**
+     * @return masks of all hands in colex order
+     */
+    static long[] allHands() {
+        long[] hands = new long[HandIndex.HANDS];
+        for (int i = 0; i < hands.length; i++) {
+            hands[i] = HandIndex.unrank(i, 5);
+        }
+        return hands;
+    }
+
+    /**
+     * Evaluates hands with the batch evaluator in one call
+     * @param evaluator batch evaluator
+     * @param hands masks of all hands, see {@link #allHands()}
+     * @return number of hands of every layout, indexed by {@link HandEvaluator.Layouts} ordinal
+     */
+    static long[] histogram(BatchEvaluator evaluator, long[] hands) {
+        int[] strengths = new int[hands.length];
+        evaluator.evaluate(hands, strengths);
+
+        long[] histogram = new long[HandEvaluator.Layouts.values().length];
+        for (int strength : strengths) {
+            histogram[HandStrength.layout(strength).ordinal()]++;
+        }
+        return histogram;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Runs the tool
+     * @param args names of evaluators to run
+     */
+    public static void main(String[] args) {
+        Map<String, Supplier<long[]>> enumerations = new LinkedHashMap<>();
+        enumerations.put("reference", () -> histogram(new CheckEngine(CheckEngine.Mode.REFERENCE)));
+        enumerations.put("lookup", () -> histogram(new CheckEngine()));
+        long[] hands = allHands();
+        BatchEvaluator batchEvaluator = BatchEvaluator.fastest();
+        enumerations.put("batch", () -> histogram(batchEvaluator, hands));
+
+        String[] names = args.length > 0 ? args : enumerations.keySet().toArray(new String[0]);
+        System.out.println("Enumerating " + HandIndex.HANDS + " hands on "
+                + Runtime.getRuntime().availableProcessors() + " processors");
+        boolean failed = false;
+        for (String name : names) {
+            Supplier<long[]> enumeration = enumerations.get(name);
+            if (enumeration == null) {
+                System.out.println("Unknown evaluator " + name + ", expected one of " + enumerations.keySet());
+                failed = true;
+            } else if (!report(name, enumeration)) {
+                failed = true;
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean report(String name, Supplier<long[]> enumeration) {
+        // untimed pass builds tables and lets the JIT compile the loop
+        enumeration.get();
+        long start = System.nanoTime();
+        long[] histogram = enumeration.get();
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("%n%s: %.0f ms, %.1f M hands/s%n", name, nanos / 1e6, HandIndex.HANDS * 1e3 / nanos);
+        for (HandEvaluator.Layouts layout : HandEvaluator.Layouts.values()) {
+            int i = layout.ordinal();
+            System.out.printf("  %-16s %9d %9d %s%n", layout, histogram[i], EXPECTED[i],
+                    histogram[i] == EXPECTED[i] ? "ok" : "MISMATCH");
+        }
+        return Arrays.equals(histogram, EXPECTED);
+    }
+}
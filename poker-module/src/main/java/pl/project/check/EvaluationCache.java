@@ -0,0 +1,219 @@
+package pl.project.check;
+
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Bounded cache of hand strengths placed in front of another evaluator, usually {@link CheckEngine}:
+ * {@code new EvaluationCache(new CheckEngine(), 1 << 16)}.
+ * <p>
+ * Keys are {@link CardSet} masks. The cache is split into segments with their own locks, so threads
+ * evaluating different hands rarely wait for each other, and every segment is split into sets of
+ * {@value #WAYS} entries. A hand can be stored only in the set chosen by its hash; when the set is full,
+ * the entry to evict is chosen by the clock algorithm - entries read since the last pass of the clock hand
+ * get a second chance. Missing strengths are computed outside of the lock.
+ * <p>
+ * Hits, misses and evictions are counted, so it can be measured whether the cache pays off in a deployment.
+ */
+public final class EvaluationCache implements StrengthEvaluator {
+
+    /**
+     * Number of entries in one set
+     */
+    static final int WAYS = 8;
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final StrengthEvaluator evaluator;
+    private final Segment[] segments;
+    private final int segmentBits;
+    private final int setsPerSegment;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates cache with four segments per processor
+     * @param evaluator evaluator of hands missing in the cache
+     * @param capacity maximal number of cached hands, rounded up to a power of two
+     */
+    public EvaluationCache(StrengthEvaluator evaluator, int capacity) {
+        this(evaluator, capacity, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param evaluator evaluator of hands missing in the cache
+     * @param capacity maximal number of cached hands, rounded up to a power of two, at least {@value #WAYS} per segment
+     * @param segments number of independently locked segments, rounded up to a power of two
+     */
+    public EvaluationCache(StrengthEvaluator evaluator, int capacity, int segments) {
+        if (capacity < 1 || segments < 1) {
+            throw new IllegalArgumentException("Capacity and number of segments must be positive");
+        }
+        int segmentCount = ceilPowerOfTwo(segments);
+        int sets = Math.max(1, ceilPowerOfTwo(capacity) / WAYS / segmentCount);
+        this.evaluator = evaluator;
+        this.segments = new Segment[segmentCount];
+        this.segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+        this.setsPerSegment = sets;
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(sets);
+        }
+    }
+
+    /**
+     * Returns cached strength or evaluates the hand and caches it
+     * @param handMask {@link CardSet} mask, not zero
+     * @return packed strength, see {@link HandStrength}
+     */
+    @Override
+    public int strength(long handMask) {
+        long hash = handMask * GOLDEN;
+        Segment segment = segments[(int) (hash >>> (64 - segmentBits)) & (segments.length - 1)];
+        int set = (int) (hash >>> 32) & (setsPerSegment - 1);
+
+        synchronized (segment) {
+            int way = segment.find(set, handMask);
+            if (way >= 0) {
+                segment.referenced[way] = true;
+                hits.increment();
+                return segment.values[way];
+            }
+        }
+
+        misses.increment();
+        int strength = evaluator.strength(handMask);
+        synchronized (segment) {
+            if (segment.find(set, handMask) < 0 && segment.put(set, handMask, strength)) {
+                evictions.increment();
+            }
+        }
+        return strength;
+    }
+
+    /**
+     * Layout is decoded by the cached evaluator
+     * @param strength packed strength
+     * @return layout of the hand
+     */
+    @Override
+    public HandEvaluator.Layouts layoutOf(int strength) {
+        return evaluator.layoutOf(strength);
+    }
+
+    /**
+     * Removes all entries, counters are kept
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return maximal number of cached hands
+     */
+    public int capacity() {
+        return segments.length * setsPerSegment * WAYS;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return share of lookups answered from the cache, 0 when there were none
+     */
+    public double hitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluationCache[capacity=" + capacity() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + "]";
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        int power = Integer.highestOneBit(value);
+        return power == value ? value : power << 1;
+    }
+
+    /**
+     * Sets of entries guarded by the segment's monitor. Empty entries have key 0, which is not a hand.
+     */
+    private static final class Segment {
+
+        private final long[] keys;
+        private final int[] values;
+        private final boolean[] referenced;
+        private final byte[] clockHands;
+
+        Segment(int sets) {
+            keys = new long[sets * WAYS];
+            values = new int[sets * WAYS];
+            referenced = new boolean[sets * WAYS];
+            clockHands = new byte[sets];
+        }
+
+        int find(int set, long key) {
+            int base = set * WAYS;
+            for (int way = base; way < base + WAYS; way++) {
+                if (keys[way] == key) {
+                    return way;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return {@code true} if another entry was evicted
+         */
+        boolean put(int set, long key, int value) {
+            int base = set * WAYS;
+            for (int way = base; way < base + WAYS; way++) {
+                if (keys[way] == 0) {
+                    store(way, key, value);
+                    return false;
+                }
+            }
+            int hand = clockHands[set];
+            while (referenced[base + hand]) {
+                referenced[base + hand] = false;
+                hand = (hand + 1) & (WAYS - 1);
+            }
+            store(base + hand, key, value);
+            clockHands[set] = (byte) ((hand + 1) & (WAYS - 1));
+            return true;
+        }
+
+        private void store(int way, long key, int value) {
+            keys[way] = key;
+            values[way] = value;
+            referenced[way] = false;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            Arrays.fill(referenced, false);
+        }
+    }
+}
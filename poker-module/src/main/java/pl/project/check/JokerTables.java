@@ -0,0 +1,143 @@
+package pl.project.check;
+
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator.Layouts;
+import pl.project.check.hand.HandStrength;
+
+
+/**
+ * Best substitution for the jokers of a 5-card hand. A joker stands for any card, even one already in the hand,
+ * so the best hand depends only on the ranks of the regular cards and on whether they are all of one suit.
+ * For every such pattern of 3 or 4 regular cards all substitutions are tried once and the best strength is kept
+ * in an open addressing table keyed by the multiplicity key of the regular cards (see
+ * {@link LookupTables#multiplicityKey(int[])}) - so a hand with jokers costs the same bit operations as
+ * {@link LookupEvaluator#rankClass(long)} and one probe of the table.
+ */
+final class JokerTables {
+
+    private static final int BITS = 13;
+    private static final int RANKS = Card.Rank.values().length;
+    private static final int HAND_SIZE = 5;
+    private static final int PLANE = CardSet.PLANE;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    // set in keys of regular cards of one suit and distinct ranks, which a joker can turn into a flush
+    private static final long SUITED = 1L << 63;
+
+    private final long[] keys = new long[1 << BITS];
+    private final int[] strengths = new int[1 << BITS];
+
+    private JokerTables() {
+    }
+
+    /**
+     * Tries every substitution of one and two jokers
+     * @return ready to use tables
+     */
+    static JokerTables build() {
+        JokerTables tables = new JokerTables();
+        for (int jokers = 1; jokers <= Card.JOKERS; jokers++) {
+            tables.addHands(new int[RANKS], 0, HAND_SIZE - jokers, jokers);
+        }
+        return tables;
+    }
+
+    /**
+     * Strength of the best hand the jokers can make
+     * @param mask {@link CardSet} mask of 5 cards, one or two of them jokers
+     * @return packed strength, see {@link HandStrength}
+     */
+    int strength(long mask) {
+        int a = (int) mask & PLANE;
+        int b = (int) (mask >>> 13) & PLANE;
+        int c = (int) (mask >>> 26) & PLANE;
+        int d = (int) (mask >>> 39) & PLANE;
+        int ranks = a | b | c | d;
+        int ab = a | b;
+        int cd = c | d;
+        int twice = (a & b) | (c & d) | (ab & cd);
+        int thrice = (a & b & cd) | (c & d & ab);
+        int fourTimes = a & b & c & d;
+        long key = ranks | (long) twice << 13 | (long) thrice << 26 | (long) fourTimes << 39;
+        if (twice == 0 && (a == ranks || b == ranks || c == ranks || d == ranks)) {
+            key |= SUITED;
+        }
+
+        int natural = Long.bitCount(mask & CardSet.FULL_DECK);
+        int jokers = Long.bitCount(mask & CardSet.JOKERS);
+        if (natural + jokers != HAND_SIZE || jokers == 0) {
+            throw new IllegalArgumentException("Hand must contain 5 cards with jokers: " + CardSet.toList(mask));
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return strengths[slot];
+    }
+
+    /**
+     * Enumerates multisets of regular cards in non-decreasing rank order
+     */
+    private void addHands(int[] counts, int from, int remaining, int jokers) {
+        if (remaining == 0) {
+            long key = LookupTables.multiplicityKey(counts);
+            put(key, best(counts, jokers, false));
+            if (key == (key & PLANE)) {
+                put(key | SUITED, best(counts, jokers, true));
+            }
+            return;
+        }
+        for (int rank = from; rank < RANKS; rank++) {
+            if (counts[rank] < Card.Suit.values().length) {
+                counts[rank]++;
+                addHands(counts, rank, remaining - 1, jokers);
+                counts[rank]--;
+            }
+        }
+    }
+
+    private static int best(int[] counts, int jokers, boolean suited) {
+        int best = Integer.MIN_VALUE;
+        for (int rank = 0; rank < RANKS; rank++) {
+            counts[rank]++;
+            if (jokers == 1) {
+                best = Math.max(best, evaluate(counts, suited));
+            } else {
+                best = Math.max(best, best(counts, jokers - 1, suited));
+            }
+            counts[rank]--;
+        }
+        return best;
+    }
+
+    private static int evaluate(int[] counts, boolean suited) {
+        int ranks = 0;
+        int most = 0;
+        for (int rank = 0; rank < RANKS; rank++) {
+            if (counts[rank] == HAND_SIZE) {
+                return HandStrength.of(Layouts.FIVE_OF_A_KIND, rank);
+            }
+            ranks |= counts[rank] > 0 ? 1 << rank : 0;
+            most = Math.max(most, counts[rank]);
+        }
+        if (most == 1) {
+            return LookupEvaluator.STRENGTH[suited ? LookupEvaluator.FLUSH[ranks] : LookupEvaluator.UNIQUE5[ranks]];
+        }
+        long key = LookupTables.multiplicityKey(counts);
+        return LookupEvaluator.STRENGTH[LookupEvaluator.PAIRED[
+                LookupTables.slot(key, LookupEvaluator.MULTIPLIER, LookupEvaluator.DISPLACEMENT)]];
+    }
+
+    private void put(long key, int strength) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        strengths[slot] = strength;
+    }
+
+    private static int slot(long key) {
+        return (int) ((key * GOLDEN) >>> (Long.SIZE - BITS));
+    }
+}
@@ -0,0 +1,203 @@
+package pl.project.check;
+
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import java.util.List;
+
+
+/**
+ * Table driven evaluator of 5-card hands. Every hand gets its exact strength class,
+ * from 1 (royal flush) to 7462 (7-5-4-3-2 off suit) - the lower the class, the stronger the hand.
+ * Evaluation does not sort, does not allocate and does not modify the given hand,
+ * tables are read only, so one instance can be used by any number of threads.
+ * <p>
+ * Hands are described by a {@link CardSet} mask, one bit per card.
+ * <p>
+ * Strength of a hand with jokers is the strength of the best hand they can stand for, read from {@link JokerTables}
+ * built on the first such hand. Strength classes describe only hands of regular cards.
+ */
+public final class LookupEvaluator implements StrengthEvaluator {
+
+    /**
+     * Number of distinct strength classes of 5-card hands.
+     */
+    public static final int CLASSES = 7462;
+
+    private static final int PLANE = CardSet.PLANE;
+
+    static final short[] FLUSH;
+    static final short[] UNIQUE5;
+    static final short[] PAIRED;
+    static final short[] DISPLACEMENT;
+    static final long MULTIPLIER;
+    static final int[] STRENGTH;
+
+    /**
+     * Joker tables are built only by games that deal jokers
+     */
+    private static final class Jokers {
+        static final JokerTables TABLES = JokerTables.build();
+    }
+
+    static {
+        LookupTables tables = LookupTables.load();
+        FLUSH = tables.flush;
+        UNIQUE5 = tables.unique5;
+        PAIRED = tables.paired;
+        DISPLACEMENT = tables.displacement;
+        MULTIPLIER = tables.multiplier;
+        STRENGTH = tables.strength;
+    }
+
+    /**
+     * Evaluates hand given as list of exactly 5 cards
+     * @param hand player's hand without jokers, it is not modified
+     * @return strength class, 1 for royal flush, 7462 for the weakest hand
+     */
+    public int rankClass(List<Card> hand) {
+        if (hand.size() != 5) {
+            throw new IllegalArgumentException("Hand must contain 5 cards, got " + hand.size());
+        }
+        return rankClass(CardSet.mask(hand));
+    }
+
+    /**
+     * Evaluates hand given as card mask
+     * @param mask {@link CardSet} mask with 5 bits set, without jokers
+     * @return strength class, 1 for royal flush, 7462 for the weakest hand
+     */
+    public int rankClass(long mask) {
+        int a = (int) mask & PLANE;
+        int b = (int) (mask >>> 13) & PLANE;
+        int c = (int) (mask >>> 26) & PLANE;
+        int d = (int) (mask >>> 39) & PLANE;
+        int ranks = a | b | c | d;
+
+        if (Integer.bitCount(ranks) == 5) {
+            if (a == ranks || b == ranks || c == ranks || d == ranks) {
+                return FLUSH[ranks];
+            }
+            return UNIQUE5[ranks];
+        }
+
+        int ab = a | b;
+        int cd = c | d;
+        int twice = (a & b) | (c & d) | (ab & cd);
+        int thrice = (a & b & cd) | (c & d & ab);
+        int fourTimes = a & b & c & d;
+        long key = ranks | (long) twice << 13 | (long) thrice << 26 | (long) fourTimes << 39;
+        return PAIRED[LookupTables.slot(key, MULTIPLIER, DISPLACEMENT)];
+    }
+
+    /**
+     * Evaluates hand from its running counts - the rank masks are already there, so this is only the table lookup
+     * @param state state of a hand of exactly 5 cards, without jokers
+     * @return strength class, 1 for royal flush, 7462 for the weakest hand
+     */
+    public int rankClass(HandState state) {
+        if (state.size() != 5 || state.jokerCount() != 0) {
+            throw new IllegalArgumentException("Hand must contain 5 cards without jokers, got " + state);
+        }
+        int ranks = state.getRankMask();
+        if (Integer.bitCount(ranks) == 5) {
+            return state.isFlush() ? FLUSH[ranks] : UNIQUE5[ranks];
+        }
+        long key = ranks | (long) state.ranksAtLeast(2) << 13 | (long) state.ranksAtLeast(3) << 26
+                | (long) state.ranksAtLeast(4) << 39;
+        return PAIRED[LookupTables.slot(key, MULTIPLIER, DISPLACEMENT)];
+    }
+
+    /**
+     * Evaluates hand from its running counts, see {@link #rankClass(HandState)}
+     * @param state state of a hand of exactly 5 cards
+     * @return packed strength, see {@link HandStrength}
+     */
+    public int strength(HandState state) {
+        if (state.jokerCount() != 0) {
+            return Jokers.TABLES.strength(state.getMask());
+        }
+        return STRENGTH[rankClass(state)];
+    }
+
+    /**
+     * Evaluates hand given as list of exactly 5 cards
+     * @param hand player's hand, it is not modified
+     * @return packed strength, see {@link HandStrength}
+     */
+    public int strength(List<Card> hand) {
+        if (hand.size() != 5) {
+            throw new IllegalArgumentException("Hand must contain 5 cards, got " + hand.size());
+        }
+        return strength(CardSet.mask(hand));
+    }
+
+    /**
+     * Evaluates hand given as card mask
+     * @param mask {@link CardSet} mask with 5 bits set, jokers included
+     * @return packed strength, see {@link HandStrength}
+     */
+    @Override
+    public int strength(long mask) {
+        if ((mask & CardSet.JOKERS) != 0) {
+            return Jokers.TABLES.strength(mask);
+        }
+        return STRENGTH[rankClass(mask)];
+    }
+
+    /**
+     * Packed strength of the strength class
+     * @param rankClass value in range 1..7462
+     * @return packed strength, see {@link HandStrength}
+     */
+    public static int strengthOfClass(int rankClass) {
+        return STRENGTH[rankClass];
+    }
+
+    /**
+     * Maps strength class to the layout it belongs to
+     * @param rankClass value in range 1..7462
+     * @return layout of cards
+     */
+    public static HandEvaluator.Layouts layout(int rankClass) {
+        if (rankClass == 1) return HandEvaluator.Layouts.ROYAL_FLUSH;
+        if (rankClass <= 10) return HandEvaluator.Layouts.STRAIGHT_FLUSH;
+        if (rankClass <= 166) return HandEvaluator.Layouts.FOUR_OF_A_KIND;
+        if (rankClass <= 322) return HandEvaluator.Layouts.FULL_HOUSE;
+        if (rankClass <= 1599) return HandEvaluator.Layouts.FLUSH;
+        if (rankClass <= 1609) return HandEvaluator.Layouts.STRAIGHT;
+        if (rankClass <= 2467) return HandEvaluator.Layouts.THREE_OF_A_KIND;
+        if (rankClass <= 3325) return HandEvaluator.Layouts.TWO_PAIRS;
+        if (rankClass <= 6185) return HandEvaluator.Layouts.PAIR;
+        return HandEvaluator.Layouts.HIGH_CARD;
+    }
+
+    /**
+     * Ranks of cards that form the layout, e.g. both ranks of two pairs or the highest rank of high card
+     * @param mask card mask of the hand
+     * @param layout layout of the hand
+     * @return 13-bit mask of ranks
+     */
+    public static int layoutRanks(long mask, HandEvaluator.Layouts layout) {
+        int a = (int) mask & PLANE;
+        int b = (int) (mask >>> 13) & PLANE;
+        int c = (int) (mask >>> 26) & PLANE;
+        int d = (int) (mask >>> 39) & PLANE;
+        switch (layout) {
+            case HIGH_CARD:
+                return Integer.highestOneBit(a | b | c | d);
+            case PAIR:
+            case TWO_PAIRS:
+                return (a & b) | (c & d) | ((a | b) & (c | d));
+            case THREE_OF_A_KIND:
+                return (a & b & (c | d)) | (c & d & (a | b));
+            case FOUR_OF_A_KIND:
+                return a & b & c & d;
+            default:
+                return PLANE;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pl.project.check;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+/**
+ * Build step writing the tables of {@link LookupEvaluator} as a resource, so they are read from the jar
+ * instead of being computed when the evaluator is first used. Run by Maven in the {@code process-classes} phase
+ * of {@code poker-module}.
+ */
+public final class LookupTableGenerator {
+
+    private LookupTableGenerator() {
+    }
+
+    /**
+     * Builds the tables and writes them to the given directory of classes
+     * @param args output directory of classes, {@code target/classes} when not given
+     * @throws IOException when file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path classes = Paths.get(args.length > 0 ? args[0] : "target/classes");
+        Path file = classes.resolve(LookupTableGenerator.class.getPackageName().replace('.', '/'))
+                .resolve(LookupTables.RESOURCE);
+        LookupTables.build().write(file);
+        System.out.println("Lookup tables written to " + file);
+    }
+}
@@ -0,0 +1,369 @@
+package pl.project.check;
+
+import pl.project.check.evaluators.HandEvaluator.Layouts;
+import pl.project.check.hand.HandStrength;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+
+/**
+ * Builds the precomputed tables used by {@link LookupEvaluator}.
+ * Every 5-card hand falls into one of 7462 strength classes, 1 being a royal flush
+ * and 7462 being 7-5-4-3-2 off suit. Hands with five distinct ranks are looked up by their
+ * 13-bit rank mask, hands with repeated ranks by a perfect hash of their rank multiplicities.
+ * <p>
+ * Searching the perfect hash takes a noticeable pause, so the build runs {@link LookupTableGenerator} once and packs
+ * the tables into the jar as the {@value #RESOURCE} resource - a 24-byte header (magic, version, number of classes,
+ * CRC32 of the payload and the hash multiplier) followed by the little-endian arrays. {@link #load()} reads it
+ * and builds the tables only when the resource is missing or damaged.
+ */
+final class LookupTables {
+
+    static final int RANK_MASK_SIZE = 1 << 13;
+    static final int HASH_BITS = 13;
+    static final int BUCKET_BITS = 10;
+
+    /**
+     * Name of the generated resource, relative to this package
+     */
+    static final String RESOURCE = "lookup-tables.bin";
+
+    private static final int MAGIC = 0x504B4C54; // "PKLT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int PAYLOAD_BYTES = 2 * (2 * RANK_MASK_SIZE + (1 << HASH_BITS) + (1 << BUCKET_BITS))
+            + 4 * (LookupEvaluator.CLASSES + 1);
+
+    /**
+     * Rank masks of all ten straights, from ace high down to the wheel (A-2-3-4-5).
+     */
+    static final int[] STRAIGHTS = {
+            0x1F00, 0x0F80, 0x07C0, 0x03E0, 0x01F0, 0x00F8, 0x007C, 0x003E, 0x001F, 0x100F
+    };
+
+    final short[] flush = new short[RANK_MASK_SIZE];
+    final short[] unique5 = new short[RANK_MASK_SIZE];
+    final short[] paired = new short[1 << HASH_BITS];
+    final short[] displacement = new short[1 << BUCKET_BITS];
+    final int[] strength = new int[LookupEvaluator.CLASSES + 1];
+    long multiplier;
+
+    private final List<Long> pairedKeys = new ArrayList<>();
+    private final List<Short> pairedClasses = new ArrayList<>();
+    private int nextClass = 1;
+
+    private LookupTables() {
+    }
+
+    /**
+     * Enumerates every strength class from the best to the worst and fills the tables.
+     * @return ready to use tables
+     */
+    static LookupTables build() {
+        LookupTables tables = new LookupTables();
+        tables.fillClasses();
+        tables.buildPerfectHash();
+        return tables;
+    }
+
+    /**
+     * Reads the tables generated at build time, builds them when the resource is missing or not valid
+     * @return ready to use tables
+     */
+    static LookupTables load() {
+        try (InputStream in = LookupTables.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                LookupTables tables = read(in.readAllBytes());
+                if (tables != null) {
+                    return tables;
+                }
+            }
+        } catch (IOException e) {
+            // unreadable resource is built like a missing one
+        }
+        return build();
+    }
+
+    /**
+     * Decodes tables written by {@link #write(Path)}
+     * @param bytes content of the file
+     * @return tables, {@code null} when the content is not valid
+     */
+    static LookupTables read(byte[] bytes) {
+        if (bytes.length != HEADER_BYTES + PAYLOAD_BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != LookupEvaluator.CLASSES) {
+            return null;
+        }
+        int checksum = buffer.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, PAYLOAD_BYTES);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        LookupTables tables = new LookupTables();
+        tables.multiplier = buffer.getLong();
+        ShortBuffer shorts = buffer.asShortBuffer();
+        shorts.get(tables.flush).get(tables.unique5).get(tables.paired).get(tables.displacement);
+        buffer.position(buffer.position() + Short.BYTES * shorts.position());
+        buffer.asIntBuffer().get(tables.strength);
+        return tables;
+    }
+
+    /**
+     * Writes the tables in the format read by {@link #read(byte[])}. Content goes to a temporary file
+     * which is then moved in place, so a partial file is never left behind.
+     * @param file path of the file
+     * @throws IOException when file cannot be written
+     */
+    void write(Path file) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (short[] table : Arrays.asList(flush, unique5, paired, displacement)) {
+            for (short value : table) {
+                payload.putShort(value);
+            }
+        }
+        for (int value : strength) {
+            payload.putInt(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + PAYLOAD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(LookupEvaluator.CLASSES).putInt((int) crc.getValue())
+                .putLong(multiplier).put(payload.array());
+        buffer.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "lookup-tables", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Key identifying a multiset of ranks - bit {@code r} of the n-th 13-bit group is set
+     * when rank {@code r} occurs at least n+1 times.
+     * @param counts number of cards of every rank
+     * @return 52-bit key
+     */
+    static long multiplicityKey(int[] counts) {
+        long key = 0;
+        for (int rank = 0; rank < counts.length; rank++) {
+            for (int n = 0; n < counts[rank]; n++) {
+                key |= 1L << (n * 13 + rank);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Slot of the key in the paired table
+     * @param key multiplicity key
+     * @param multiplier odd hash multiplier
+     * @param displacement per bucket displacement
+     * @return index in the paired table
+     */
+    static int slot(long key, long multiplier, short[] displacement) {
+        int h = (int) ((key * multiplier) >>> 32);
+        return (h & ((1 << HASH_BITS) - 1)) ^ displacement[h >>> (32 - BUCKET_BITS)];
+    }
+
+    private void fillClasses() {
+        for (int i = 0; i < STRAIGHTS.length; i++) {
+            Layouts layout = i == 0 ? Layouts.ROYAL_FLUSH : Layouts.STRAIGHT_FLUSH;
+            flush[STRAIGHTS[i]] = nextClass(HandStrength.of(layout, 12 - i));
+        }
+        for (int quad = 12; quad >= 0; quad--) {
+            for (int kicker = 12; kicker >= 0; kicker--) {
+                if (kicker != quad) {
+                    addPaired(HandStrength.of(Layouts.FOUR_OF_A_KIND, quad, kicker), quad, 4, kicker, 1);
+                }
+            }
+        }
+        for (int trips = 12; trips >= 0; trips--) {
+            for (int pair = 12; pair >= 0; pair--) {
+                if (pair != trips) {
+                    addPaired(HandStrength.of(Layouts.FULL_HOUSE, trips, pair), trips, 3, pair, 2);
+                }
+            }
+        }
+        for (int ranks = RANK_MASK_SIZE - 1; ranks > 0; ranks--) {
+            if (Integer.bitCount(ranks) == 5 && !isStraight(ranks)) {
+                flush[ranks] = nextClass(HandStrength.of(Layouts.FLUSH, descending(ranks)));
+            }
+        }
+        for (int i = 0; i < STRAIGHTS.length; i++) {
+            unique5[STRAIGHTS[i]] = nextClass(HandStrength.of(Layouts.STRAIGHT, 12 - i));
+        }
+        for (int trips = 12; trips >= 0; trips--) {
+            for (int first = 12; first >= 0; first--) {
+                for (int second = first - 1; second >= 0; second--) {
+                    if (first != trips && second != trips) {
+                        addPaired(HandStrength.of(Layouts.THREE_OF_A_KIND, trips, first, second),
+                                trips, 3, first, 1, second, 1);
+                    }
+                }
+            }
+        }
+        for (int high = 12; high >= 0; high--) {
+            for (int low = high - 1; low >= 0; low--) {
+                for (int kicker = 12; kicker >= 0; kicker--) {
+                    if (kicker != high && kicker != low) {
+                        addPaired(HandStrength.of(Layouts.TWO_PAIRS, high, low, kicker),
+                                high, 2, low, 2, kicker, 1);
+                    }
+                }
+            }
+        }
+        for (int pair = 12; pair >= 0; pair--) {
+            for (int first = 12; first >= 0; first--) {
+                for (int second = first - 1; second >= 0; second--) {
+                    for (int third = second - 1; third >= 0; third--) {
+                        if (first != pair && second != pair && third != pair) {
+                            addPaired(HandStrength.of(Layouts.PAIR, pair, first, second, third),
+                                    pair, 2, first, 1, second, 1, third, 1);
+                        }
+                    }
+                }
+            }
+        }
+        for (int ranks = RANK_MASK_SIZE - 1; ranks > 0; ranks--) {
+            if (Integer.bitCount(ranks) == 5 && !isStraight(ranks)) {
+                unique5[ranks] = nextClass(HandStrength.of(Layouts.HIGH_CARD, descending(ranks)));
+            }
+        }
+    }
+
+    private short nextClass(int handStrength) {
+        strength[nextClass] = handStrength;
+        return (short) nextClass++;
+    }
+
+    private void addPaired(int handStrength, int... rankAndCount) {
+        int[] counts = new int[13];
+        for (int i = 0; i < rankAndCount.length; i += 2) {
+            counts[rankAndCount[i]] = rankAndCount[i + 1];
+        }
+        pairedKeys.add(multiplicityKey(counts));
+        pairedClasses.add(nextClass(handStrength));
+    }
+
+    private static int[] descending(int ranks) {
+        int[] result = new int[Integer.bitCount(ranks)];
+        for (int i = 0; i < result.length; i++) {
+            int top = 31 - Integer.numberOfLeadingZeros(ranks);
+            result[i] = top;
+            ranks &= ~(1 << top);
+        }
+        return result;
+    }
+
+    private static boolean isStraight(int ranks) {
+        for (int straight : STRAIGHTS) {
+            if (straight == ranks) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hash and displace - buckets are placed from the largest one, each gets the first
+     * displacement under which all of its keys land in free slots. If two keys of one bucket
+     * share their low hash bits no displacement helps, so the next multiplier is tried.
+     */
+    private void buildPerfectHash() {
+        SplittableRandom random = new SplittableRandom(7462);
+        while (true) {
+            long candidate = random.nextLong() | 1L;
+            if (tryMultiplier(candidate)) {
+                multiplier = candidate;
+                return;
+            }
+        }
+    }
+
+    private boolean tryMultiplier(long candidate) {
+        int buckets = 1 << BUCKET_BITS;
+        int slotMask = (1 << HASH_BITS) - 1;
+        List<List<Integer>> bucketKeys = new ArrayList<>();
+        for (int i = 0; i < buckets; i++) {
+            bucketKeys.add(new ArrayList<>());
+        }
+        int[] hashes = new int[pairedKeys.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = (int) ((pairedKeys.get(i) * candidate) >>> 32);
+            bucketKeys.get(hashes[i] >>> (32 - BUCKET_BITS)).add(i);
+        }
+
+        Integer[] order = new Integer[buckets];
+        for (int i = 0; i < buckets; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> bucketKeys.get(y).size() - bucketKeys.get(x).size());
+
+        boolean[] used = new boolean[1 << HASH_BITS];
+        Arrays.fill(displacement, (short) 0);
+        Arrays.fill(paired, (short) 0);
+        for (int bucket : order) {
+            List<Integer> keys = bucketKeys.get(bucket);
+            if (keys.isEmpty()) {
+                break;
+            }
+            int found = -1;
+            for (int d = 0; d <= slotMask && found < 0; d++) {
+                if (fits(keys, hashes, d, used)) {
+                    found = d;
+                }
+            }
+            if (found < 0) {
+                return false;
+            }
+            displacement[bucket] = (short) found;
+            for (int key : keys) {
+                int slot = (hashes[key] & slotMask) ^ found;
+                used[slot] = true;
+                paired[slot] = pairedClasses.get(key);
+            }
+        }
+        return true;
+    }
+
+    private static boolean fits(List<Integer> keys, int[] hashes, int d, boolean[] used) {
+        int slotMask = (1 << HASH_BITS) - 1;
+        for (int i = 0; i < keys.size(); i++) {
+            int slot = (hashes[keys.get(i)] & slotMask) ^ d;
+            if (used[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (slot == ((hashes[keys.get(j)] & slotMask) ^ d)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
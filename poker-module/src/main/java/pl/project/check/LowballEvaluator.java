@@ -0,0 +1,217 @@
+package pl.project.check;
+
+import pl.project.Game;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
+import pl.project.check.evaluators.HandEvaluator.Layouts;
+import pl.project.check.hand.HandStrength;
+
+import java.util.List;
+
+
+/**
+ * Table driven evaluator of 5-card lowball hands, see {@link Game.Variant}. The strength class found by
+ * {@link LookupEvaluator} already tells the ranks of the hand and whether it is suited, which is all lowball needs -
+ * so the hand is evaluated by the same lookups followed by one more load, from a table that maps every high class
+ * to its lowball strength:
+ * <ul>
+ *     <li>deuce-to-seven keeps high-hand order reversed, only the wheel (A-2-3-4-5) is not a straight
+ *     but ace high - a high card, or a flush when suited;</li>
+ *     <li>ace-to-five ignores suits and straights and counts the ace below the two, so a hand is ranked only
+ *     by its pairs and then by its highest cards.</li>
+ * </ul>
+ * Lowball strength is a {@link HandStrength} with the layout and every rank field inverted, so the greater value
+ * is still the better hand and showdowns are decided by the same integer compare. The layout is decoded
+ * by {@link #layoutOf(int)}. Tables are read only, instances can be shared by any number of threads.
+ * Lowball is played without jokers, hands with jokers are rejected.
+ */
+public final class LowballEvaluator implements StrengthEvaluator {
+
+    private static final Layouts[] LAYOUTS = Layouts.values();
+    private static final int LAYOUT_SHIFT = 20;
+    private static final int RANK_FIELDS = (1 << LAYOUT_SHIFT) - 1;
+    private static final int RANKS = Card.Rank.values().length;
+    private static final int ACE = Card.Rank.ACE.ordinal();
+    private static final int FIVE = Card.Rank.FIVE.ordinal();
+
+    private static final LookupEvaluator HIGH = new LookupEvaluator();
+    private static final LowballEvaluator DEUCE_TO_SEVEN = new LowballEvaluator(Game.Variant.DEUCE_TO_SEVEN);
+    private static final LowballEvaluator ACE_TO_FIVE = new LowballEvaluator(Game.Variant.ACE_TO_FIVE);
+
+    private final Game.Variant variant;
+    // lowball strength of every high strength class
+    private final int[] strength = new int[LookupEvaluator.CLASSES + 1];
+
+    private LowballEvaluator(Game.Variant variant) {
+        this.variant = variant;
+        for (int rankClass = 1; rankClass <= LookupEvaluator.CLASSES; rankClass++) {
+            int high = LookupEvaluator.strengthOfClass(rankClass);
+            strength[rankClass] = variant == Game.Variant.DEUCE_TO_SEVEN ? deuceToSeven(high) : aceToFive(high);
+        }
+    }
+
+    /**
+     * Evaluator of the lowball variant
+     * @param variant {@link Game.Variant#DEUCE_TO_SEVEN} or {@link Game.Variant#ACE_TO_FIVE}
+     * @return shared evaluator
+     */
+    public static LowballEvaluator of(Game.Variant variant) {
+        switch (variant) {
+            case DEUCE_TO_SEVEN:
+                return DEUCE_TO_SEVEN;
+            case ACE_TO_FIVE:
+                return ACE_TO_FIVE;
+            default:
+                throw new IllegalArgumentException("Not a lowball variant: " + variant);
+        }
+    }
+
+    public Game.Variant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Evaluates hand given as card mask
+     * @param mask {@link CardSet} mask with 5 bits set, without jokers
+     * @return lowball strength, the greater value is the lower hand
+     */
+    @Override
+    public int strength(long mask) {
+        if ((mask & ~CardSet.FULL_DECK) != 0) {
+            throw new IllegalArgumentException("Lowball hand must not contain jokers, got " + CardSet.toList(mask));
+        }
+        return strength[HIGH.rankClass(mask)];
+    }
+
+    /**
+     * Evaluates hand from its running counts, see {@link LookupEvaluator#rankClass(HandState)}
+     * @param state state of a hand of exactly 5 cards
+     * @return lowball strength, the greater value is the lower hand
+     */
+    public int strength(HandState state) {
+        return strength[HIGH.rankClass(state)];
+    }
+
+    /**
+     * Evaluates hand given as list of exactly 5 cards
+     * @param hand player's hand without jokers, it is not modified
+     * @return lowball strength, the greater value is the lower hand
+     */
+    public int strength(List<Card> hand) {
+        if (hand.size() != 5) {
+            throw new IllegalArgumentException("Hand must contain 5 cards, got " + hand.size());
+        }
+        return strength(CardSet.mask(hand));
+    }
+
+    /**
+     * Lowball strength of the hands of a strength class of {@link LookupEvaluator}
+     * @param rankClass value in range 1..7462
+     * @return lowball strength, the greater value is the lower hand
+     */
+    public int strengthOfClass(int rankClass) {
+        return strength[rankClass];
+    }
+
+    /**
+     * Layout of a lowball strength - for ace-to-five only pairs count, so it is never a straight or a flush
+     * @param strength lowball strength
+     * @return layout of the hand
+     */
+    @Override
+    public Layouts layoutOf(int strength) {
+        return LAYOUTS[LAYOUTS.length - 1 - (strength >>> LAYOUT_SHIFT)];
+    }
+
+    /**
+     * Reverses the order of packed strengths, keeping the layout recoverable
+     * @param strength packed strength, see {@link HandStrength}
+     * @return inverted strength
+     */
+    static int invert(int strength) {
+        return (LAYOUTS.length - 1 - (strength >>> LAYOUT_SHIFT)) << LAYOUT_SHIFT | (~strength & RANK_FIELDS);
+    }
+
+    private static int deuceToSeven(int high) {
+        Layouts layout = HandStrength.layout(high);
+        if ((layout == Layouts.STRAIGHT || layout == Layouts.STRAIGHT_FLUSH) && HandStrength.rank(high, 0) == FIVE) {
+            // the wheel is ace high
+            high = HandStrength.of(layout == Layouts.STRAIGHT ? Layouts.HIGH_CARD : Layouts.FLUSH, ACE, 3, 2, 1, 0);
+        }
+        return invert(high);
+    }
+
+    private static int aceToFive(int high) {
+        int[] counts = new int[RANKS];
+        int[] ranks = rankCounts(high);
+        for (int rank = 0; rank < RANKS; rank++) {
+            // ace is the lowest card
+            counts[(rank + 1) % RANKS] = ranks[rank];
+        }
+
+        int pairs = 0;
+        int most = 0;
+        for (int count : counts) {
+            pairs += count == 2 ? 1 : 0;
+            most = Math.max(most, count);
+        }
+        Layouts layout;
+        if (most == 4) {
+            layout = Layouts.FOUR_OF_A_KIND;
+        } else if (most == 3) {
+            layout = pairs > 0 ? Layouts.FULL_HOUSE : Layouts.THREE_OF_A_KIND;
+        } else {
+            layout = pairs == 2 ? Layouts.TWO_PAIRS : pairs == 1 ? Layouts.PAIR : Layouts.HIGH_CARD;
+        }
+
+        int[] order = new int[HandStrength.rankCount(layout)];
+        int field = 0;
+        for (int count = most; count > 0; count--) {
+            for (int rank = RANKS - 1; rank >= 0; rank--) {
+                if (counts[rank] == count) {
+                    order[field++] = rank;
+                }
+            }
+        }
+        return invert(HandStrength.of(layout, order));
+    }
+
+    /**
+     * Number of cards of every rank in hands of the high strength
+     */
+    private static int[] rankCounts(int high) {
+        int[] counts = new int[RANKS];
+        Layouts layout = HandStrength.layout(high);
+        if (layout == Layouts.STRAIGHT || layout == Layouts.STRAIGHT_FLUSH || layout == Layouts.ROYAL_FLUSH) {
+            int top = HandStrength.rank(high, 0);
+            for (int i = 0; i < 5; i++) {
+                // below the two of the wheel comes the ace
+                counts[(top - i + RANKS) % RANKS]++;
+            }
+            return counts;
+        }
+        int[] multiplicities = multiplicities(layout);
+        for (int i = 0; i < multiplicities.length; i++) {
+            counts[HandStrength.rank(high, i)] = multiplicities[i];
+        }
+        return counts;
+    }
+
+    private static int[] multiplicities(Layouts layout) {
+        switch (layout) {
+            case PAIR:
+                return new int[]{2, 1, 1, 1};
+            case TWO_PAIRS:
+                return new int[]{2, 2, 1};
+            case THREE_OF_A_KIND:
+                return new int[]{3, 1, 1};
+            case FULL_HOUSE:
+                return new int[]{3, 2};
+            case FOUR_OF_A_KIND:
+                return new int[]{4, 1};
+            default:
+                return new int[]{1, 1, 1, 1, 1};
+        }
+    }
+}
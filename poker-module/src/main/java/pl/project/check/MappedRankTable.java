@@ -0,0 +1,208 @@
+package pl.project.check;
+
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandIndex;
+import pl.project.check.hand.HandStrength;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+
+/**
+ * Strength of every 5-card hand kept in a file and mapped into memory, so evaluation is one
+ * index computation and one load. Processes on one host mapping the same file share its pages
+ * instead of each building tables on its own heap.
+ * <p>
+ * The file holds a 16-byte header (magic, version, number of hands and CRC32 of the payload) followed by
+ * one {@code int} packed strength (see {@link HandStrength}) per hand, at the colex index of the hand
+ * (see {@link HandIndex#rank(long)}). A missing or damaged file is written again by {@link #open(Path)},
+ * so the first run creates it. The default file lives in the home directory of the user, so other users
+ * cannot replace the table.
+ * <p>
+ * With system property {@code poker.mappedRankTable=true} the {@link #shared()} table decides showdowns
+ * of high hands, see {@link StrengthEvaluator#forVariant} - it is mapped when the server loads its commands.
+ */
+public final class MappedRankTable implements StrengthEvaluator {
+
+    /**
+     * Number of 5-card hands
+     */
+    public static final int HANDS = HandIndex.HANDS;
+
+    /**
+     * Path of the file used by {@link #open()}, can be changed by system property {@code poker.rankTable}
+     */
+    public static final String PATH_PROPERTY = "poker.rankTable";
+
+    /**
+     * System property choosing the mapped table as the evaluator of high hands
+     */
+    public static final String ENABLED_PROPERTY = "poker.mappedRankTable";
+
+    private static final int MAGIC = 0x504B5235; // "PKR5"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final long FILE_BYTES = HEADER_BYTES + 4L * HANDS;
+
+    private final MappedByteBuffer table;
+
+    private MappedRankTable(MappedByteBuffer table) {
+        this.table = table;
+    }
+
+    /**
+     * Table shared by the whole process, mapped from the default path on first use
+     */
+    private static final class Shared {
+        static final MappedRankTable INSTANCE = open();
+    }
+
+    /**
+     * @return {@code true} when system property {@code poker.mappedRankTable} is {@code true}
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Table mapped from the default path, the same instance for every caller
+     * @return mapped table
+     */
+    public static MappedRankTable shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Maps table from the default path - {@code poker.rankTable} property or {@code .poker/rank-table.bin}
+     * in the home directory of the user
+     * @return mapped table
+     */
+    public static MappedRankTable open() {
+        return open(defaultPath());
+    }
+
+    /**
+     * Maps table from the file, writing the file first if it is missing or not valid
+     * @param file path of the table
+     * @return mapped table
+     */
+    public static MappedRankTable open(Path file) {
+        try {
+            if (!isValid(file)) {
+                write(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_BYTES);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                return new MappedRankTable(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map rank table " + file, e);
+        }
+    }
+
+    /**
+     * Writes the table computed by {@link LookupEvaluator}. Content goes to a temporary file
+     * which is then moved in place, so other processes never see a partial table, and the temporary
+     * file is removed when writing fails.
+     * @param file path of the table
+     * @throws IOException when file cannot be written
+     */
+    public static void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) FILE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_BYTES);
+        LookupEvaluator evaluator = new LookupEvaluator();
+        for (int c4 = 4; c4 < Card.COUNT; c4++)
+            for (int c3 = 3; c3 < c4; c3++)
+                for (int c2 = 2; c2 < c3; c2++)
+                    for (int c1 = 1; c1 < c2; c1++)
+                        for (int c0 = 0; c0 < c1; c0++) {
+                            long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            buffer.putInt(evaluator.strength(mask));
+                        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, (int) FILE_BYTES - HEADER_BYTES);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, HANDS).putInt(12, (int) crc.getValue());
+        buffer.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "poker-rank-table", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static Path defaultPath() {
+        String path = System.getProperty(PATH_PROPERTY);
+        return path != null ? Paths.get(path) : Paths.get(System.getProperty("user.home"), ".poker", "rank-table.bin");
+    }
+
+    /**
+     * Checks the header and the CRC32 of the whole payload, so a truncated or changed table is written again
+     */
+    private static boolean isValid(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != FILE_BYTES) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read whole header
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != HANDS) {
+                return false;
+            }
+            int checksum = header.getInt();
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 16);
+            while (channel.read(chunk) >= 0) {
+                chunk.flip();
+                crc.update(chunk);
+                chunk.clear();
+            }
+            return (int) crc.getValue() == checksum;
+        }
+    }
+
+    /**
+     * Evaluates hand given as card mask
+     * @param mask {@link CardSet} mask with 5 bits set
+     * @return packed strength, see {@link HandStrength}
+     */
+    @Override
+    public int strength(long mask) {
+        return table.getInt(HEADER_BYTES + 4 * HandIndex.rank(mask));
+    }
+
+    /**
+     * Writes the table to the path given as the first argument, or to the default path
+     * @param args optional path of the table
+     * @throws IOException when file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : defaultPath();
+        write(file);
+        System.out.println("Rank table written to " + file);
+    }
+}
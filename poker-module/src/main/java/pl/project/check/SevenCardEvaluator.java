@@ -0,0 +1,373 @@
+package pl.project.check;
+
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.hand.HandStrength;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * Evaluator of the best 5-card hand out of 5, 6 or 7 cards, e.g. two hole cards and the board of Hold'em.
+ * Strength is the packed strength of {@link LookupEvaluator}, so hands of both evaluators compare directly.
+ * <p>
+ * Without a flush the strength depends only on the ranks. A flush is found from the suit planes of the mask -
+ * 5 or more cards of one suit cannot hold quads or a full house, so the best hand is then the best flush
+ * or straight flush of that suit, read from a table indexed by its 13-bit rank mask.
+ * <p>
+ * {@link #strength(long)} sums a per-plane key of every suit - the count of every rank as a base 5 digit,
+ * so suits fold into one number of the rank multiset - and reads the strength from a perfect hash of
+ * the multisets of 5 to 7 ranks. It takes four independent loads of plane keys, then the displacement
+ * of the hash and the strength, instead of a chain of one dependent load per card.
+ * <p>
+ * {@link #walk(int, int)} walks hands card by card through a state machine over multisets of ranks: every
+ * state has one transition per rank and the next state is one table load per card. States of 5 to 7 ranks
+ * also hold the strength of the best hand of those ranks. An enumeration shares the states of common cards,
+ * so every hand costs one transition. Tables take about 5.5 MB and are built when the class is first used.
+ * They are read only, so one instance can be used by any number of threads.
+ */
+public final class SevenCardEvaluator implements StrengthEvaluator {
+
+    /**
+     * State of a hand without cards
+     */
+    public static final int START = 0;
+
+    /**
+     * Largest number of cards in a hand
+     */
+    public static final int MAX_CARDS = 7;
+
+    private static final int MIN_CARDS = 5;
+    private static final int RANKS = Card.Rank.values().length;
+    // ranks are the first 13 entries of a state, the strength follows
+    private static final int STRIDE = 16;
+    private static final int VALUE = RANKS;
+    private static final int COUNT_BITS = 3;
+    private static final int PLANE = CardSet.PLANE;
+    // multisets of at most 7 ranks with every rank at most 4 times
+    private static final int STATES = 76_155;
+    private static final int DIGIT = 5;
+    private static final int HASH_BITS = 17;
+    private static final int BUCKET_BITS = 14;
+
+    private static final int[] NEXT;
+    private static final int[] FLUSH = new int[LookupTables.RANK_MASK_SIZE];
+    // base 5 key of the ranks of a plane, the sum over the planes of a hand is the key of its rank multiset
+    private static final int[] PLANE_KEY = new int[LookupTables.RANK_MASK_SIZE];
+    private static final int[] RANK_STRENGTH = new int[1 << HASH_BITS];
+    private static final int[] DISPLACEMENT = new int[1 << BUCKET_BITS];
+    private static final long MULTIPLIER;
+
+    static {
+        long[] states = new long[STATES];
+        NEXT = buildStates(states);
+        for (int ranks = 0; ranks < FLUSH.length; ranks++) {
+            if (Integer.bitCount(ranks) >= MIN_CARDS) {
+                FLUSH[ranks] = bestFlush(ranks);
+            }
+            int key = 0;
+            for (int rank = RANKS - 1; rank >= 0; rank--) {
+                key = key * DIGIT + (ranks >>> rank & 1);
+            }
+            PLANE_KEY[ranks] = key;
+        }
+        MULTIPLIER = buildRankHash(states);
+    }
+
+    /**
+     * Evaluates the best 5 cards of the hand
+     * @param mask {@link CardSet} mask with 5 to 7 bits set, without jokers
+     * @return packed strength, see {@link HandStrength}
+     */
+    @Override
+    public int strength(long mask) {
+        int a = (int) mask & PLANE;
+        int b = (int) (mask >>> 13) & PLANE;
+        int c = (int) (mask >>> 26) & PLANE;
+        int d = (int) (mask >>> 39) & PLANE;
+        int cards = Long.bitCount(mask);
+        if (cards < MIN_CARDS || cards > MAX_CARDS || (mask & ~CardSet.FULL_DECK) != 0) {
+            throw new IllegalArgumentException("Hand must contain 5 to 7 cards without jokers, got " + CardSet.toList(mask));
+        }
+
+        if (Integer.bitCount(a) >= MIN_CARDS) return FLUSH[a];
+        if (Integer.bitCount(b) >= MIN_CARDS) return FLUSH[b];
+        if (Integer.bitCount(c) >= MIN_CARDS) return FLUSH[c];
+        if (Integer.bitCount(d) >= MIN_CARDS) return FLUSH[d];
+        return RANK_STRENGTH[slot(PLANE_KEY[a] + PLANE_KEY[b] + PLANE_KEY[c] + PLANE_KEY[d], MULTIPLIER)];
+    }
+
+    /**
+     * Adds one card to the walked hand
+     * @param state state of the hand so far, {@link #START} for no cards
+     * @param card id of the added card
+     * @return state of the hand with the card
+     */
+    public int walk(int state, int card) {
+        return NEXT[state + Card.rankOf(card)];
+    }
+
+    /**
+     * Strength of a walked hand
+     * @param state state reached by {@link #walk(int, int)} over the cards of the mask
+     * @param mask {@link CardSet} mask of the same 5 to 7 cards
+     * @return packed strength, see {@link HandStrength}
+     */
+    public int strength(int state, long mask) {
+        return value(state, (int) mask & PLANE, (int) (mask >>> 13) & PLANE, (int) (mask >>> 26) & PLANE,
+                (int) (mask >>> 39) & PLANE);
+    }
+
+    private static int value(int state, int a, int b, int c, int d) {
+        if (Integer.bitCount(a) >= MIN_CARDS) return FLUSH[a];
+        if (Integer.bitCount(b) >= MIN_CARDS) return FLUSH[b];
+        if (Integer.bitCount(c) >= MIN_CARDS) return FLUSH[c];
+        if (Integer.bitCount(d) >= MIN_CARDS) return FLUSH[d];
+        return NEXT[state + VALUE];
+    }
+
+    /**
+     * Numbers every multiset of at most 7 ranks, each rank at most 4 times, in breadth first order
+     * and fills the transitions. A state is stored as its offset in the table.
+     * @param states receives rank counts of every state
+     */
+    private static int[] buildStates(long[] states) {
+        StateIndex index = new StateIndex();
+        int count = 1;
+        for (int i = 0; i < count; i++) {
+            long counts = states[i];
+            if (size(counts) == MAX_CARDS) {
+                continue;
+            }
+            for (int rank = 0; rank < RANKS; rank++) {
+                if (count(counts, rank) < Card.Suit.values().length) {
+                    long next = counts + (1L << (rank * COUNT_BITS));
+                    if (index.get(next) < 0) {
+                        index.put(next, count);
+                        states[count++] = next;
+                    }
+                }
+            }
+        }
+
+        int[] next = new int[count * STRIDE];
+        for (int i = 0; i < count; i++) {
+            long counts = states[i];
+            int size = size(counts);
+            for (int rank = 0; rank < RANKS && size < MAX_CARDS; rank++) {
+                int child = index.get(counts + (1L << (rank * COUNT_BITS)));
+                if (child >= 0) {
+                    next[i * STRIDE + rank] = child * STRIDE;
+                }
+            }
+            if (size == MIN_CARDS) {
+                next[i * STRIDE + VALUE] = strengthOfRanks(counts);
+            } else if (size > MIN_CARDS) {
+                // states are in breadth first order, so every hand with one card less already has its value
+                int best = Integer.MIN_VALUE;
+                for (int rank = 0; rank < RANKS; rank++) {
+                    if (count(counts, rank) > 0) {
+                        int smaller = index.get(counts - (1L << (rank * COUNT_BITS)));
+                        best = Math.max(best, next[smaller * STRIDE + VALUE]);
+                    }
+                }
+                next[i * STRIDE + VALUE] = best;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Fills the perfect hash from base 5 keys of rank multisets of 5 to 7 ranks to their strength.
+     * Keys fall into buckets by the high bits of their hash and every bucket, largest first, gets the first
+     * displacement under which all of its keys land in free slots, as in {@link LookupTables}. If two keys
+     * of one bucket share their low hash bits no displacement helps, so the next multiplier is tried.
+     * @param states rank counts of every state of the state machine
+     * @return multiplier of the hash
+     */
+    private static long buildRankHash(long[] states) {
+        int keys = 0;
+        int[] key = new int[STATES];
+        int[] strength = new int[STATES];
+        for (int i = 0; i < STATES; i++) {
+            if (size(states[i]) >= MIN_CARDS) {
+                int digits = 0;
+                for (int rank = RANKS - 1; rank >= 0; rank--) {
+                    digits = digits * DIGIT + count(states[i], rank);
+                }
+                key[keys] = digits;
+                strength[keys++] = NEXT[i * STRIDE + VALUE];
+            }
+        }
+
+        // fixed seed, so every run builds the same hash
+        SplittableRandom random = new SplittableRandom(1);
+        int[] slots = new int[keys];
+        while (true) {
+            long multiplier = random.nextLong() | 1;
+            if (placeKeys(key, keys, multiplier, slots)) {
+                for (int i = 0; i < keys; i++) {
+                    RANK_STRENGTH[slots[i]] = strength[i];
+                }
+                return multiplier;
+            }
+        }
+    }
+
+    private static boolean placeKeys(int[] key, int keys, long multiplier, int[] slots) {
+        int[] bucketSize = new int[1 << BUCKET_BITS];
+        for (int i = 0; i < keys; i++) {
+            bucketSize[bucket(key[i], multiplier)]++;
+        }
+        // keys grouped by bucket, buckets in order of decreasing size
+        int[] start = new int[(1 << BUCKET_BITS) + 1];
+        for (int bucket = 0; bucket < bucketSize.length; bucket++) {
+            start[bucket + 1] = start[bucket] + bucketSize[bucket];
+        }
+        int[] grouped = new int[keys];
+        int[] fill = Arrays.copyOf(start, bucketSize.length);
+        for (int i = 0; i < keys; i++) {
+            grouped[fill[bucket(key[i], multiplier)]++] = i;
+        }
+        Integer[] order = new Integer[bucketSize.length];
+        for (int bucket = 0; bucket < order.length; bucket++) {
+            order[bucket] = bucket;
+        }
+        Arrays.sort(order, (x, y) -> bucketSize[y] - bucketSize[x]);
+
+        boolean[] used = new boolean[1 << HASH_BITS];
+        Arrays.fill(DISPLACEMENT, 0);
+        for (int bucket : order) {
+            if (bucketSize[bucket] == 0) {
+                break;
+            }
+            for (int k = start[bucket]; k < start[bucket + 1]; k++) {
+                for (int j = start[bucket]; j < k; j++) {
+                    if (low(key[grouped[j]], multiplier) == low(key[grouped[k]], multiplier)) {
+                        return false;
+                    }
+                }
+            }
+            int d = 0;
+            while (d < used.length && !fits(key, grouped, start[bucket], start[bucket + 1], multiplier, d, used)) {
+                d++;
+            }
+            if (d == used.length) {
+                return false;
+            }
+            DISPLACEMENT[bucket] = d;
+            for (int k = start[bucket]; k < start[bucket + 1]; k++) {
+                int slot = low(key[grouped[k]], multiplier) ^ d;
+                used[slot] = true;
+                slots[grouped[k]] = slot;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fits(int[] key, int[] grouped, int from, int to, long multiplier, int d, boolean[] used) {
+        for (int k = from; k < to; k++) {
+            if (used[low(key[grouped[k]], multiplier) ^ d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slot(int key, long multiplier) {
+        return low(key, multiplier) ^ DISPLACEMENT[bucket(key, multiplier)];
+    }
+
+    private static int bucket(int key, long multiplier) {
+        return (int) ((key * multiplier) >>> (Long.SIZE - BUCKET_BITS));
+    }
+
+    private static int low(int key, long multiplier) {
+        return (int) ((key * multiplier) >>> Integer.SIZE) & ((1 << HASH_BITS) - 1);
+    }
+
+    /**
+     * Strength of 5 cards of the ranks, flushes aside
+     */
+    private static int strengthOfRanks(long counts) {
+        int[] rankCounts = new int[RANKS];
+        int ranks = 0;
+        for (int rank = 0; rank < RANKS; rank++) {
+            rankCounts[rank] = count(counts, rank);
+            ranks |= rankCounts[rank] > 0 ? 1 << rank : 0;
+        }
+        if (Integer.bitCount(ranks) == MIN_CARDS) {
+            return LookupEvaluator.STRENGTH[LookupEvaluator.UNIQUE5[ranks]];
+        }
+        long key = LookupTables.multiplicityKey(rankCounts);
+        return LookupEvaluator.STRENGTH[LookupEvaluator.PAIRED[
+                LookupTables.slot(key, LookupEvaluator.MULTIPLIER, LookupEvaluator.DISPLACEMENT)]];
+    }
+
+    /**
+     * Best flush or straight flush of 5 or more cards of one suit
+     */
+    private static int bestFlush(int ranks) {
+        for (int straight : LookupTables.STRAIGHTS) {
+            if ((ranks & straight) == straight) {
+                return LookupEvaluator.STRENGTH[LookupEvaluator.FLUSH[straight]];
+            }
+        }
+        while (Integer.bitCount(ranks) > MIN_CARDS) {
+            ranks &= ranks - 1;
+        }
+        return LookupEvaluator.STRENGTH[LookupEvaluator.FLUSH[ranks]];
+    }
+
+    /**
+     * Open addressing map from packed rank counts to the number of the state
+     */
+    private static final class StateIndex {
+        private static final int BITS = 18;
+        private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+        private final long[] keys = new long[1 << BITS];
+        private final int[] values = new int[1 << BITS];
+
+        StateIndex() {
+            Arrays.fill(keys, -1);
+            put(0, 0);
+        }
+
+        int get(long key) {
+            for (int slot = slot(key); keys[slot] != -1; slot = (slot + 1) & (keys.length - 1)) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            int slot = slot(key);
+            while (keys[slot] != -1) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int slot(long key) {
+            return (int) ((key * GOLDEN) >>> (Long.SIZE - BITS));
+        }
+    }
+
+    private static int count(long counts, int rank) {
+        return (int) (counts >>> (rank * COUNT_BITS)) & ((1 << COUNT_BITS) - 1);
+    }
+
+    private static int size(long counts) {
+        int size = 0;
+        for (int rank = 0; rank < RANKS; rank++) {
+            size += count(counts, rank);
+        }
+        return size;
+    }
+}
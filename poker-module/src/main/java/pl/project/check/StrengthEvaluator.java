@@ -0,0 +1,43 @@
+package pl.project.check;
+
+import pl.project.Game;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+
+/**
+ * Evaluator that turns a hand into its packed strength. Implementations keep no per-call state,
+ * so a single instance can be shared by all game threads without locking.
+ */
+public interface StrengthEvaluator {
+
+    /**
+     * Evaluates the hand
+     * @param handMask {@link CardSet} mask of the hand
+     * @return packed strength, the greater value is the better hand - see {@link HandStrength}
+     */
+    int strength(long handMask);
+
+    /**
+     * Layout encoded in a strength returned by this evaluator
+     * @param strength packed strength
+     * @return layout of the hand
+     */
+    default HandEvaluator.Layouts layoutOf(int strength) {
+        return HandStrength.layout(strength);
+    }
+
+    /**
+     * Evaluator deciding showdowns of the variant
+     * @param variant rules of the game
+     * @return {@link LookupEvaluator} for high hands, or the shared {@link MappedRankTable} when
+     * {@link MappedRankTable#isEnabled()}, {@link LowballEvaluator} for lowball
+     */
+    static StrengthEvaluator forVariant(Game.Variant variant) {
+        if (variant != Game.Variant.HIGH) {
+            return LowballEvaluator.of(variant);
+        }
+        return MappedRankTable.isEnabled() ? MappedRankTable.shared() : new LookupEvaluator();
+    }
+}
@@ -0,0 +1,278 @@
+package pl.project.check.draw;
+
+import pl.project.Game;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandIndex;
+import pl.project.check.LookupEvaluator;
+
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Chooses the cards to exchange in 5-card draw: of the 32 sets of cards that can be discarded,
+ * the one with the greatest expected score after the draw, where the score of a hand is the number
+ * of rank classes it beats or ties - 1 for the worst high card up to {@link LookupEvaluator#CLASSES} for a royal flush.
+ * An advisor of a lowball {@link Game.Variant} scores hands in the lowball order instead, so it draws to the low hand.
+ * <p>
+ * Expectations are exact - every draw is accounted for, by inclusion-exclusion over {@link StrengthSums}
+ * or, when the deck is so small that it needs more terms, by evaluating every draw. When the unseen cards
+ * are all 47 cards outside the hand, the advice depends only on the hand up to suit permutation and is remembered
+ * for every canonical hand, so it costs a few microseconds the first time and a lookup afterwards. Ties are broken in favour of
+ * fewer discarded cards. Instances are safe to use from many threads.
+ */
+public final class DiscardAdvisor {
+
+    /**
+     * Number of cards in a hand
+     */
+    public static final int HAND_SIZE = 5;
+
+    private static final int LIMITS = HAND_SIZE + 1;
+
+    private final StrengthSums sums;
+    // best discard + 1 of every canonical hand for every limit of discarded cards, 0 when not computed yet;
+    // racing threads compute the same values, so plain writes are enough
+    private final byte[] advice = new byte[HandIndex.CANONICAL_HANDS * LIMITS];
+
+    /**
+     * Advisor of high hands, builds sums on the common pool, which takes about a second per core
+     */
+    public DiscardAdvisor() {
+        this(Game.Variant.HIGH);
+    }
+
+    /**
+     * Builds sums on the common pool, which takes about a second per core
+     * @param variant variant ordering the hands
+     */
+    public DiscardAdvisor(Game.Variant variant) {
+        this(variant, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool building the sums of high hands
+     */
+    public DiscardAdvisor(ForkJoinPool pool) {
+        this(Game.Variant.HIGH, pool);
+    }
+
+    /**
+     * @param variant variant ordering the hands
+     * @param pool pool building the sums
+     */
+    public DiscardAdvisor(Game.Variant variant, ForkJoinPool pool) {
+        this.sums = StrengthSums.build(pool, variant);
+    }
+
+    /**
+     * Best cards to discard when any number of them can be exchanged
+     * @param hand {@link CardSet} mask of 5 cards
+     * @return mask of cards of the hand to discard, 0 to stand pat
+     */
+    public long advise(long hand) {
+        return advise(hand, HAND_SIZE);
+    }
+
+    /**
+     * Best cards to discard when the replacements are drawn from the 47 cards not in the hand
+     * @param hand {@link CardSet} mask of 5 cards
+     * @param maxDiscards largest number of cards that can be exchanged
+     * @return mask of at most {@code maxDiscards} cards of the hand to discard, 0 to stand pat
+     */
+    public long advise(long hand, int maxDiscards) {
+        checkHand(hand);
+        int limit = limit(maxDiscards);
+        int[] permutation = new int[4];
+        long canonical = HandIndex.canonical(hand, permutation);
+        int offset = HandIndex.canonicalIndex(canonical) * LIMITS;
+        if (advice[offset + limit] == 0) {
+            remember(canonical, offset);
+        }
+        long discarded = select(cards(canonical), advice[offset + limit] - 1);
+
+        int[] inverse = new int[4];
+        for (int suit = 0; suit < 4; suit++) {
+            inverse[permutation[suit]] = suit;
+        }
+        return HandIndex.permute(discarded, inverse);
+    }
+
+    /**
+     * Best cards to discard when the replacements are drawn from the given cards,
+     * e.g. the unseen cards when some cards of the deck are known
+     * @param hand {@link CardSet} mask of 5 cards
+     * @param deck cards that can be drawn, disjoint with the hand
+     * @param maxDiscards largest number of cards that can be exchanged
+     * @return mask of at most {@code maxDiscards} cards of the hand to discard, 0 to stand pat
+     */
+    public long advise(long hand, long deck, int maxDiscards) {
+        checkHand(hand, deck);
+        long[] cards = cards(hand);
+        int discard = best(strengths(cards, deck), Math.min(limit(maxDiscards), Long.bitCount(deck)));
+        return select(cards, discard);
+    }
+
+    /**
+     * Expected score after discarding the cards and drawing replacements from the 47 cards not in the hand
+     * @param hand {@link CardSet} mask of 5 cards
+     * @param discarded cards of the hand to discard
+     * @return expected score, from 1 to {@link LookupEvaluator#CLASSES}
+     */
+    public double expectedStrength(long hand, long discarded) {
+        return expectedStrength(hand, discarded, CardSet.FULL_DECK & ~hand);
+    }
+
+    /**
+     * Expected score after discarding the cards and drawing replacements from the given cards
+     * @param hand {@link CardSet} mask of 5 cards
+     * @param discarded cards of the hand to discard
+     * @param deck cards that can be drawn, disjoint with the hand and at least as many as discarded cards
+     * @return expected score, from 1 to {@link LookupEvaluator#CLASSES}
+     */
+    public double expectedStrength(long hand, long discarded, long deck) {
+        checkHand(hand, deck);
+        if ((discarded & ~hand) != 0 || Long.bitCount(discarded) > Long.bitCount(deck)) {
+            throw new IllegalArgumentException("Discarded cards must be a part of the hand and fewer than cards in deck");
+        }
+        long[] cards = cards(hand);
+        return strengths(cards, deck)[select(cards, discarded)];
+    }
+
+    /**
+     * Expected score of every discard, bit {@code i} of the discard is the i-th card of the hand in card id order.
+     * Draws avoiding the discarded cards and the cards out of the deck are counted by inclusion-exclusion
+     * in two steps: first over the cards out of the deck, for every subset of the hand, which is shared
+     * by all discards, then over the discarded cards. When the deck is small evaluating every draw is cheaper.
+     */
+    private double[] strengths(long[] cards, long deck) {
+        long hand = select(cards, DrawTable.DISCARDS - 1);
+        long dead = CardSet.FULL_DECK & ~deck & ~hand;
+        int deckSize = Long.bitCount(deck);
+        int deadSize = Long.bitCount(dead);
+
+        long terms = 0;
+        long draws = 0;
+        for (int size = 0; size <= HAND_SIZE; size++) {
+            int subsets = HandIndex.binomial(HAND_SIZE, size);
+            for (int missing = 0; missing <= HAND_SIZE - size; missing++) {
+                terms += (long) subsets * HandIndex.binomial(deadSize, missing);
+            }
+            draws += (long) subsets * HandIndex.binomial(deckSize, size);
+        }
+
+        long[] sums = new long[DrawTable.DISCARDS];
+        if (terms <= draws) {
+            // draws to every subset of the hand that avoid the dead cards
+            long[] avoiding = new long[DrawTable.DISCARDS];
+            for (int subset = 0; subset < DrawTable.DISCARDS; subset++) {
+                avoiding[subset] = this.sums.draws(select(cards, subset), dead, HAND_SIZE - Integer.bitCount(subset));
+            }
+            for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+                int kept = discard ^ (DrawTable.DISCARDS - 1);
+                for (int subset = discard; ; subset = (subset - 1) & discard) {
+                    sums[discard] += (Integer.bitCount(subset) & 1) == 0 ? avoiding[kept | subset] : -avoiding[kept | subset];
+                    if (subset == 0) {
+                        break;
+                    }
+                }
+            }
+        } else {
+            for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+                int missing = Integer.bitCount(discard);
+                if (missing <= deckSize) {
+                    sums[discard] = enumerate(hand & ~select(cards, discard), deck, missing);
+                }
+            }
+        }
+
+        double[] strengths = new double[DrawTable.DISCARDS];
+        for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+            strengths[discard] = (double) sums[discard] / HandIndex.binomial(deckSize, Integer.bitCount(discard));
+        }
+        return strengths;
+    }
+
+    private long enumerate(long kept, long deck, int missing) {
+        if (missing == 0) {
+            return sums.score(kept);
+        }
+        long sum = 0;
+        for (long m = deck; m != 0; m &= m - 1) {
+            long card = m & -m;
+            // cards are drawn in increasing order, so every set of cards is counted once
+            sum += enumerate(kept | card, m & ~card, missing - 1);
+        }
+        return sum;
+    }
+
+    /**
+     * @return discard of at most {@code limit} cards with the greatest expected score, the smallest one of equal scores
+     */
+    private static int best(double[] strengths, int limit) {
+        int best = 0;
+        for (int discard = 1; discard < DrawTable.DISCARDS; discard++) {
+            int size = Integer.bitCount(discard);
+            if (size <= limit && (strengths[discard] > strengths[best]
+                    || strengths[discard] == strengths[best] && size < Integer.bitCount(best))) {
+                best = discard;
+            }
+        }
+        return best;
+    }
+
+    private void remember(long canonical, int offset) {
+        double[] strengths = strengths(cards(canonical), CardSet.FULL_DECK & ~canonical);
+        for (int limit = 0; limit < LIMITS; limit++) {
+            advice[offset + limit] = (byte) (best(strengths, limit) + 1);
+        }
+    }
+
+    private static int limit(int maxDiscards) {
+        if (maxDiscards < 0) {
+            throw new IllegalArgumentException("Number of discarded cards cannot be negative");
+        }
+        return Math.min(maxDiscards, HAND_SIZE);
+    }
+
+    private static void checkHand(long hand) {
+        if (Long.bitCount(hand) != HAND_SIZE || (hand & CardSet.JOKERS) != 0) {
+            throw new IllegalArgumentException("Hand must have 5 cards without jokers");
+        }
+    }
+
+    private static void checkHand(long hand, long deck) {
+        checkHand(hand);
+        if ((deck & hand) != 0 || (deck & ~CardSet.FULL_DECK) != 0) {
+            throw new IllegalArgumentException("Deck cannot contain cards of the hand");
+        }
+    }
+
+    private static long[] cards(long hand) {
+        long[] cards = new long[HAND_SIZE];
+        int card = 0;
+        for (long m = hand; m != 0; m &= m - 1) {
+            cards[card++] = m & -m;
+        }
+        return cards;
+    }
+
+    private static long select(long[] cards, int discard) {
+        long mask = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if ((discard & (1 << i)) != 0) {
+                mask |= cards[i];
+            }
+        }
+        return mask;
+    }
+
+    private static int select(long[] cards, long discarded) {
+        int discard = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if ((discarded & cards[i]) != 0) {
+                discard |= 1 << i;
+            }
+        }
+        return discard;
+    }
+}
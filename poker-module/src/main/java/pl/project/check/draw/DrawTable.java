@@ -0,0 +1,293 @@
+package pl.project.check.draw;
+
+import pl.project.cards.HandIndex;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.stream.IntStream;
+
+
+/**
+ * Exact outcome of every draw in 5-card draw: for every hand distinct under suit permutation
+ * (see {@link HandIndex#canonicalIndex(long)}) and every one of the 32 sets of discarded cards,
+ * the number of ways to draw the replacements from the other 47 cards that end in every layout.
+ * <p>
+ * The table is computed once, in parallel, from {@link SubsetCounts} by inclusion-exclusion,
+ * and kept in a file of about 172 MB that is mapped into memory on later runs. The default file lives
+ * in the home directory of the user, so other users cannot replace it.
+ * Layout {@code l} of discard set {@code d} of canonical hand {@code h} is the {@code int}
+ * at {@code (h * 32 + d) * 10 + l} after a 20-byte header (magic, version, number of canonical hands,
+ * number of discard sets and CRC32 of the payload), where bit {@code i} of {@code d}
+ * discards the i-th card of the canonical hand in card id order.
+ */
+public final class DrawTable {
+
+    /**
+     * Number of sets of cards that can be discarded from a 5-card hand
+     */
+    public static final int DISCARDS = 32;
+
+    /**
+     * Path of the file used by {@link #open()}, can be changed by system property {@code poker.drawTable}
+     */
+    public static final String PATH_PROPERTY = "poker.drawTable";
+
+    private static final int LAYOUTS = SubsetCounts.LAYOUTS;
+    private static final int MAGIC = 0x504B4435; // "PKD5"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 20;
+    private static final int ROW = DISCARDS * LAYOUTS;
+    private static final int DECK_AFTER_DEAL = 47;
+
+    private final IntBuffer table;
+
+    private DrawTable(IntBuffer table) {
+        this.table = table;
+    }
+
+    /**
+     * Maps table from the default path - {@code poker.drawTable} property or {@code .poker/draw-table.bin}
+     * in the home directory of the user
+     * @return mapped table
+     */
+    public static DrawTable open() {
+        return open(defaultPath());
+    }
+
+    /**
+     * Maps table from the file, computing and writing it first if it is missing or not valid
+     * @param file path of the table
+     * @return mapped table
+     */
+    public static DrawTable open(Path file) {
+        try {
+            if (!isValid(file, HandIndex.CANONICAL_HANDS)) {
+                write(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes(HandIndex.CANONICAL_HANDS));
+                buffer.order(ByteOrder.LITTLE_ENDIAN).position(HEADER_BYTES);
+                return new DrawTable(buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map draw table " + file, e);
+        }
+    }
+
+    /**
+     * Computes the table on the common pool and writes it. Content goes to a temporary file
+     * which is then moved in place, so other processes never see a partial table, and the temporary
+     * file is removed when writing fails.
+     * @param file path of the table
+     * @throws IOException when file cannot be written
+     */
+    public static void write(Path file) throws IOException {
+        SubsetCounts counts = SubsetCounts.build(ForkJoinPool.commonPool());
+        // rows of different hands are disjoint, absolute puts do not share any state
+        write(file, HandIndex.CANONICAL_HANDS, table -> IntStream.range(0, HandIndex.CANONICAL_HANDS).parallel()
+                .forEach(canonicalIndex -> fillRow(counts, canonicalIndex, table, canonicalIndex * ROW)));
+    }
+
+    /**
+     * Writes a file of {@code hands} rows with the header and the checksum of the rows
+     * @param file path of the table
+     * @param hands number of rows
+     * @param rows fills the rows, {@code hands * 32 * 10} ints
+     * @throws IOException when file cannot be written
+     */
+    static void write(Path file, int hands, Consumer<IntBuffer> rows) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "poker-draw-table", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes(hands));
+                buffer.order(ByteOrder.LITTLE_ENDIAN).position(HEADER_BYTES);
+                ByteBuffer payload = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+                rows.accept(payload.asIntBuffer());
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                buffer.position(0);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(hands).putInt(DISCARDS)
+                        .putInt((int) crc.getValue());
+                buffer.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Number of ways to end in every layout after discarding the cards and drawing replacements
+     * from the 47 cards not in the hand
+     * @param hand {@link pl.project.cards.CardSet} mask of 5 cards
+     * @param discarded cards of the hand to discard
+     * @param out receives number of draws of every layout, indexed by {@link HandEvaluator.Layouts} ordinal
+     */
+    public void distribution(long hand, long discarded, long[] out) {
+        int offset = offset(hand, discarded);
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            out[layout] = table.get(offset + layout);
+        }
+    }
+
+    /**
+     * Probability of ending in the layout after the draw
+     * @param hand {@link pl.project.cards.CardSet} mask of 5 cards
+     * @param discarded cards of the hand to discard
+     * @param layout layout to reach
+     * @return probability
+     */
+    public double probability(long hand, long discarded, HandEvaluator.Layouts layout) {
+        if (layout.ordinal() >= LAYOUTS) {
+            // the deck has no jokers
+            return 0;
+        }
+        long[] layouts = new long[LAYOUTS];
+        distribution(hand, discarded, layouts);
+        return (double) layouts[layout.ordinal()] / draws(Long.bitCount(discarded));
+    }
+
+    /**
+     * @param discarded number of discarded cards
+     * @return number of ways to draw replacements from 47 cards
+     */
+    public static long draws(int discarded) {
+        return HandIndex.binomial(DECK_AFTER_DEAL, discarded);
+    }
+
+    /**
+     * Index of the counts of the discard in the table - in the row of the canonical hand,
+     * at the discard of the same cards after the suits are renamed
+     * @param hand {@link pl.project.cards.CardSet} mask of 5 cards
+     * @param discarded cards of the hand to discard
+     * @return index of the count of the first layout
+     */
+    static int offset(long hand, long discarded) {
+        if (Long.bitCount(hand) != 5 || (discarded & ~hand) != 0) {
+            throw new IllegalArgumentException("Discarded cards must be a part of a 5-card hand");
+        }
+        int[] permutation = new int[4];
+        long canonical = HandIndex.canonical(hand, permutation);
+        int discard = select(cards(canonical), HandIndex.permute(discarded, permutation));
+        return (HandIndex.canonicalIndex(canonical) * DISCARDS + discard) * LAYOUTS;
+    }
+
+    /**
+     * Counts the layouts of every discard of the canonical hand
+     * @param counts counts of hands containing every set of cards
+     * @param canonicalIndex index of the canonical hand
+     * @param table receives {@code 32 * 10} counts
+     * @param offset index of the first count in the table
+     */
+    static void fillRow(SubsetCounts counts, int canonicalIndex, IntBuffer table, int offset) {
+        long hand = HandIndex.unrankCanonical(canonicalIndex);
+        long[] cards = cards(hand);
+        long[] layouts = new long[LAYOUTS];
+        for (int discard = 0; discard < DISCARDS; discard++) {
+            long discarded = select(cards, discard);
+            counts.draws(hand & ~discarded, discarded, layouts);
+            for (int layout = 0; layout < LAYOUTS; layout++) {
+                table.put(offset++, (int) layouts[layout]);
+            }
+        }
+    }
+
+    private static long fileBytes(int hands) {
+        return HEADER_BYTES + 4L * hands * ROW;
+    }
+
+    private static long[] cards(long hand) {
+        long[] cards = new long[5];
+        int card = 0;
+        for (long m = hand; m != 0; m &= m - 1) {
+            cards[card++] = m & -m;
+        }
+        return cards;
+    }
+
+    private static long select(long[] cards, int discard) {
+        long mask = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if ((discard & (1 << i)) != 0) {
+                mask |= cards[i];
+            }
+        }
+        return mask;
+    }
+
+    private static int select(long[] cards, long discarded) {
+        int discard = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if ((discarded & cards[i]) != 0) {
+                discard |= 1 << i;
+            }
+        }
+        return discard;
+    }
+
+    private static Path defaultPath() {
+        String path = System.getProperty(PATH_PROPERTY);
+        return path != null ? Paths.get(path) : Paths.get(System.getProperty("user.home"), ".poker", "draw-table.bin");
+    }
+
+    /**
+     * Checks the header and the CRC32 of the whole payload, so a truncated or changed table is computed again
+     * @param file path of the table
+     * @param hands expected number of rows
+     * @return {@code true} when the file holds a complete table of {@code hands} rows
+     * @throws IOException when file cannot be read
+     */
+    static boolean isValid(Path file, int hands) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != fileBytes(hands)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read whole header
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != hands || header.getInt() != DISCARDS) {
+                return false;
+            }
+            int checksum = header.getInt();
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 16);
+            while (channel.read(chunk) >= 0) {
+                chunk.flip();
+                crc.update(chunk);
+                chunk.clear();
+            }
+            return (int) crc.getValue() == checksum;
+        }
+    }
+
+    /**
+     * Writes the table to the path given as the first argument, or to the default path
+     * @param args optional path of the table
+     * @throws IOException when file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : defaultPath();
+        long start = System.nanoTime();
+        write(file);
+        System.out.printf("Draw table written to %s in %.1f s%n", file, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,143 @@
+package pl.project.check.draw;
+
+import pl.project.Game;
+import pl.project.cards.HandIndex;
+import pl.project.check.LookupEvaluator;
+import pl.project.check.LowballEvaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+
+/**
+ * For every set of at most 4 cards - the sum of scores of all 5-card hands that contain it, where the score
+ * of a hand is the number of rank classes it beats or ties in the order of the variant: for high hands 1 for the worst
+ * high card up to 7462 for a royal flush, for lowball the best low hand scores the most.
+ * Like {@link SubsetCounts}, sums of hands drawn to kept cards while avoiding some other cards follow from
+ * inclusion-exclusion, so the expected score of a draw costs at most {@code 3^5} lookups instead of evaluating every draw.
+ * <p>
+ * Sums take about 2.3 MB and are computed in about a second per core.
+ */
+final class StrengthSums {
+
+    private static final LookupEvaluator EVALUATOR = new LookupEvaluator();
+
+    private final int[] scores;
+    private final long[] sums;
+
+    private StrengthSums(int[] scores, long[] sums) {
+        this.scores = scores;
+        this.sums = sums;
+    }
+
+    /**
+     * Sums scores of all hands, splitting them between threads of the pool
+     * @param pool pool running the computation
+     * @param variant variant ordering the hands
+     * @return sums of all subsets
+     */
+    static StrengthSums build(ForkJoinPool pool, Game.Variant variant) {
+        int[] scores = scores(variant);
+        int parts = Math.max(1, Math.min(pool.getParallelism(), 8));
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+        for (int part = 0; part < parts; part++) {
+            int from = (int) ((long) HandIndex.HANDS * part / parts);
+            int to = (int) ((long) HandIndex.HANDS * (part + 1) / parts);
+            tasks.add(pool.submit(() -> sumHands(scores, from, to)));
+        }
+        long[] sums = tasks.get(0).join();
+        for (int part = 1; part < parts; part++) {
+            long[] partial = tasks.get(part).join();
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += partial[i];
+            }
+        }
+        return new StrengthSums(scores, sums);
+    }
+
+    /**
+     * Score of every rank class of {@link LookupEvaluator} - the number of classes that are not better
+     * in the variant, so ace-to-five classes differing only in suits or straights share a score
+     */
+    private static int[] scores(Game.Variant variant) {
+        int[] strengths = new int[LookupEvaluator.CLASSES + 1];
+        for (int rankClass = 1; rankClass <= LookupEvaluator.CLASSES; rankClass++) {
+            strengths[rankClass] = variant == Game.Variant.HIGH ? LookupEvaluator.strengthOfClass(rankClass)
+                    : LowballEvaluator.of(variant).strengthOfClass(rankClass);
+        }
+        int[] sorted = Arrays.copyOfRange(strengths, 1, strengths.length);
+        Arrays.sort(sorted);
+
+        int[] scores = new int[LookupEvaluator.CLASSES + 1];
+        for (int rankClass = 1; rankClass <= LookupEvaluator.CLASSES; rankClass++) {
+            int score = Arrays.binarySearch(sorted, strengths[rankClass]);
+            while (score + 1 < sorted.length && sorted[score + 1] == sorted[score]) {
+                score++;
+            }
+            scores[rankClass] = score + 1;
+        }
+        return scores;
+    }
+
+    private static long[] sumHands(int[] scores, int from, int to) {
+        long[] sums = new long[SubsetCounts.SUBSETS];
+        long[] cards = new long[5];
+        // colex order of hands is the numeric order of their masks - the next hand is the next mask with 5 bits
+        long hand = HandIndex.unrank(from, 5);
+        for (int index = from; index < to; index++) {
+            int score = scores[EVALUATOR.rankClass(hand)];
+            int card = 0;
+            for (long m = hand; m != 0; m &= m - 1) {
+                cards[card++] = m & -m;
+            }
+            for (int subset = 0; subset < 31; subset++) {
+                long mask = 0;
+                for (int i = 0; i < 5; i++) {
+                    if ((subset & (1 << i)) != 0) {
+                        mask |= cards[i];
+                    }
+                }
+                sums[SubsetCounts.subset(mask)] += score;
+            }
+            long lowest = hand & -hand;
+            long carry = hand + lowest;
+            hand = (((carry ^ hand) >>> 2) / lowest) | carry;
+        }
+        return sums;
+    }
+
+    /**
+     * Sum of scores of hands made of the kept cards and {@code missing} cards that are not kept or excluded
+     * @param kept kept cards
+     * @param excluded cards that cannot be drawn, disjoint with kept
+     * @param missing number of cards to draw, {@code 5 - |kept|}
+     * @return sum of scores of all draws
+     */
+    long draws(long kept, long excluded, int missing) {
+        long sum = sum(kept);
+        if (missing == 0) {
+            return sum;
+        }
+        // subsets of excluded cards are visited once each, taking cards in increasing order
+        for (long m = excluded; m != 0; m &= m - 1) {
+            long card = m & -m;
+            sum -= draws(kept | card, m & ~card, missing - 1);
+        }
+        return sum;
+    }
+
+    private long sum(long cards) {
+        return Long.bitCount(cards) == 5 ? score(cards) : sums[SubsetCounts.subset(cards)];
+    }
+
+    /**
+     * @param hand {@link pl.project.cards.CardSet} mask of 5 cards
+     * @return number of rank classes the hand beats or ties, from 1 to {@link LookupEvaluator#CLASSES}
+     */
+    int score(long hand) {
+        return scores[EVALUATOR.rankClass(hand)];
+    }
+}
@@ -0,0 +1,102 @@
+package pl.project.check.equity;
+
+/**
+ * Immutable result of {@link EquityCalculator} - for every player the number of sampled deals won alone,
+ * the number tied for the best hand, and the share of the pot won on average with its 95% confidence interval.
+ */
+public final class Equity {
+
+    /**
+     * Quantile of the standard normal distribution for the 95% two-sided interval
+     */
+    public static final double Z_95 = 1.959964;
+
+    private final long samples;
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] shares;
+    private final double[] squaredShares;
+
+    Equity(long samples, long[] wins, long[] ties, double[] shares, double[] squaredShares) {
+        this.samples = samples;
+        this.wins = wins;
+        this.ties = ties;
+        this.shares = shares;
+        this.squaredShares = squaredShares;
+    }
+
+    /**
+     * @return number of sampled deals
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return number of players
+     */
+    public int players() {
+        return wins.length;
+    }
+
+    /**
+     * @param player index of the player in the order hands were given
+     * @return probability that the player has the only best hand
+     */
+    public double win(int player) {
+        return (double) wins[player] / samples;
+    }
+
+    /**
+     * @param player index of the player in the order hands were given
+     * @return probability that the player shares the best hand with others
+     */
+    public double tie(int player) {
+        return (double) ties[player] / samples;
+    }
+
+    /**
+     * Expected share of the pot - a win counts 1, a tie of {@code k} players counts {@code 1/k}.
+     * Equities of all players sum to 1.
+     * @param player index of the player in the order hands were given
+     * @return expected share of the pot
+     */
+    public double equity(int player) {
+        return shares[player] / samples;
+    }
+
+    /**
+     * Half-width of the 95% confidence interval of {@link #equity(int)}, from the sample variance of shares
+     * @param player index of the player in the order hands were given
+     * @return margin of error, {@code equity ± margin} is the interval
+     */
+    public double margin(int player) {
+        if (samples < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = equity(player);
+        double variance = Math.max(0, (squaredShares[player] - samples * mean * mean) / (samples - 1));
+        return Z_95 * Math.sqrt(variance / samples);
+    }
+
+    /**
+     * @return the largest margin of error of all players
+     */
+    public double maxMargin() {
+        double margin = 0;
+        for (int player = 0; player < players(); player++) {
+            margin = Math.max(margin, margin(player));
+        }
+        return margin;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Equity{samples=").append(samples);
+        for (int player = 0; player < players(); player++) {
+            builder.append(String.format(", %d: %.4f ± %.4f (win %.4f, tie %.4f)",
+                    player, equity(player), margin(player), win(player), tie(player)));
+        }
+        return builder.append('}').toString();
+    }
+}
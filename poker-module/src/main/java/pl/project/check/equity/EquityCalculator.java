@@ -0,0 +1,360 @@
+package pl.project.check.equity;
+
+import pl.project.cards.CardSet;
+import pl.project.check.batch.BatchEvaluator;
+import pl.project.check.draw.DiscardAdvisor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Monte Carlo equity of 5-card hands: every player keeps the known cards of the hand - all, some or none of them -
+ * and the rest of the hand is dealt at random from the cards no player holds and that are not dead (seen or discarded).
+ * Deals are evaluated in blocks by {@link BatchEvaluator}, so the vectorized evaluator is used when it is available.
+ * <p>
+ * By default hands are compared as dealt, as at the showdown after the last exchange. When players still have
+ * an exchange ahead, {@code maxDiscards} models it: every player discards the cards chosen by {@link DiscardAdvisor}
+ * for the dealt hand and draws the replacements from the rest of the deck. The advisor does not know the other
+ * hands and the discarded cards are not dealt again, as at the table.
+ * <p>
+ * Work runs on a fork/join pool. Every task draws from its own {@link SplittableRandom} split from the generator
+ * of its parent, so with a fixed seed and a number of samples the result does not depend on the number of threads.
+ * With a time budget every thread samples until the deadline. Instances are safe to use from many threads.
+ */
+public final class EquityCalculator {
+
+    /**
+     * Number of deals evaluated in one call of the batch evaluator
+     */
+    static final int BLOCK = 256;
+
+    /**
+     * Number of deals below which a task is not split
+     */
+    static final int LEAF = 16 * BLOCK;
+
+    private static final int HAND_SIZE = 5;
+
+    private final BatchEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seeds;
+
+    /**
+     * Default constructor - fastest batch evaluator on the common pool, randomly seeded
+     */
+    public EquityCalculator() {
+        this(BatchEvaluator.fastest(), ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    /**
+     * Fastest batch evaluator on the common pool with a fixed seed, for repeatable results
+     * @param seed seed of the first calculation, later calculations continue the sequence
+     */
+    public EquityCalculator(long seed) {
+        this(BatchEvaluator.fastest(), ForkJoinPool.commonPool(), new SplittableRandom(seed));
+    }
+
+    /**
+     * @param evaluator batch evaluator, blocks of deals are always evaluated on the calling thread
+     * @param pool pool running the sampling
+     * @param seed seed of the first calculation, later calculations continue the sequence
+     */
+    public EquityCalculator(BatchEvaluator evaluator, ForkJoinPool pool, long seed) {
+        this(evaluator, pool, new SplittableRandom(seed));
+    }
+
+    private EquityCalculator(BatchEvaluator evaluator, ForkJoinPool pool, SplittableRandom seeds) {
+        this.evaluator = evaluator;
+        this.pool = pool;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Estimates equity at the showdown from a fixed number of deals
+     * @param hands {@link CardSet} masks of known cards of every player, at most 5 each, 0 for an unknown hand
+     * @param dead cards that cannot be dealt to anyone
+     * @param samples number of deals
+     * @return equity of every player in the order of hands
+     */
+    public Equity calculate(long[] hands, long dead, long samples) {
+        return calculate(hands, dead, samples, 0);
+    }
+
+    /**
+     * Estimates equity from a fixed number of deals, with an exchange before the showdown
+     * @param hands {@link CardSet} masks of known cards of every player, at most 5 each, 0 for an unknown hand
+     * @param dead cards that cannot be dealt to anyone
+     * @param samples number of deals
+     * @param maxDiscards largest number of cards every player can exchange, 0 for no exchange
+     * @return equity of every player in the order of hands
+     */
+    public Equity calculate(long[] hands, long dead, long samples, int maxDiscards) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be positive");
+        }
+        Deal deal = new Deal(hands, dead, maxDiscards);
+        return pool.invoke(new SampleTask(deal, nextRandom(), samples)).toEquity();
+    }
+
+    /**
+     * Estimates equity at the showdown from as many deals as all threads of the pool sample within the time
+     * @param hands {@link CardSet} masks of known cards of every player, at most 5 each, 0 for an unknown hand
+     * @param dead cards that cannot be dealt to anyone
+     * @param budget time of sampling, every thread samples at least one block of deals
+     * @return equity of every player in the order of hands
+     */
+    public Equity calculate(long[] hands, long dead, Duration budget) {
+        return calculate(hands, dead, budget, 0);
+    }
+
+    /**
+     * Estimates equity from as many deals as all threads of the pool sample within the time,
+     * with an exchange before the showdown
+     * @param hands {@link CardSet} masks of known cards of every player, at most 5 each, 0 for an unknown hand
+     * @param dead cards that cannot be dealt to anyone
+     * @param budget time of sampling, every thread samples at least one block of deals
+     * @param maxDiscards largest number of cards every player can exchange, 0 for no exchange
+     * @return equity of every player in the order of hands
+     */
+    public Equity calculate(long[] hands, long dead, Duration budget, int maxDiscards) {
+        Deal deal = new Deal(hands, dead, maxDiscards);
+        long deadline = System.nanoTime() + budget.toNanos();
+        SplittableRandom random = nextRandom();
+
+        List<ForkJoinTask<Tally>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < pool.getParallelism(); thread++) {
+            SplittableRandom threadRandom = random.split();
+            tasks.add(pool.submit(() -> {
+                Sampler sampler = new Sampler(deal);
+                do {
+                    sampler.sample(threadRandom, BLOCK);
+                } while (System.nanoTime() < deadline);
+                return sampler.tally;
+            }));
+        }
+        Tally tally = new Tally(hands.length);
+        for (ForkJoinTask<Tally> task : tasks) {
+            tally.add(task.join());
+        }
+        return tally.toEquity();
+    }
+
+    private SplittableRandom nextRandom() {
+        synchronized (seeds) {
+            return seeds.split();
+        }
+    }
+
+    /**
+     * Advisor shared by all calculators, built on first exchange - its tables take about a second per core
+     */
+    private static final class Advisor {
+        static final DiscardAdvisor INSTANCE = new DiscardAdvisor();
+    }
+
+    /**
+     * Validated cards of a calculation
+     */
+    private static final class Deal {
+        final long[] hands;
+        final int[] missing;
+        final int[] deck;
+        final int maxDiscards;
+        // resolved on the calling thread, so pool threads never wait for the advisor to be built
+        final DiscardAdvisor advisor;
+
+        Deal(long[] hands, long dead, int maxDiscards) {
+            if (hands.length == 0) {
+                throw new IllegalArgumentException("At least one hand is needed");
+            }
+            if (maxDiscards < 0 || maxDiscards > HAND_SIZE) {
+                throw new IllegalArgumentException("Players can exchange 0.." + HAND_SIZE + " cards, got " + maxDiscards);
+            }
+            long used = dead;
+            int missingCards = 0;
+            missing = new int[hands.length];
+            for (int player = 0; player < hands.length; player++) {
+                if (Long.bitCount(hands[player]) > HAND_SIZE || (hands[player] & ~CardSet.FULL_DECK) != 0) {
+                    throw new IllegalArgumentException("Hand " + player + " is not a set of at most 5 cards");
+                }
+                if ((hands[player] & used) != 0) {
+                    throw new IllegalArgumentException("Hand " + player + " has cards of another hand or dead cards");
+                }
+                used |= hands[player];
+                missing[player] = HAND_SIZE - Long.bitCount(hands[player]);
+                missingCards += missing[player];
+            }
+            long deckMask = CardSet.FULL_DECK & ~used;
+            if (missingCards + hands.length * maxDiscards > Long.bitCount(deckMask)) {
+                throw new IllegalArgumentException("Not enough cards in the deck to complete all hands and the exchange");
+            }
+            this.hands = hands.clone();
+            this.maxDiscards = maxDiscards;
+            this.advisor = maxDiscards > 0 ? Advisor.INSTANCE : null;
+            this.deck = new int[Long.bitCount(deckMask)];
+            int card = 0;
+            for (long m = deckMask; m != 0; m &= m - 1) {
+                deck[card++] = Long.numberOfTrailingZeros(m);
+            }
+        }
+    }
+
+    /**
+     * Deals and scores blocks of deals on one thread
+     */
+    private final class Sampler {
+        final Deal deal;
+        final int players;
+        final int[] deck;
+        final long[] dealt;
+        final int[] strengths;
+        final Tally tally;
+        // first card of the deck not dealt in the current deal
+        int next;
+
+        Sampler(Deal deal) {
+            this.deal = deal;
+            this.players = deal.hands.length;
+            this.deck = deal.deck.clone();
+            this.dealt = new long[BLOCK * players];
+            this.strengths = new int[BLOCK * players];
+            this.tally = new Tally(players);
+        }
+
+        /**
+         * Adds cards from the top of the shuffled part of the deck to the hand
+         */
+        long draw(SplittableRandom random, long hand, int cards) {
+            for (int card = 0; card < cards; card++) {
+                int chosen = next + random.nextInt(deck.length - next);
+                int id = deck[chosen];
+                deck[chosen] = deck[next];
+                deck[next++] = id;
+                hand |= 1L << id;
+            }
+            return hand;
+        }
+
+        void sample(SplittableRandom random, int deals) {
+            int hands = 0;
+            for (int i = 0; i < deals; i++) {
+                // partial Fisher-Yates - any order of the deck is a valid start for the next deal
+                next = 0;
+                for (int player = 0; player < players; player++) {
+                    dealt[hands + player] = draw(random, deal.hands[player], deal.missing[player]);
+                }
+                if (deal.maxDiscards > 0) {
+                    // replacements come after all hands are dealt, discarded cards stay out of the deck
+                    for (int player = 0; player < players; player++) {
+                        long hand = dealt[hands + player];
+                        long discarded = deal.advisor.advise(hand, deal.maxDiscards);
+                        dealt[hands + player] = draw(random, hand & ~discarded, Long.bitCount(discarded));
+                    }
+                }
+                hands += players;
+            }
+            evaluator.evaluate(dealt, strengths, 0, hands);
+
+            for (int offset = 0; offset < hands; offset += players) {
+                int best = Integer.MIN_VALUE;
+                int winners = 0;
+                for (int player = 0; player < players; player++) {
+                    int strength = strengths[offset + player];
+                    if (strength > best) {
+                        best = strength;
+                        winners = 1;
+                    } else if (strength == best) {
+                        winners++;
+                    }
+                }
+                tally.add(strengths, offset, best, winners);
+            }
+            tally.samples += deals;
+        }
+    }
+
+    /**
+     * Splits the deals in halves, the second half drawing from a generator split from the first
+     */
+    private final class SampleTask extends RecursiveTask<Tally> {
+        private final Deal deal;
+        private final SplittableRandom random;
+        private final long samples;
+
+        SampleTask(Deal deal, SplittableRandom random, long samples) {
+            this.deal = deal;
+            this.random = random;
+            this.samples = samples;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (samples <= LEAF) {
+                Sampler sampler = new Sampler(deal);
+                for (long done = 0; done < samples; done += BLOCK) {
+                    sampler.sample(random, (int) Math.min(BLOCK, samples - done));
+                }
+                return sampler.tally;
+            }
+            long half = samples / 2;
+            SampleTask second = new SampleTask(deal, random.split(), samples - half);
+            second.fork();
+            Tally tally = new SampleTask(deal, random, half).compute();
+            tally.add(second.join());
+            return tally;
+        }
+    }
+
+    /**
+     * Running counts of one task
+     */
+    private static final class Tally {
+        long samples;
+        final long[] wins;
+        final long[] ties;
+        final double[] shares;
+        final double[] squaredShares;
+
+        Tally(int players) {
+            wins = new long[players];
+            ties = new long[players];
+            shares = new double[players];
+            squaredShares = new double[players];
+        }
+
+        void add(int[] strengths, int offset, int best, int winners) {
+            double share = 1.0 / winners;
+            for (int player = 0; player < wins.length; player++) {
+                if (strengths[offset + player] == best) {
+                    if (winners == 1) {
+                        wins[player]++;
+                    } else {
+                        ties[player]++;
+                    }
+                    shares[player] += share;
+                    squaredShares[player] += share * share;
+                }
+            }
+        }
+
+        void add(Tally other) {
+            samples += other.samples;
+            for (int player = 0; player < wins.length; player++) {
+                wins[player] += other.wins[player];
+                ties[player] += other.ties[player];
+                shares[player] += other.shares[player];
+                squaredShares[player] += other.squaredShares[player];
+            }
+        }
+
+        Equity toEquity() {
+            return new Equity(samples, wins, ties, shares, squaredShares);
+        }
+    }
+}
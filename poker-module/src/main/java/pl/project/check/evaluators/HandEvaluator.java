@@ -17,9 +17,10 @@ public abstract class HandEvaluator {
 
     /**
      * Enumeration representing the possible poker hand layouts.
+     * {@code FIVE_OF_A_KIND} is made only with jokers and beats every other hand.
      */
     public enum Layouts{
-        HIGH_CARD, PAIR, TWO_PAIRS, THREE_OF_A_KIND, STRAIGHT, FLUSH, FULL_HOUSE, FOUR_OF_A_KIND, STRAIGHT_FLUSH, ROYAL_FLUSH
+        HIGH_CARD, PAIR, TWO_PAIRS, THREE_OF_A_KIND, STRAIGHT, FLUSH, FULL_HOUSE, FOUR_OF_A_KIND, STRAIGHT_FLUSH, ROYAL_FLUSH, FIVE_OF_A_KIND
     }
 
 
@@ -19,7 +19,9 @@ public class StraightEvaluator extends HandEvaluator {
     @Override
     public boolean evaluate(List<Card> hand) {
         Collections.sort(hand);
-        for (int i = 1; i < hand.size() ; i++) {
+        // in the wheel (A-2-3-4-5) the ace is sorted last but counts as the lowest card
+        int last = isWheel(hand) ? hand.size() - 1 : hand.size();
+        for (int i = 1; i < last ; i++) {
             if (  (   hand.get(i).getRank().ordinal()-1 != (hand.get(i - 1).getRank().ordinal())   )   ) {
                 return false;
             }
@@ -28,6 +30,10 @@ public class StraightEvaluator extends HandEvaluator {
         return true;
     }
 
+    private static boolean isWheel(List<Card> hand) {
+        return !hand.isEmpty() && hand.get(0).getRank() == Card.Rank.TWO && hand.get(hand.size() - 1).getRank() == Card.Rank.ACE;
+    }
+
     /**
      * Method with returns value of enum, that describes with layout of cards player has.
      * @return value of enum class
@@ -14,6 +14,7 @@ public class EvaluatedHand implements Comparable<EvaluatedHand>{
     public HandEvaluator.Layouts layout;
     public Card maxCardOfLayout;
     public int playerID;
+    public int strength;
 
     /**
      * Default constructor - one magic trick with finding {@code maxCardOfLayout}
@@ -24,7 +25,21 @@ public class EvaluatedHand implements Comparable<EvaluatedHand>{
      * @param cardLayout just a list
      */
     public EvaluatedHand(List<Card> hand, Card maxCard, HandEvaluator.Layouts layout, int playerID, List<Card> cardLayout) {
+        this(hand, maxCard, layout, playerID, cardLayout, HandStrength.of(layout, hand));
+    }
+
+    /**
+     * Constructor for hands whose strength has already been computed
+     * @param hand Player hand
+     * @param maxCard Card
+     * @param layout just a list
+     * @param playerID int
+     * @param cardLayout just a list
+     * @param strength packed strength, see {@link HandStrength}
+     */
+    public EvaluatedHand(List<Card> hand, Card maxCard, HandEvaluator.Layouts layout, int playerID, List<Card> cardLayout, int strength) {
         this.hand = hand;
+        this.strength = strength;
         this.maxCard = maxCard;
         this.layout = layout;
         this.playerID = playerID;
@@ -35,15 +50,12 @@ public class EvaluatedHand implements Comparable<EvaluatedHand>{
 
 
     /**
-     * Compares object between themselves
+     * Compares object between themselves - layout first, then all tie-break ranks, suits do not matter
      * @param o the object to be compared.
-     * @return difference between objects
+     * @return negative if this hand is weaker, 0 if hands are equally strong, positive if it is stronger
      */
     @Override
     public int compareTo(EvaluatedHand o) {
-        if (layout.equals(o.layout)) {
-            return maxCardOfLayout.compareTo(o.maxCardOfLayout);
-        }
-        return layout.compareTo(o.layout);
+        return Integer.compare(strength, o.strength);
     }
 }
@@ -0,0 +1,76 @@
+package pl.project.check.hand;
+
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.util.List;
+
+
+/**
+ * Immutable result of evaluating one hand - layout, cards forming the layout and packed strength.
+ */
+public final class HandResult {
+
+    private final long handMask;
+    private final HandEvaluator.Layouts layout;
+    private final long layoutMask;
+    private final int strength;
+
+    /**
+     * Default constructor
+     * @param handMask {@link CardSet} mask of the whole hand
+     * @param layout layout of the hand
+     * @param layoutMask {@link CardSet} mask of cards forming the layout
+     * @param strength packed strength, see {@link HandStrength}
+     */
+    public HandResult(long handMask, HandEvaluator.Layouts layout, long layoutMask, int strength) {
+        this.handMask = handMask;
+        this.layout = layout;
+        this.layoutMask = layoutMask;
+        this.strength = strength;
+    }
+
+    public long getHandMask() {
+        return handMask;
+    }
+
+    public HandEvaluator.Layouts getLayout() {
+        return layout;
+    }
+
+    public long getLayoutMask() {
+        return layoutMask;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Cards forming the layout, e.g. both pairs of two pairs
+     * @return unmodifiable list of cards ordered by id
+     */
+    public List<Card> getCards() {
+        return List.copyOf(CardSet.toList(layoutMask));
+    }
+
+    /**
+     * Highest card of the hand, by rank and then by suit like {@link Card#compareTo(Card)}
+     * @return the highest card
+     */
+    public Card getHighestCard() {
+        int rank = 31 - Integer.numberOfLeadingZeros(CardSet.rankMask(handMask));
+        for (int suit = 3; suit > 0; suit--) {
+            if (CardSet.contains(handMask, suit * 13 + rank)) {
+                return Card.fromId(suit * 13 + rank);
+            }
+        }
+        return Card.fromId(rank);
+    }
+
+    @Override
+    public String toString() {
+        return HandStrength.toString(strength) + CardSet.toList(layoutMask);
+    }
+}
@@ -0,0 +1,142 @@
+package pl.project.check.hand;
+
+import pl.project.cards.Card;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.util.List;
+
+
+/**
+ * Strength of a hand packed into a single {@code int}, so deciding a showdown is a plain integer compare.
+ * <p>
+ * Bits 20 and up hold the ordinal of {@link HandEvaluator.Layouts}, below it five 4-bit fields hold
+ * rank ordinals in the order they are compared - e.g. for two pairs the higher pair, the lower pair
+ * and the kicker. Unused fields are zero. A straight is described only by its top card,
+ * which for the wheel (A-2-3-4-5) is the five. The greater value is the stronger hand.
+ */
+public final class HandStrength {
+
+    private static final int LAYOUT_SHIFT = 20;
+    private static final int RANK_BITS = 4;
+    private static final int RANK_FIELDS = 5;
+    private static final HandEvaluator.Layouts[] LAYOUTS = HandEvaluator.Layouts.values();
+
+    private HandStrength() {
+    }
+
+    /**
+     * Packs layout and tie-break ranks
+     * @param layout layout of the hand
+     * @param ranks rank ordinals, the most significant first, at most five
+     * @return packed strength
+     */
+    public static int of(HandEvaluator.Layouts layout, int... ranks) {
+        if (ranks.length > RANK_FIELDS) {
+            throw new IllegalArgumentException("At most " + RANK_FIELDS + " ranks can be packed");
+        }
+        int strength = layout.ordinal() << LAYOUT_SHIFT;
+        for (int i = 0; i < ranks.length; i++) {
+            strength |= ranks[i] << (RANK_BITS * (RANK_FIELDS - 1 - i));
+        }
+        return strength;
+    }
+
+    /**
+     * Computes strength of a hand whose layout is already known. Ranks are ordered by how many
+     * times they occur and then by rank, which is the tie-break order of every layout except straights.
+     * Cards without rank are skipped.
+     * @param layout layout of the hand
+     * @param hand cards of the hand
+     * @return packed strength
+     */
+    public static int of(HandEvaluator.Layouts layout, List<Card> hand) {
+        int[] counts = new int[Card.Rank.values().length];
+        for (Card card : hand) {
+            if (card.getRank() != null) {
+                counts[card.getRank().ordinal()]++;
+            }
+        }
+
+        if (layout == HandEvaluator.Layouts.STRAIGHT || layout == HandEvaluator.Layouts.STRAIGHT_FLUSH
+                || layout == HandEvaluator.Layouts.ROYAL_FLUSH) {
+            int top = Card.Rank.ACE.ordinal();
+            while (top > 0 && counts[top] == 0) {
+                top--;
+            }
+            if (top == Card.Rank.ACE.ordinal() && counts[Card.Rank.TWO.ordinal()] > 0) {
+                top = Card.Rank.FIVE.ordinal();
+            }
+            return of(layout, top);
+        }
+
+        int strength = layout.ordinal() << LAYOUT_SHIFT;
+        int field = RANK_FIELDS - 1;
+        for (int count = 4; count > 0; count--) {
+            for (int rank = counts.length - 1; rank >= 0 && field >= 0; rank--) {
+                if (counts[rank] == count) {
+                    strength |= rank << (RANK_BITS * field--);
+                }
+            }
+        }
+        return strength;
+    }
+
+    /**
+     * Layout encoded in the strength
+     * @param strength packed strength
+     * @return layout of the hand
+     */
+    public static HandEvaluator.Layouts layout(int strength) {
+        return LAYOUTS[strength >>> LAYOUT_SHIFT];
+    }
+
+    /**
+     * Tie-break rank encoded in the strength
+     * @param strength packed strength
+     * @param index 0 for the most significant rank, up to 4
+     * @return rank ordinal
+     */
+    public static int rank(int strength, int index) {
+        return (strength >>> (RANK_BITS * (RANK_FIELDS - 1 - index))) & ((1 << RANK_BITS) - 1);
+    }
+
+    /**
+     * Readable form, e.g. {@code TWO_PAIRS[KING, TWO, NINE]}
+     * @param strength packed strength
+     * @return description of the strength
+     */
+    public static String toString(int strength) {
+        StringBuilder builder = new StringBuilder(layout(strength).toString()).append('[');
+        int fields = rankCount(layout(strength));
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(Card.Rank.values()[rank(strength, i)]);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Number of tie-break ranks used by the layout
+     * @param layout layout of the hand
+     * @return number of ranks, 1 to 5
+     */
+    public static int rankCount(HandEvaluator.Layouts layout) {
+        switch (layout) {
+            case HIGH_CARD:
+            case FLUSH:
+                return 5;
+            case PAIR:
+                return 4;
+            case TWO_PAIRS:
+            case THREE_OF_A_KIND:
+                return 3;
+            case FULL_HOUSE:
+            case FOUR_OF_A_KIND:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+}
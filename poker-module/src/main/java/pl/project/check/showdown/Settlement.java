@@ -0,0 +1,117 @@
+package pl.project.check.showdown;
+
+import pl.project.check.StrengthEvaluator;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+
+/**
+ * Immutable result of a showdown - strength of every seat, the seats sharing the best hand and the chips each of them wins.
+ * Seats are kept in the order given to {@link ShowdownResolver}, folded seats and winners as bitmasks of seat indices.
+ */
+public final class Settlement {
+
+    private final int[] playerIDs;
+    private final int[] strengths;
+    private final int folded;
+    private final int winners;
+    private final int[] amounts;
+    private final StrengthEvaluator evaluator;
+
+    Settlement(int[] playerIDs, int[] strengths, int folded, int winners, int[] amounts, StrengthEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.playerIDs = playerIDs;
+        this.strengths = strengths;
+        this.folded = folded;
+        this.winners = winners;
+        this.amounts = amounts;
+    }
+
+    /**
+     * @return number of seats, folded ones included
+     */
+    public int seats() {
+        return playerIDs.length;
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return id of the player in the seat
+     */
+    public int playerID(int seat) {
+        return playerIDs[seat];
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return packed strength of the hand, see {@link HandStrength}, the greater value is the better hand
+     */
+    public int strength(int seat) {
+        return strengths[seat];
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return layout of the hand in the seat
+     */
+    public HandEvaluator.Layouts layout(int seat) {
+        return evaluator.layoutOf(strengths[seat]);
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return {@code true} if the seat folded and takes no part in the showdown
+     */
+    public boolean isFolded(int seat) {
+        return (folded & (1 << seat)) != 0;
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return {@code true} if the seat shares the best hand
+     */
+    public boolean isWinner(int seat) {
+        return (winners & (1 << seat)) != 0;
+    }
+
+    /**
+     * @return bitmask of seats sharing the best hand, bit {@code i} is seat {@code i}
+     */
+    public int getWinners() {
+        return winners;
+    }
+
+    /**
+     * @return number of seats sharing the pot, 0 when every seat folded
+     */
+    public int winnerCount() {
+        return Integer.bitCount(winners);
+    }
+
+    /**
+     * @return the first winning seat, -1 when every seat folded
+     */
+    public int firstWinner() {
+        return winners == 0 ? -1 : Integer.numberOfTrailingZeros(winners);
+    }
+
+    /**
+     * @param seat index of the seat
+     * @return chips won by the seat, 0 for seats that did not win
+     */
+    public int amount(int seat) {
+        return amounts[seat];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Settlement{");
+        for (int seat = 0; seat < seats(); seat++) {
+            builder.append(seat == 0 ? "" : ", ").append(playerIDs[seat]).append(": ").append(layout(seat));
+            if (isWinner(seat)) {
+                builder.append(" wins ").append(amounts[seat]);
+            }
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,105 @@
+package pl.project.check.showdown;
+
+import pl.project.Player;
+import pl.project.check.LookupEvaluator;
+import pl.project.check.StrengthEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import java.util.List;
+
+
+/**
+ * Decides a showdown and divides the stake. One pass over packed strengths of the seats that did not fold
+ * keeps the best strength and the bitmask of seats holding it, so any number of tied hands split the pot.
+ * The evaluator decides what the best hand is - {@link StrengthEvaluator#forVariant} gives one for every
+ * {@link pl.project.Game.Variant}, lowball evaluators included.
+ * <p>
+ * The stake is divided equally between the winners. Chips that cannot be divided - fewer than the number
+ * of winners - go one each to the winners in seat order, starting from the first seat. Resolver keeps no state,
+ * so one instance can be shared by all games.
+ */
+public final class ShowdownResolver {
+
+    /**
+     * Largest number of seats, one bit of the winners mask each
+     */
+    public static final int MAX_SEATS = Integer.SIZE;
+
+    private final StrengthEvaluator evaluator;
+
+    /**
+     * Default constructor - hands are evaluated with {@link LookupEvaluator}
+     */
+    public ShowdownResolver() {
+        this(new LookupEvaluator());
+    }
+
+    /**
+     * @param evaluator evaluator of hands
+     */
+    public ShowdownResolver(StrengthEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Evaluates hands of the players and divides the stake between the best hands of those who did not fold
+     * @param seats players in seat order, each with a hand of 5 cards
+     * @param stake chips in the pot
+     * @return settlement with seats in the order of players
+     */
+    public Settlement resolve(List<Player> seats, int stake) {
+        int[] playerIDs = new int[seats.size()];
+        int[] strengths = new int[seats.size()];
+        int folded = 0;
+        for (int seat = 0; seat < seats.size(); seat++) {
+            Player player = seats.get(seat);
+            playerIDs[seat] = player.getPlayerId();
+            strengths[seat] = evaluator.strength(player.getHandMask());
+            if (player.isFold()) {
+                folded |= 1 << seat;
+            }
+        }
+        return resolve(playerIDs, strengths, folded, stake);
+    }
+
+    /**
+     * Divides the stake between the best hands of the seats that did not fold
+     * @param playerIDs id of the player in every seat
+     * @param strengths strength of every seat given by the evaluator of this resolver, see {@link HandStrength}
+     * @param folded bitmask of seats that folded, bit {@code i} is seat {@code i}
+     * @param stake chips in the pot
+     * @return settlement with seats in the given order, without winners when every seat folded
+     */
+    public Settlement resolve(int[] playerIDs, int[] strengths, int folded, int stake) {
+        if (playerIDs.length != strengths.length || playerIDs.length > MAX_SEATS) {
+            throw new IllegalArgumentException("Every seat needs one strength, at most " + MAX_SEATS + " seats");
+        }
+        if (stake < 0) {
+            throw new IllegalArgumentException("Stake cannot be negative");
+        }
+
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int seat = 0; seat < strengths.length; seat++) {
+            if ((folded & (1 << seat)) == 0) {
+                if (strengths[seat] > best) {
+                    best = strengths[seat];
+                    winners = 1 << seat;
+                } else if (strengths[seat] == best) {
+                    winners |= 1 << seat;
+                }
+            }
+        }
+
+        int[] amounts = new int[strengths.length];
+        if (winners != 0) {
+            int count = Integer.bitCount(winners);
+            int share = stake / count;
+            int oddChips = stake % count;
+            for (int m = winners; m != 0; m &= m - 1) {
+                amounts[Integer.numberOfTrailingZeros(m)] = share + (oddChips-- > 0 ? 1 : 0);
+            }
+        }
+        return new Settlement(playerIDs.clone(), strengths.clone(), folded, winners, amounts, evaluator);
+    }
+}
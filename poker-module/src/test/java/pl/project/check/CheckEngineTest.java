@@ -3,16 +3,138 @@ package pl.project.check;
 import org.junit.jupiter.api.Test;
 import pl.project.Player;
 import pl.project.cards.Card;
+import pl.project.cards.CardSet;
 import pl.project.cards.Card.Rank;
 import pl.project.cards.Card.Suit;
 import pl.project.check.evaluators.HandEvaluator;
 import pl.project.check.hand.EvaluatedHand;
+import pl.project.check.hand.HandResult;
+import pl.project.check.hand.HandStrength;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class CheckEngineTest {
 
-}
\ No newline at end of file
+    @Test
+    void testCheck_SortsHandsByLayout() {
+        // Given
+        Player pair = player(1, Rank.KING, Rank.KING, Rank.TWO, Rank.FIVE, Rank.NINE);
+        Player highCard = player(2, Rank.ACE, Rank.QUEEN, Rank.TWO, Rank.FIVE, Rank.NINE);
+
+        // When
+        List<EvaluatedHand> hands = new CheckEngine().check(List.of(pair, highCard));
+
+        // Then
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, hands.get(0).layout);
+        assertEquals(2, hands.get(0).playerID);
+        assertEquals(HandEvaluator.Layouts.PAIR, hands.get(1).layout);
+        assertEquals(1, hands.get(1).playerID);
+        assertEquals(2, hands.get(1).cardLayout.size());
+    }
+
+    @Test
+    void testCheck_ReferenceModeGivesSameLayouts() {
+        // Given
+        Player twoPairs = player(1, Rank.KING, Rank.KING, Rank.TWO, Rank.TWO, Rank.NINE);
+        Player threeOfKind = player(2, Rank.FIVE, Rank.FIVE, Rank.FIVE, Rank.ACE, Rank.NINE);
+
+        // When
+        List<EvaluatedHand> lookup = new CheckEngine().check(List.of(twoPairs, threeOfKind));
+        List<EvaluatedHand> reference = new CheckEngine(CheckEngine.Mode.REFERENCE).check(List.of(twoPairs, threeOfKind));
+
+        // Then
+        for (int i = 0; i < lookup.size(); i++) {
+            assertEquals(reference.get(i).layout, lookup.get(i).layout);
+            assertEquals(reference.get(i).playerID, lookup.get(i).playerID);
+        }
+    }
+
+    @Test
+    void testEvaluate_ReturnsImmutableResultAndKeepsHand() {
+        // Given
+        Player fullHouse = player(1, Rank.NINE, Rank.NINE, Rank.NINE, Rank.KING, Rank.KING);
+        List<Card> before = new ArrayList<>(fullHouse.getHand());
+
+        // When
+        HandResult result = new CheckEngine().evaluate(fullHouse.getHand());
+
+        // Then
+        assertEquals(before, fullHouse.getHand());
+        assertEquals(HandEvaluator.Layouts.FULL_HOUSE, result.getLayout());
+        assertEquals(5, result.getCards().size());
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.FULL_HOUSE, Rank.NINE.ordinal(), Rank.KING.ordinal()), result.getStrength());
+        assertEquals(new Card(Rank.KING, Suit.SPADES), result.getHighestCard());
+        assertThrows(UnsupportedOperationException.class, () -> result.getCards().clear());
+    }
+
+    @Test
+    void testEvaluate_ReferenceModeDoesNotSortHand() {
+        Player player = player(1, Rank.ACE, Rank.TWO, Rank.KING, Rank.FIVE, Rank.NINE);
+        List<Card> before = new ArrayList<>(player.getHand());
+
+        HandResult result = new CheckEngine(CheckEngine.Mode.REFERENCE).evaluate(player.getHand());
+
+        assertEquals(before, player.getHand());
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, result.getLayout());
+    }
+
+    @Test
+    void testEvaluate_SharedEngineAcrossThreads() throws Exception {
+        // Given
+        CheckEngine engine = new CheckEngine(CheckEngine.Mode.REFERENCE);
+        List<List<Card>> hands = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 400; i++) {
+            long mask = 0;
+            while (Long.bitCount(mask) < 5) {
+                mask |= 1L << random.nextInt(Card.COUNT);
+            }
+            hands.add(CardSet.toList(mask));
+        }
+        int[] expected = new int[hands.size()];
+        for (int i = 0; i < hands.size(); i++) {
+            expected[i] = new CheckEngine().evaluate(hands.get(i)).getStrength();
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                int[] actual = new int[hands.size()];
+                for (int i = 0; i < hands.size(); i++) {
+                    actual[i] = engine.strength(CardSet.mask(hands.get(i)));
+                }
+                return actual;
+            }));
+        }
+
+        // Then
+        for (Future<int[]> future : futures) {
+            int[] actual = future.get();
+            for (int i = 0; i < hands.size(); i++) {
+                assertEquals(expected[i], actual[i], hands.get(i).toString());
+            }
+        }
+        executor.shutdown();
+    }
+
+    private static Player player(int id, Rank... ranks) {
+        Suit[] suits = Suit.values();
+        List<Card> hand = new ArrayList<>();
+        for (int i = 0; i < ranks.length; i++) {
+            hand.add(new Card(ranks[i], suits[i % suits.length]));
+        }
+        Player player = new Player("player" + id, id);
+        player.setHand(hand);
+        return player;
+    }
+
+}
@@ -0,0 +1,31 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import pl.project.check.batch.BatchEvaluator;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumerationToolTest {
+
+    @Test
+    void testExpected_SumsToAllHands() {
+        assertEquals(2_598_960, Arrays.stream(EnumerationTool.EXPECTED).sum());
+    }
+
+    @Test
+    void testHistogram_ReferenceChainMatchesKnownFrequencies() {
+        assertArrayEquals(EnumerationTool.EXPECTED, EnumerationTool.histogram(new CheckEngine(CheckEngine.Mode.REFERENCE)));
+    }
+
+    @Test
+    void testHistogram_LookupMatchesKnownFrequencies() {
+        assertArrayEquals(EnumerationTool.EXPECTED, EnumerationTool.histogram(new CheckEngine()));
+    }
+
+    @Test
+    void testHistogram_BatchMatchesKnownFrequencies() {
+        assertArrayEquals(EnumerationTool.EXPECTED, EnumerationTool.histogram(BatchEvaluator.fastest(), EnumerationTool.allHands()));
+    }
+}
@@ -0,0 +1,107 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.HandIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationCacheTest {
+
+    private final LookupEvaluator lookupEvaluator = new LookupEvaluator();
+
+    @Test
+    void testStrength_SecondLookupIsHit() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        EvaluationCache cache = new EvaluationCache(mask -> {
+            calls.incrementAndGet();
+            return lookupEvaluator.strength(mask);
+        }, 64, 2);
+        long hand = HandIndex.unrank(1234, 5);
+
+        // When
+        int first = cache.strength(hand);
+        int second = cache.strength(hand);
+
+        // Then
+        assertEquals(lookupEvaluator.strength(hand), first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.hitRate());
+    }
+
+    @Test
+    void testStrength_BoundedWithEvictions() {
+        EvaluationCache cache = new EvaluationCache(lookupEvaluator, 64, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            long hand = HandIndex.unrank(i * 997, 5);
+            assertEquals(lookupEvaluator.strength(hand), cache.strength(hand));
+        }
+
+        assertEquals(64, cache.capacity());
+        assertEquals(1000, cache.getMisses());
+        assertTrue(cache.getEvictions() >= 1000 - 64);
+    }
+
+    @Test
+    void testStrength_ReferencedEntrySurvivesClock() {
+        // one set of 8 entries - the hand read again must get its second chance
+        EvaluationCache cache = new EvaluationCache(lookupEvaluator, EvaluationCache.WAYS, 1);
+        long hot = HandIndex.unrank(7, 5);
+        cache.strength(hot);
+
+        for (int i = 1; i <= EvaluationCache.WAYS * 3; i++) {
+            cache.strength(hot);
+            cache.strength(HandIndex.unrank(1000 + i, 5));
+        }
+
+        assertEquals(1 + EvaluationCache.WAYS * 3, cache.getMisses());
+        assertEquals(EvaluationCache.WAYS * 3, cache.getHits());
+    }
+
+    @Test
+    void testStrength_ConcurrentAccess() throws Exception {
+        EvaluationCache cache = new EvaluationCache(new CheckEngine(), 1024, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    long hand = HandIndex.unrank((i * 31) % 5000, 5);
+                    assertEquals(lookupEvaluator.strength(hand), cache.strength(hand));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(80_000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    void testClear_KeepsCounters() {
+        EvaluationCache cache = new EvaluationCache(lookupEvaluator, 16, 1);
+        long hand = HandIndex.unrank(1, 5);
+        cache.strength(hand);
+
+        cache.clear();
+        cache.strength(hand);
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(lookupEvaluator, 0));
+    }
+}
@@ -0,0 +1,103 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class JokerTablesTest {
+
+    private static final long JOKER = 1L << Card.JOKER;
+    private static final long SECOND_JOKER = 1L << (Card.JOKER + 1);
+
+    private final LookupEvaluator evaluator = new LookupEvaluator();
+
+    @Test
+    void testStrength_OneJokerMatchesBestSubstitution() {
+        for (int c3 = 3; c3 < Card.COUNT; c3++)
+            for (int c2 = 2; c2 < c3; c2++)
+                for (int c1 = 1; c1 < c2; c1++)
+                    for (int c0 = 0; c0 < c1; c0++) {
+                        long natural = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3;
+                        assertEquals(bestSubstitution(natural, 1), evaluator.strength(natural | JOKER),
+                                () -> CardSet.toList(natural).toString());
+                    }
+    }
+
+    @Test
+    void testStrength_TwoJokersMatchBestSubstitution() {
+        for (int c2 = 2; c2 < Card.COUNT; c2++)
+            for (int c1 = 1; c1 < c2; c1++)
+                for (int c0 = 0; c0 < c1; c0++) {
+                    long natural = 1L << c0 | 1L << c1 | 1L << c2;
+                    assertEquals(bestSubstitution(natural, 2), evaluator.strength(natural | JOKER | SECOND_JOKER),
+                            () -> CardSet.toList(natural).toString());
+                }
+    }
+
+    @Test
+    void testStrength_Examples() {
+        long quads = CardSet.mask(Card.of(KING, CLUBS), Card.of(KING, DIAMONDS), Card.of(KING, HEARTS),
+                Card.of(KING, SPADES));
+        long suited = CardSet.mask(Card.of(TEN, HEARTS), Card.of(JACK, HEARTS), Card.of(QUEEN, HEARTS),
+                Card.of(ACE, HEARTS));
+        long pairs = CardSet.mask(Card.of(TWO, CLUBS), Card.of(TWO, HEARTS), Card.of(NINE, SPADES),
+                Card.of(NINE, CLUBS));
+
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.FIVE_OF_A_KIND, KING.ordinal()), evaluator.strength(quads | JOKER));
+        assertEquals(HandEvaluator.Layouts.ROYAL_FLUSH, HandStrength.layout(evaluator.strength(suited | JOKER)));
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.FULL_HOUSE, NINE.ordinal(), TWO.ordinal()),
+                evaluator.strength(pairs | SECOND_JOKER));
+        assertTrue(evaluator.strength(quads | JOKER) > evaluator.strength(CardSet.mask(Card.of(TEN, SPADES),
+                Card.of(JACK, SPADES), Card.of(QUEEN, SPADES), Card.of(KING, SPADES), Card.of(ACE, SPADES))));
+    }
+
+    @Test
+    void testStrength_HandStateAndCheckEngine() {
+        long pair = CardSet.mask(Card.of(SEVEN, CLUBS), Card.of(SEVEN, HEARTS), Card.of(TWO, SPADES),
+                Card.of(NINE, CLUBS)) | JOKER;
+
+        assertEquals(evaluator.strength(pair), evaluator.strength(HandState.of(pair)));
+        assertEquals(evaluator.strength(pair), evaluator.strength(CardSet.toList(pair)));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.rankClass(HandState.of(pair)));
+
+        CheckEngine engine = new CheckEngine();
+        assertEquals(HandEvaluator.Layouts.THREE_OF_A_KIND, engine.evaluate(CardSet.toList(pair)).getLayout());
+        assertEquals(CardSet.mask(Card.of(SEVEN, CLUBS), Card.of(SEVEN, HEARTS)) | JOKER,
+                engine.evaluate(CardSet.toList(pair)).getLayoutMask());
+        assertThrows(IllegalArgumentException.class,
+                () -> new CheckEngine(CheckEngine.Mode.REFERENCE).evaluate(CardSet.toList(pair)));
+    }
+
+    @Test
+    void testStrength_InvalidHands() {
+        long four = CardSet.mask(Card.of(SEVEN, CLUBS), Card.of(SEVEN, HEARTS), Card.of(TWO, SPADES)) | JOKER;
+        assertThrows(IllegalArgumentException.class, () -> evaluator.strength(four));
+    }
+
+    /**
+     * Reference: a joker may stand for a card already in the hand, which matters only for five of a kind -
+     * every other hand can be made of cards still in the deck
+     */
+    private int bestSubstitution(long natural, int jokers) {
+        for (int rank = 0; rank < 13; rank++) {
+            if (CardSet.rankCount(natural, rank) + jokers == 5) {
+                return HandStrength.of(HandEvaluator.Layouts.FIVE_OF_A_KIND, rank);
+            }
+        }
+        int best = Integer.MIN_VALUE;
+        for (int id = 0; id < Card.COUNT; id++) {
+            if ((natural & 1L << id) == 0) {
+                best = Math.max(best, jokers == 1 ? evaluator.strength(natural | 1L << id)
+                        : bestSubstitution(natural | 1L << id, jokers - 1));
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,175 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.project.Player;
+import pl.project.cards.Card;
+import pl.project.cards.HandIndex;
+import pl.project.cards.HandState;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.EvaluatedHand;
+import pl.project.check.hand.HandStrength;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class LookupEvaluatorTest {
+
+    private LookupEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new LookupEvaluator();
+    }
+
+    @Test
+    void testRankClass_AllHandsMatchKnownFrequencies() {
+        // Given
+        Map<HandEvaluator.Layouts, Integer> histogram = new EnumMap<>(HandEvaluator.Layouts.class);
+        Set<Integer> classes = new HashSet<>();
+
+        // When
+        for (int c0 = 0; c0 < 52; c0++)
+            for (int c1 = c0 + 1; c1 < 52; c1++)
+                for (int c2 = c1 + 1; c2 < 52; c2++)
+                    for (int c3 = c2 + 1; c3 < 52; c3++)
+                        for (int c4 = c3 + 1; c4 < 52; c4++) {
+                            long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            int rankClass = evaluator.rankClass(mask);
+                            classes.add(rankClass);
+                            histogram.merge(LookupEvaluator.layout(rankClass), 1, Integer::sum);
+                        }
+
+        // Then
+        assertEquals(LookupEvaluator.CLASSES, classes.size());
+        assertEquals(1, Collections.min(classes));
+        assertEquals(LookupEvaluator.CLASSES, Collections.max(classes));
+        assertEquals(4, histogram.get(HandEvaluator.Layouts.ROYAL_FLUSH));
+        assertEquals(36, histogram.get(HandEvaluator.Layouts.STRAIGHT_FLUSH));
+        assertEquals(624, histogram.get(HandEvaluator.Layouts.FOUR_OF_A_KIND));
+        assertEquals(3744, histogram.get(HandEvaluator.Layouts.FULL_HOUSE));
+        assertEquals(5108, histogram.get(HandEvaluator.Layouts.FLUSH));
+        assertEquals(10200, histogram.get(HandEvaluator.Layouts.STRAIGHT));
+        assertEquals(54912, histogram.get(HandEvaluator.Layouts.THREE_OF_A_KIND));
+        assertEquals(123552, histogram.get(HandEvaluator.Layouts.TWO_PAIRS));
+        assertEquals(1098240, histogram.get(HandEvaluator.Layouts.PAIR));
+        assertEquals(1302540, histogram.get(HandEvaluator.Layouts.HIGH_CARD));
+    }
+
+    @Test
+    void testRankClass_ExtremeHands() {
+        assertEquals(1, evaluator.rankClass(List.of(Card.of(TEN, SPADES), Card.of(JACK, SPADES),
+                Card.of(QUEEN, SPADES), Card.of(KING, SPADES), Card.of(ACE, SPADES))));
+        assertEquals(LookupEvaluator.CLASSES, evaluator.rankClass(List.of(Card.of(SEVEN, HEARTS),
+                Card.of(FIVE, CLUBS), Card.of(FOUR, SPADES), Card.of(THREE, SPADES), Card.of(TWO, DIAMONDS))));
+    }
+
+    @Test
+    void testRankClass_KickerDecides() {
+        int kingsWithAce = evaluator.rankClass(List.of(Card.of(KING, HEARTS), Card.of(KING, CLUBS),
+                Card.of(ACE, SPADES), Card.of(THREE, SPADES), Card.of(TWO, DIAMONDS)));
+        int kingsWithQueen = evaluator.rankClass(List.of(Card.of(KING, SPADES), Card.of(KING, DIAMONDS),
+                Card.of(QUEEN, SPADES), Card.of(THREE, HEARTS), Card.of(TWO, CLUBS)));
+
+        assertTrue(kingsWithAce < kingsWithQueen);
+    }
+
+    @Test
+    void testRankClass_WheelIsLowestStraight() {
+        int wheel = evaluator.rankClass(List.of(Card.of(ACE, HEARTS), Card.of(TWO, CLUBS),
+                Card.of(THREE, SPADES), Card.of(FOUR, SPADES), Card.of(FIVE, DIAMONDS)));
+        int sixHigh = evaluator.rankClass(List.of(Card.of(SIX, HEARTS), Card.of(TWO, CLUBS),
+                Card.of(THREE, SPADES), Card.of(FOUR, SPADES), Card.of(FIVE, DIAMONDS)));
+
+        assertEquals(HandEvaluator.Layouts.STRAIGHT, LookupEvaluator.layout(wheel));
+        assertEquals(wheel, sixHigh + 1);
+    }
+
+    @Test
+    void testRankClass_DoesNotModifyHand() {
+        List<Card> hand = List.of(Card.of(SEVEN, HEARTS), Card.of(ACE, CLUBS), Card.of(FOUR, SPADES),
+                Card.of(THREE, SPADES), Card.of(TWO, DIAMONDS));
+        List<Card> copy = new ArrayList<>(hand);
+
+        evaluator.rankClass(hand);
+
+        assertEquals(copy, hand);
+    }
+
+    @Test
+    void testStrength_HandStateMatchesMaskOnAllHands() {
+        for (int index = 0; index < HandIndex.HANDS; index++) {
+            long mask = HandIndex.unrank(index, 5);
+            assertEquals(evaluator.strength(mask), evaluator.strength(HandState.of(mask)));
+        }
+    }
+
+    @Test
+    void testStrength_HandStateFollowsExchanges() {
+        Player player = new Player("player", 1);
+        player.setHand(new ArrayList<>(List.of(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS),
+                Card.of(NINE, HEARTS), Card.of(JACK, HEARTS), Card.of(KING, CLUBS))));
+        HandState state = player.getHandState();
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, HandStrength.layout(evaluator.strength(state)));
+
+        player.exchangeCard(4, new Card(KING, HEARTS));
+        assertEquals(HandEvaluator.Layouts.FLUSH, HandStrength.layout(evaluator.strength(state)));
+
+        player.exchangeCard(0, new Card(KING, SPADES));
+        assertEquals(HandEvaluator.Layouts.PAIR, HandStrength.layout(evaluator.strength(state)));
+        assertEquals(evaluator.strength(player.getHandMask()), evaluator.strength(state));
+    }
+
+    @Test
+    void testStrength_OrderFollowsRankClass() {
+        for (int rankClass = 2; rankClass <= LookupEvaluator.CLASSES; rankClass++) {
+            assertTrue(LookupEvaluator.strengthOfClass(rankClass - 1) > LookupEvaluator.strengthOfClass(rankClass));
+            assertEquals(LookupEvaluator.layout(rankClass), HandStrength.layout(LookupEvaluator.strengthOfClass(rankClass)));
+        }
+    }
+
+    @Test
+    void testStrength_MatchesStrengthComputedFromCards() {
+        List<Card> hand = List.of(Card.of(NINE, HEARTS), Card.of(NINE, CLUBS), Card.of(FOUR, SPADES),
+                Card.of(FOUR, DIAMONDS), Card.of(KING, DIAMONDS));
+
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.TWO_PAIRS, hand), evaluator.strength(hand));
+    }
+
+    @Test
+    void testRankClass_WrongHandSize() {
+        assertThrows(IllegalArgumentException.class, () -> evaluator.rankClass(List.of(new Card(ACE, SPADES))));
+    }
+
+    @Test
+    void testLayout_MatchesReferenceChain() {
+        // Given
+        SplittableRandom random = new SplittableRandom(42);
+        CheckEngine reference = new CheckEngine(CheckEngine.Mode.REFERENCE);
+        CheckEngine lookup = new CheckEngine();
+        List<Card> deck = new ArrayList<>();
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (Card.Rank rank : Card.Rank.values()) {
+                deck.add(new Card(rank, suit));
+            }
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            Collections.shuffle(deck, new Random(random.nextLong()));
+            List<Card> cards = new ArrayList<>(deck.subList(0, 5));
+            Player player = new Player("player", 1);
+            player.setHand(cards);
+
+            // When
+            EvaluatedHand expected = reference.check(List.of(player)).get(0);
+            EvaluatedHand actual = lookup.check(List.of(player)).get(0);
+
+            // Then
+            assertEquals(expected.layout, actual.layout, cards.toString());
+            assertEquals(new HashSet<>(expected.cardLayout), new HashSet<>(actual.cardLayout), cards.toString());
+        }
+    }
+}
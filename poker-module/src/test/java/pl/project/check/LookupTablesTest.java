@@ -0,0 +1,66 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupTablesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLoad_GeneratedResourceMatchesBuiltTables() throws Exception {
+        // Given
+        LookupTables built = LookupTables.build();
+
+        // When
+        byte[] resource;
+        try (InputStream in = LookupTables.class.getResourceAsStream(LookupTables.RESOURCE)) {
+            assertNotNull(in, "Resource should be generated in process-classes");
+            resource = in.readAllBytes();
+        }
+        LookupTables loaded = LookupTables.read(resource);
+
+        // Then
+        assertNotNull(loaded);
+        assertTablesEqual(built, loaded);
+        assertTablesEqual(built, LookupTables.load());
+    }
+
+    @Test
+    void testWrite_ReadsBackSameTables() throws Exception {
+        Path file = directory.resolve("tables.bin");
+        LookupTables built = LookupTables.build();
+
+        built.write(file);
+
+        assertTablesEqual(built, LookupTables.read(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void testRead_RejectsDamagedContent() throws Exception {
+        Path file = directory.resolve("tables.bin");
+        LookupTables.build().write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[bytes.length / 2] ^= 1;
+
+        assertNull(LookupTables.read(bytes));
+        assertNull(LookupTables.read(new byte[]{1, 2, 3}));
+    }
+
+    private static void assertTablesEqual(LookupTables expected, LookupTables actual) {
+        assertEquals(expected.multiplier, actual.multiplier);
+        assertArrayEquals(expected.flush, actual.flush);
+        assertArrayEquals(expected.unique5, actual.unique5);
+        assertArrayEquals(expected.paired, actual.paired);
+        assertArrayEquals(expected.displacement, actual.displacement);
+        assertArrayEquals(expected.strength, actual.strength);
+    }
+}
@@ -0,0 +1,162 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import pl.project.Game;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandState;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class LowballEvaluatorTest {
+
+    private final LowballEvaluator deuceToSeven = LowballEvaluator.of(Game.Variant.DEUCE_TO_SEVEN);
+    private final LowballEvaluator aceToFive = LowballEvaluator.of(Game.Variant.ACE_TO_FIVE);
+    private final LookupEvaluator high = new LookupEvaluator();
+
+    @Test
+    void testStrength_DistinctValuesOverAllHands() {
+        // Given
+        Set<Integer> deuceToSevenValues = new HashSet<>();
+        Set<Integer> aceToFiveValues = new HashSet<>();
+
+        // When
+        for (int c0 = 0; c0 < 52; c0++)
+            for (int c1 = c0 + 1; c1 < 52; c1++)
+                for (int c2 = c1 + 1; c2 < 52; c2++)
+                    for (int c3 = c2 + 1; c3 < 52; c3++)
+                        for (int c4 = c3 + 1; c4 < 52; c4++) {
+                            long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            deuceToSevenValues.add(deuceToSeven.strength(mask));
+                            aceToFiveValues.add(aceToFive.strength(mask));
+                        }
+
+        // Then - every high class stays distinct, ace-to-five only tells rank multisets apart
+        assertEquals(LookupEvaluator.CLASSES, deuceToSevenValues.size());
+        assertEquals(6175, aceToFiveValues.size());
+    }
+
+    @Test
+    void testDeuceToSeven_ReversesHighOrderExceptWheel() {
+        SplittableRandom random = new SplittableRandom(27);
+        for (int i = 0; i < 100_000; i++) {
+            long a = randomHand(random);
+            long b = randomHand(random);
+            if (!isWheel(a) && !isWheel(b)) {
+                assertEquals(Integer.signum(high.strength(b) - high.strength(a)),
+                        Integer.signum(deuceToSeven.strength(a) - deuceToSeven.strength(b)));
+            }
+        }
+    }
+
+    @Test
+    void testDeuceToSeven_Order() {
+        long sevenFive = CardSet.mask(Card.of(SEVEN, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long sevenSix = CardSet.mask(Card.of(SEVEN, SPADES), Card.of(SIX, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long eightFive = CardSet.mask(Card.of(EIGHT, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long kingHigh = CardSet.mask(Card.of(KING, SPADES), Card.of(QUEEN, HEARTS), Card.of(JACK, CLUBS),
+                Card.of(NINE, DIAMONDS), Card.of(EIGHT, SPADES));
+        long wheel = CardSet.mask(Card.of(ACE, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long aceKing = CardSet.mask(Card.of(ACE, SPADES), Card.of(KING, HEARTS), Card.of(QUEEN, CLUBS),
+                Card.of(JACK, DIAMONDS), Card.of(NINE, SPADES));
+        long sixHighStraight = CardSet.mask(Card.of(SIX, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long deuces = CardSet.mask(Card.of(TWO, SPADES), Card.of(TWO, HEARTS), Card.of(THREE, CLUBS),
+                Card.of(FOUR, DIAMONDS), Card.of(FIVE, SPADES));
+        long flush = CardSet.mask(Card.of(SEVEN, CLUBS), Card.of(FIVE, CLUBS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, CLUBS), Card.of(TWO, CLUBS));
+
+        assertDescending(deuceToSeven, sevenFive, sevenSix, eightFive, kingHigh, wheel, aceKing, deuces,
+                sixHighStraight, flush);
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, deuceToSeven.layoutOf(deuceToSeven.strength(wheel)));
+        assertEquals(HandEvaluator.Layouts.STRAIGHT, deuceToSeven.layoutOf(deuceToSeven.strength(sixHighStraight)));
+        assertEquals(HandEvaluator.Layouts.FLUSH, deuceToSeven.layoutOf(deuceToSeven.strength(flush)));
+    }
+
+    @Test
+    void testAceToFive_Order() {
+        long wheel = CardSet.mask(Card.of(ACE, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long suitedWheel = CardSet.mask(Card.of(ACE, CLUBS), Card.of(FIVE, CLUBS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, CLUBS), Card.of(TWO, CLUBS));
+        long sixFour = CardSet.mask(Card.of(SIX, SPADES), Card.of(FOUR, HEARTS), Card.of(THREE, CLUBS),
+                Card.of(TWO, DIAMONDS), Card.of(ACE, SPADES));
+        long sixFive = CardSet.mask(Card.of(SIX, SPADES), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        long kingHigh = CardSet.mask(Card.of(KING, SPADES), Card.of(QUEEN, HEARTS), Card.of(JACK, CLUBS),
+                Card.of(TEN, DIAMONDS), Card.of(NINE, SPADES));
+        long aces = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, HEARTS), Card.of(TWO, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(FOUR, SPADES));
+        long deuces = CardSet.mask(Card.of(TWO, SPADES), Card.of(TWO, HEARTS), Card.of(ACE, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(FOUR, SPADES));
+        long twoPairs = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, HEARTS), Card.of(TWO, CLUBS),
+                Card.of(TWO, DIAMONDS), Card.of(THREE, SPADES));
+
+        assertEquals(aceToFive.strength(wheel), aceToFive.strength(suitedWheel));
+        assertDescending(aceToFive, wheel, sixFour, sixFive, kingHigh, aces, deuces, twoPairs);
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, aceToFive.layoutOf(aceToFive.strength(suitedWheel)));
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, aceToFive.layoutOf(aceToFive.strength(kingHigh)));
+        assertEquals(HandEvaluator.Layouts.TWO_PAIRS, aceToFive.layoutOf(aceToFive.strength(twoPairs)));
+    }
+
+    @Test
+    void testStrength_HandStateAndListMatchMask() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 1000; i++) {
+            long mask = randomHand(random);
+            assertEquals(aceToFive.strength(mask), aceToFive.strength(HandState.of(mask)));
+            assertEquals(deuceToSeven.strength(mask), deuceToSeven.strength(CardSet.toList(mask)));
+        }
+    }
+
+    @Test
+    void testStrength_RejectsJokers() {
+        long mask = CardSet.mask(Card.of(TWO, HEARTS), Card.of(THREE, CLUBS), Card.of(FOUR, SPADES),
+                Card.of(FIVE, DIAMONDS)) | 1L << Card.joker(1).getId();
+
+        assertThrows(IllegalArgumentException.class, () -> aceToFive.strength(mask));
+        assertThrows(IllegalArgumentException.class, () -> deuceToSeven.strength(CardSet.toList(mask)));
+    }
+
+    @Test
+    void testForVariant() {
+        assertTrue(StrengthEvaluator.forVariant(Game.Variant.HIGH) instanceof LookupEvaluator);
+        assertSame(deuceToSeven, StrengthEvaluator.forVariant(Game.Variant.DEUCE_TO_SEVEN));
+        assertSame(aceToFive, StrengthEvaluator.forVariant(Game.Variant.ACE_TO_FIVE));
+        assertEquals(Game.Variant.ACE_TO_FIVE, aceToFive.getVariant());
+        assertThrows(IllegalArgumentException.class, () -> LowballEvaluator.of(Game.Variant.HIGH));
+    }
+
+    private static void assertDescending(StrengthEvaluator evaluator, long... hands) {
+        for (int i = 1; i < hands.length; i++) {
+            assertTrue(evaluator.strength(hands[i - 1]) > evaluator.strength(hands[i]), "Hand " + i + " should lose");
+        }
+    }
+
+    private static boolean isWheel(long mask) {
+        int ranks = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            ranks |= (int) (mask >>> (13 * suit)) & 0x1FFF;
+        }
+        return ranks == 0x100F;
+    }
+
+    private static long randomHand(SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < 5) {
+            mask |= 1L << random.nextInt(Card.COUNT);
+        }
+        return mask;
+    }
+}
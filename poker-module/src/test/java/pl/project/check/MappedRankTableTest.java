@@ -0,0 +1,110 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.project.Game;
+import pl.project.cards.Card;
+import pl.project.cards.HandIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRankTableTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOpen_WritesTableMatchingLookupEvaluator() {
+        // Given
+        Path file = directory.resolve("ranks.bin");
+        LookupEvaluator lookupEvaluator = new LookupEvaluator();
+
+        // When
+        MappedRankTable table = MappedRankTable.open(file);
+
+        // Then
+        assertTrue(Files.exists(file));
+        int expectedIndex = 0;
+        for (int c4 = 4; c4 < Card.COUNT; c4++)
+            for (int c3 = 3; c3 < c4; c3++)
+                for (int c2 = 2; c2 < c3; c2++)
+                    for (int c1 = 1; c1 < c2; c1++)
+                        for (int c0 = 0; c0 < c1; c0++) {
+                            long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            assertEquals(expectedIndex++, HandIndex.rank(mask));
+                            assertEquals(lookupEvaluator.strength(mask), table.strength(mask));
+                        }
+        assertEquals(MappedRankTable.HANDS, expectedIndex);
+    }
+
+    @Test
+    void testOpen_ReusesExistingFile() throws Exception {
+        Path file = directory.resolve("ranks.bin");
+        MappedRankTable.write(file);
+        FileTime written = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, written);
+
+        MappedRankTable.open(file);
+
+        assertEquals(written, Files.getLastModifiedTime(file));
+    }
+
+    @Test
+    void testOpen_RewritesDamagedFile() throws Exception {
+        Path file = directory.resolve("ranks.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        MappedRankTable table = MappedRankTable.open(file);
+
+        assertEquals(16 + 4L * MappedRankTable.HANDS, Files.size(file));
+        long royalFlush = 0x1FL << 8;
+        assertEquals(new LookupEvaluator().strength(royalFlush), table.strength(royalFlush));
+    }
+
+    @Test
+    void testOpen_RewritesFileWithChangedPayload() throws Exception {
+        Path file = directory.resolve("ranks.bin");
+        MappedRankTable.write(file);
+        long royalFlush = 0x1FL << 8;
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[16 + 4 * HandIndex.rank(royalFlush)] ^= 1;
+        Files.write(file, bytes);
+
+        MappedRankTable table = MappedRankTable.open(file);
+
+        assertEquals(new LookupEvaluator().strength(royalFlush), table.strength(royalFlush));
+    }
+
+    @Test
+    void testForVariant_UsesSharedTableWhenEnabled() {
+        System.setProperty(MappedRankTable.PATH_PROPERTY, directory.resolve("shared.bin").toString());
+        System.setProperty(MappedRankTable.ENABLED_PROPERTY, "true");
+        try {
+            assertSame(MappedRankTable.shared(), StrengthEvaluator.forVariant(Game.Variant.HIGH));
+            assertSame(LowballEvaluator.of(Game.Variant.ACE_TO_FIVE), StrengthEvaluator.forVariant(Game.Variant.ACE_TO_FIVE));
+        } finally {
+            System.clearProperty(MappedRankTable.ENABLED_PROPERTY);
+            System.clearProperty(MappedRankTable.PATH_PROPERTY);
+        }
+        assertTrue(StrengthEvaluator.forVariant(Game.Variant.HIGH) instanceof LookupEvaluator);
+    }
+
+    @Test
+    void testWrite_LeavesNoTemporaryFile() throws Exception {
+        Path file = directory.resolve("ranks.bin");
+        Files.createDirectory(file);
+        Files.createFile(file.resolve("in-the-way"));
+
+        assertThrows(IOException.class, () -> MappedRankTable.write(file));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count(), "Only the directory in the way should be left.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package pl.project.check;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator;
+import pl.project.check.hand.HandStrength;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class SevenCardEvaluatorTest {
+
+    private final SevenCardEvaluator evaluator = new SevenCardEvaluator();
+    private final LookupEvaluator lookupEvaluator = new LookupEvaluator();
+
+    @Test
+    void testStrength_FiveCardsMatchLookupEvaluator() {
+        for (int c0 = 0; c0 < 52; c0++)
+            for (int c1 = c0 + 1; c1 < 52; c1++)
+                for (int c2 = c1 + 1; c2 < 52; c2++)
+                    for (int c3 = c2 + 1; c3 < 52; c3++)
+                        for (int c4 = c3 + 1; c4 < 52; c4++) {
+                            long mask = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+                            assertEquals(lookupEvaluator.strength(mask), evaluator.strength(mask));
+                        }
+    }
+
+    @Test
+    void testStrength_SixAndSevenCardsMatchBestFiveCards() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            long mask = randomHand(random, 6 + (i & 1));
+            assertEquals(bestOfFive(mask), evaluator.strength(mask));
+        }
+    }
+
+    @Test
+    void testWalk_MatchesStrength() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 10_000; i++) {
+            long mask = randomHand(random, SevenCardEvaluator.MAX_CARDS);
+            int state = SevenCardEvaluator.START;
+            for (long m = mask; m != 0; m &= m - 1) {
+                state = evaluator.walk(state, Long.numberOfTrailingZeros(m));
+            }
+            assertEquals(evaluator.strength(mask), evaluator.strength(state, mask));
+        }
+    }
+
+    @Test
+    void testStrength_Examples() {
+        // flush beats the straight made with the other cards
+        long flushOverStraight = CardSet.mask(Card.of(TWO, HEARTS), Card.of(SIX, HEARTS),
+                Card.of(NINE, HEARTS), Card.of(JACK, HEARTS), Card.of(KING, HEARTS), Card.of(TEN, CLUBS),
+                Card.of(QUEEN, SPADES));
+        // two trips make a full house with the higher trips
+        long twoTrips = CardSet.mask(Card.of(FIVE, CLUBS), Card.of(FIVE, HEARTS), Card.of(FIVE, SPADES),
+                Card.of(EIGHT, CLUBS), Card.of(EIGHT, HEARTS), Card.of(EIGHT, DIAMONDS), Card.of(TWO, SPADES));
+        // six suited cards with a straight flush among them
+        long straightFlush = CardSet.mask(Card.of(ACE, SPADES), Card.of(TWO, SPADES), Card.of(THREE, SPADES),
+                Card.of(FOUR, SPADES), Card.of(FIVE, SPADES), Card.of(KING, SPADES), Card.of(KING, HEARTS));
+
+        assertEquals(HandEvaluator.Layouts.FLUSH, HandStrength.layout(evaluator.strength(flushOverStraight)));
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.FULL_HOUSE, EIGHT.ordinal(), FIVE.ordinal()),
+                evaluator.strength(twoTrips));
+        assertEquals(HandStrength.of(HandEvaluator.Layouts.STRAIGHT_FLUSH, FIVE.ordinal()), evaluator.strength(straightFlush));
+    }
+
+    @Test
+    void testStrength_InvalidHands() {
+        assertThrows(IllegalArgumentException.class, () -> evaluator.strength(0b1111L));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.strength(0xFFL));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.strength(0b1111L | 1L << Card.JOKER));
+    }
+
+    private int bestOfFive(long mask) {
+        int best = Integer.MIN_VALUE;
+        for (long m = mask; m != 0; m &= m - 1) {
+            long withoutFirst = mask & ~Long.lowestOneBit(m);
+            if (Long.bitCount(withoutFirst) == 5) {
+                best = Math.max(best, lookupEvaluator.strength(withoutFirst));
+            } else {
+                for (long n = withoutFirst; n != 0; n &= n - 1) {
+                    best = Math.max(best, lookupEvaluator.strength(withoutFirst & ~Long.lowestOneBit(n)));
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long randomHand(SplittableRandom random, int cards) {
+        long mask = 0;
+        while (Long.bitCount(mask) < cards) {
+            mask |= 1L << random.nextInt(Card.COUNT);
+        }
+        return mask;
+    }
+}
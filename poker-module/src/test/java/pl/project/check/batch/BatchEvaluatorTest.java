@@ -0,0 +1,91 @@
+package pl.project.check.batch;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.check.LookupEvaluator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private final LookupEvaluator lookupEvaluator = new LookupEvaluator();
+
+    @Test
+    void testEvaluate_SmallInputSequentially() {
+        long[] hands = randomHands(100, 1);
+        int[] strengths = new int[hands.length];
+
+        new BatchEvaluator().evaluate(hands, strengths);
+
+        for (int i = 0; i < hands.length; i++) {
+            assertEquals(lookupEvaluator.strength(hands[i]), strengths[i]);
+        }
+    }
+
+    @Test
+    void testEvaluate_LargeInputSplitAcrossPool() {
+        long[] hands = randomHands(100_000, 2);
+        int[] strengths = new int[hands.length];
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        new BatchEvaluator(lookupEvaluator, pool, 1000).evaluate(hands, strengths);
+
+        for (int i = 0; i < hands.length; i++) {
+            assertEquals(lookupEvaluator.strength(hands[i]), strengths[i]);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    void testEvaluate_RangeLeavesRestUntouched() {
+        long[] hands = randomHands(10, 3);
+        int[] strengths = new int[hands.length];
+
+        new BatchEvaluator().evaluate(hands, strengths, 2, 5);
+
+        assertEquals(0, strengths[1]);
+        assertEquals(lookupEvaluator.strength(hands[3]), strengths[3]);
+        assertEquals(0, strengths[5]);
+    }
+
+    @Test
+    void testFastest_MatchesLookupOnAllHands() {
+        // every 5-card hand, the odd count also covers lanes left after the last full vector
+        long[] hands = new long[2_598_960 + 1];
+        int count = 0;
+        for (int c0 = 0; c0 < Card.COUNT; c0++)
+            for (int c1 = c0 + 1; c1 < Card.COUNT; c1++)
+                for (int c2 = c1 + 1; c2 < Card.COUNT; c2++)
+                    for (int c3 = c2 + 1; c3 < Card.COUNT; c3++)
+                        for (int c4 = c3 + 1; c4 < Card.COUNT; c4++)
+                            hands[count++] = 1L << c0 | 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4;
+        hands[count] = hands[0];
+        int[] strengths = new int[hands.length];
+
+        BatchEvaluator.fastest().evaluate(hands, strengths);
+
+        for (int i = 0; i < hands.length; i++) {
+            assertEquals(lookupEvaluator.strength(hands[i]), strengths[i], Long.toHexString(hands[i]));
+        }
+    }
+
+    @Test
+    void testEvaluate_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator().evaluate(new long[3], new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> new BatchEvaluator(lookupEvaluator, ForkJoinPool.commonPool(), 0));
+    }
+
+    private static long[] randomHands(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] hands = new long[count];
+        for (int i = 0; i < count; i++) {
+            while (Long.bitCount(hands[i]) < 5) {
+                hands[i] |= 1L << random.nextInt(Card.COUNT);
+            }
+        }
+        return hands;
+    }
+}
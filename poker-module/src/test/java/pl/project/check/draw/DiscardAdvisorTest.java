@@ -0,0 +1,169 @@
+package pl.project.check.draw;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pl.project.Game;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.cards.HandIndex;
+import pl.project.check.LookupEvaluator;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class DiscardAdvisorTest {
+
+    private static final LookupEvaluator EVALUATOR = new LookupEvaluator();
+
+    private static DiscardAdvisor advisor;
+
+    @BeforeAll
+    static void setUp() {
+        advisor = new DiscardAdvisor();
+    }
+
+    @Test
+    void testExpectedStrength_MatchesEnumeratedDraws() {
+        long hand = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, HEARTS), Card.of(KING, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES));
+        long deck = CardSet.FULL_DECK & ~hand;
+
+        for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+            long discarded = select(hand, discard);
+            assertEquals(enumerate(hand, discarded, deck), advisor.expectedStrength(hand, discarded), 1e-9);
+        }
+    }
+
+    @Test
+    void testExpectedStrength_WithKnownCardsMatchesEnumeratedDraws() {
+        long hand = CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS), Card.of(NINE, HEARTS),
+                Card.of(JACK, HEARTS), Card.of(KING, CLUBS));
+        long seen = CardSet.mask(Card.of(THREE, HEARTS), Card.of(QUEEN, HEARTS), Card.of(KING, SPADES),
+                Card.of(KING, DIAMONDS), Card.of(FOUR, CLUBS), Card.of(TEN, SPADES));
+        long smallDeck = CardSet.mask(Card.of(ACE, HEARTS), Card.of(SIX, CLUBS), Card.of(SEVEN, SPADES),
+                Card.of(EIGHT, DIAMONDS), Card.of(QUEEN, CLUBS), Card.of(TWO, CLUBS));
+
+        for (long deck : new long[]{CardSet.FULL_DECK & ~hand & ~seen, smallDeck}) {
+            for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+                long discarded = select(hand, discard);
+                if (Long.bitCount(discarded) <= Long.bitCount(deck)) {
+                    assertEquals(enumerate(hand, discarded, deck), advisor.expectedStrength(hand, discarded, deck), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAdvise_PatHandIsKept() {
+        long straightFlush = CardSet.mask(Card.of(FIVE, CLUBS), Card.of(SIX, CLUBS), Card.of(SEVEN, CLUBS),
+                Card.of(EIGHT, CLUBS), Card.of(NINE, CLUBS));
+        long straight = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, HEARTS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, DIAMONDS), Card.of(ACE, SPADES));
+
+        assertEquals(0, advisor.advise(straightFlush));
+        assertEquals(0, advisor.advise(straight));
+    }
+
+    @Test
+    void testAdvise_IsTheBestDiscard() {
+        SplittableRandom random = new SplittableRandom(13);
+        for (int i = 0; i < 20; i++) {
+            long hand = HandIndex.unrank(random.nextInt(HandIndex.HANDS), 5);
+            for (int maxDiscards = 0; maxDiscards <= DiscardAdvisor.HAND_SIZE; maxDiscards++) {
+                long discarded = advisor.advise(hand, maxDiscards);
+                assertEquals(0, discarded & ~hand);
+                assertTrue(Long.bitCount(discarded) <= maxDiscards);
+
+                double best = advisor.expectedStrength(hand, discarded);
+                for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+                    long other = select(hand, discard);
+                    if (Long.bitCount(other) <= maxDiscards) {
+                        assertTrue(advisor.expectedStrength(hand, other) <= best, CardSet.toList(hand) + " discard " + discard);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAdvise_DoesNotDependOnSuitNames() {
+        long hand = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, HEARTS), Card.of(KING, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES));
+        int[] permutation = {2, 0, 3, 1};
+
+        long discarded = advisor.advise(hand);
+
+        assertEquals(HandIndex.permute(discarded, permutation), advisor.advise(HandIndex.permute(hand, permutation)));
+    }
+
+    @Test
+    void testAdvise_FullDeckMatchesRememberedAdvice() {
+        long hand = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, CLUBS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, CLUBS), Card.of(THREE, DIAMONDS));
+
+        for (int maxDiscards = 0; maxDiscards <= DiscardAdvisor.HAND_SIZE; maxDiscards++) {
+            assertEquals(advisor.advise(hand, maxDiscards), advisor.advise(hand, CardSet.FULL_DECK & ~hand, maxDiscards));
+        }
+    }
+
+    @Test
+    void testAdvise_LowballBreaksPairAndKeepsLowCards() {
+        long hand = CardSet.mask(Card.of(TWO, SPADES), Card.of(THREE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(SEVEN, CLUBS));
+        long lowCards = CardSet.mask(Card.of(TWO, SPADES), Card.of(THREE, HEARTS), Card.of(FOUR, CLUBS));
+
+        long sevens = hand & ~lowCards;
+
+        assertEquals(lowCards, advisor.advise(hand), "High hands keep the pair.");
+        for (Game.Variant variant : new Game.Variant[]{Game.Variant.DEUCE_TO_SEVEN, Game.Variant.ACE_TO_FIVE}) {
+            long discarded = new DiscardAdvisor(variant).advise(hand);
+            assertEquals(1, Long.bitCount(discarded), variant + " should break the pair.");
+            assertEquals(discarded, discarded & sevens, variant + " should keep the low cards.");
+        }
+    }
+
+    @Test
+    void testAdvise_InvalidArguments() {
+        long hand = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, CLUBS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, CLUBS), Card.of(THREE, DIAMONDS));
+
+        assertThrows(IllegalArgumentException.class, () -> advisor.advise(hand & (hand - 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> advisor.advise(hand & (hand - 1) | 1L << Card.joker(0).getId()));
+        assertThrows(IllegalArgumentException.class, () -> advisor.advise(hand, -1));
+        assertThrows(IllegalArgumentException.class, () -> advisor.advise(hand, CardSet.FULL_DECK, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> advisor.expectedStrength(hand, CardSet.mask(Card.of(ACE, SPADES))));
+    }
+
+    private static double enumerate(long hand, long discarded, long deck) {
+        int missing = Long.bitCount(discarded);
+        return (double) drawInto(hand & ~discarded, deck, missing) / HandIndex.binomial(Long.bitCount(deck), missing);
+    }
+
+    private static long drawInto(long kept, long deck, int missing) {
+        if (missing == 0) {
+            return LookupEvaluator.CLASSES + 1 - EVALUATOR.rankClass(kept);
+        }
+        long sum = 0;
+        for (long m = deck; m != 0; m &= m - 1) {
+            long card = m & -m;
+            sum += drawInto(kept | card, m & ~card, missing - 1);
+        }
+        return sum;
+    }
+
+    private static long select(long hand, int discard) {
+        long mask = 0;
+        int i = 0;
+        for (long m = hand; m != 0; m &= m - 1, i++) {
+            if ((discard & (1 << i)) != 0) {
+                mask |= m & -m;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,183 @@
+package pl.project.check.draw;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class DrawTableTest {
+
+    private static final int ROW = DrawTable.DISCARDS * SubsetCounts.LAYOUTS;
+
+    @TempDir
+    Path directory;
+
+    private static SubsetCounts counts;
+
+    @BeforeAll
+    static void setUp() {
+        counts = SubsetCounts.build(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void testWrite_ValidFileOfRows() throws Exception {
+        Path file = directory.resolve("draw.bin");
+
+        DrawTable.write(file, 2, DrawTableTest::fillSmallTable);
+
+        assertEquals(20 + 4L * 2 * ROW, Files.size(file));
+        assertTrue(DrawTable.isValid(file, 2));
+        assertFalse(DrawTable.isValid(file, 3), "Other number of hands should not match the header.");
+    }
+
+    @Test
+    void testIsValid_ChangedPayloadIsNotValid() throws Exception {
+        Path file = directory.resolve("changed.bin");
+        DrawTable.write(file, 2, DrawTableTest::fillSmallTable);
+        ByteBuffer first = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.read(first, 20);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~first.get(0)}), 20);
+        }
+
+        assertFalse(DrawTable.isValid(file, 2), "Changed payload should be computed again.");
+        assertFalse(DrawTable.isValid(directory.resolve("missing.bin"), 2));
+    }
+
+    @Test
+    void testWrite_FailureLeavesNoTemporaryFile() throws Exception {
+        Path file = directory.resolve("failed.bin");
+
+        assertThrows(IllegalStateException.class, () -> DrawTable.write(file, 2, table -> {
+            throw new IllegalStateException("rows failed");
+        }));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testDistribution_MatchesEnumeratedDraws() {
+        long[] hands = {
+                CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, HEARTS), Card.of(KING, CLUBS),
+                        Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES)),
+                CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS), Card.of(NINE, HEARTS),
+                        Card.of(JACK, HEARTS), Card.of(KING, CLUBS)),
+                CardSet.mask(Card.of(SIX, CLUBS), Card.of(SEVEN, DIAMONDS), Card.of(EIGHT, SPADES),
+                        Card.of(NINE, HEARTS), Card.of(QUEEN, HEARTS))
+        };
+        long[] actual = new long[SubsetCounts.LAYOUTS];
+
+        for (long hand : hands) {
+            for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+                long discarded = select(hand, discard);
+                distribution(hand, discarded, actual);
+                assertArrayEquals(enumerate(hand, discarded), actual, CardSet.toList(hand) + " discard " + discard);
+            }
+        }
+    }
+
+    @Test
+    void testDistribution_SumsToAllDraws() {
+        long hand = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, CLUBS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, CLUBS), Card.of(THREE, DIAMONDS));
+        long[] layouts = new long[SubsetCounts.LAYOUTS];
+
+        for (int discard = 0; discard < DrawTable.DISCARDS; discard++) {
+            long discarded = select(hand, discard);
+            distribution(hand, discarded, layouts);
+            long sum = 0;
+            for (long count : layouts) {
+                sum += count;
+            }
+            assertEquals(DrawTable.draws(Integer.bitCount(discard)), sum);
+        }
+    }
+
+    @Test
+    void testDistribution_DrawingToRoyalFlush() {
+        long hand = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, CLUBS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, CLUBS), Card.of(THREE, DIAMONDS));
+        long threeOfDiamonds = CardSet.mask(Card.of(THREE, DIAMONDS));
+        long[] layouts = new long[SubsetCounts.LAYOUTS];
+
+        distribution(hand, threeOfDiamonds, layouts);
+
+        assertEquals(1, layouts[HandEvaluator.Layouts.ROYAL_FLUSH.ordinal()]);
+        assertEquals(1, layouts[HandEvaluator.Layouts.STRAIGHT_FLUSH.ordinal()]);
+        assertEquals(47, DrawTable.draws(1));
+    }
+
+    @Test
+    void testDistribution_InvalidDiscard() {
+        long hand = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, CLUBS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, CLUBS), Card.of(THREE, DIAMONDS));
+
+        assertThrows(IllegalArgumentException.class, () -> DrawTable.offset(hand, CardSet.mask(Card.of(ACE, SPADES))));
+        assertThrows(IllegalArgumentException.class, () -> DrawTable.offset(hand & (hand - 1), 0));
+    }
+
+    /**
+     * Reads the counts as {@link DrawTable#distribution} does, from the only row of the table that is needed
+     */
+    private static void distribution(long hand, long discarded, long[] out) {
+        int offset = DrawTable.offset(hand, discarded);
+        IntBuffer row = IntBuffer.allocate(ROW);
+        DrawTable.fillRow(counts, offset / ROW, row, 0);
+        for (int layout = 0; layout < SubsetCounts.LAYOUTS; layout++) {
+            out[layout] = row.get(offset % ROW + layout);
+        }
+    }
+
+    private static void fillSmallTable(IntBuffer table) {
+        for (int i = 0; i < 2 * ROW; i++) {
+            table.put(i, i);
+        }
+    }
+
+    private static long[] enumerate(long hand, long discarded) {
+        long[] layouts = new long[SubsetCounts.LAYOUTS];
+        long deck = CardSet.FULL_DECK & ~hand;
+        drawInto(hand & ~discarded, deck, Long.bitCount(discarded), layouts);
+        return layouts;
+    }
+
+    private static void drawInto(long kept, long deck, int missing, long[] layouts) {
+        if (missing == 0) {
+            layouts[SubsetCounts.layout(kept)]++;
+            return;
+        }
+        for (long m = deck; m != 0; m &= m - 1) {
+            long card = m & -m;
+            // cards are drawn in increasing order, so every set of cards is counted once
+            drawInto(kept | card, m & ~card, missing - 1, layouts);
+        }
+    }
+
+    private static long select(long hand, int discard) {
+        long mask = 0;
+        int i = 0;
+        for (long m = hand; m != 0; m &= m - 1, i++) {
+            if ((discard & (1 << i)) != 0) {
+                mask |= m & -m;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,182 @@
+package pl.project.check.equity;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.LookupEvaluator;
+import pl.project.check.batch.BatchEvaluator;
+import pl.project.check.draw.DiscardAdvisor;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class EquityCalculatorTest {
+
+    private final EquityCalculator calculator = new EquityCalculator(7);
+
+    @Test
+    void testCalculate_KnownHandsAreDecided() {
+        long flush = CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS), Card.of(NINE, HEARTS),
+                Card.of(JACK, HEARTS), Card.of(KING, HEARTS));
+        long pair = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS), Card.of(KING, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES));
+
+        Equity equity = calculator.calculate(new long[]{pair, flush}, 0, 1000);
+
+        assertEquals(1000, equity.getSamples());
+        assertEquals(0.0, equity.equity(0));
+        assertEquals(1.0, equity.win(1));
+        assertEquals(1.0, equity.equity(1));
+        assertEquals(0.0, equity.margin(1));
+    }
+
+    @Test
+    void testCalculate_EqualHandsSplitThePot() {
+        long straight = CardSet.mask(Card.of(TEN, CLUBS), Card.of(JACK, HEARTS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, DIAMONDS), Card.of(ACE, SPADES));
+        long otherStraight = CardSet.mask(Card.of(TEN, HEARTS), Card.of(JACK, CLUBS), Card.of(QUEEN, HEARTS),
+                Card.of(KING, SPADES), Card.of(ACE, DIAMONDS));
+
+        Equity equity = calculator.calculate(new long[]{straight, otherStraight}, 0, 100);
+
+        for (int player = 0; player < 2; player++) {
+            assertEquals(0.0, equity.win(player));
+            assertEquals(1.0, equity.tie(player));
+            assertEquals(0.5, equity.equity(player));
+        }
+    }
+
+    @Test
+    void testCalculate_DrawMatchesExactEquity() {
+        long fourToFlush = CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS), Card.of(NINE, HEARTS),
+                Card.of(JACK, HEARTS));
+        long pair = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS), Card.of(KING, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES));
+        long dead = CardSet.mask(Card.of(KING, HEARTS), Card.of(THREE, CLUBS));
+
+        double exact = exactEquity(fourToFlush, pair, dead);
+        Equity equity = calculator.calculate(new long[]{fourToFlush, pair}, dead, 200_000);
+
+        assertEquals(exact, equity.equity(0), 2 * equity.margin(0));
+        assertEquals(1.0, equity.equity(0) + equity.equity(1), 1e-9);
+    }
+
+    @Test
+    void testCalculate_ExchangeMatchesExactEquity() {
+        long flush = CardSet.mask(Card.of(TWO, HEARTS), Card.of(FIVE, HEARTS), Card.of(NINE, HEARTS),
+                Card.of(JACK, HEARTS), Card.of(KING, HEARTS));
+        long pair = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS), Card.of(KING, CLUBS),
+                Card.of(SEVEN, DIAMONDS), Card.of(TWO, SPADES));
+        DiscardAdvisor advisor = new DiscardAdvisor();
+        assertEquals(0, advisor.advise(flush, 3), "The flush should stand pat.");
+        long discarded = advisor.advise(pair, 3);
+
+        double exact = exactEquityAfterDraw(pair & ~discarded, flush, pair);
+        Equity equity = calculator.calculate(new long[]{pair, flush}, 0, 200_000, 3);
+
+        assertTrue(exact > 0, "The pair should sometimes improve past the flush.");
+        assertEquals(exact, equity.equity(0), 2 * equity.margin(0));
+        assertEquals(1.0, equity.equity(0) + equity.equity(1), 1e-9);
+    }
+
+    @Test
+    void testCalculate_UnknownHandsAreSymmetric() {
+        Equity equity = calculator.calculate(new long[6], 0, 60_000);
+
+        double total = 0;
+        for (int player = 0; player < equity.players(); player++) {
+            assertEquals(1.0 / 6, equity.equity(player), 2 * equity.margin(player));
+            total += equity.equity(player);
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    void testCalculate_SameSeedSameResultOnAnyPool() {
+        long[] hands = {CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS)),
+                CardSet.mask(Card.of(KING, HEARTS), Card.of(QUEEN, HEARTS), Card.of(JACK, HEARTS)), 0};
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            BatchEvaluator evaluator = new BatchEvaluator(new LookupEvaluator(), single, BatchEvaluator.DEFAULT_THRESHOLD);
+            Equity first = new EquityCalculator(evaluator, single, 42).calculate(hands, 0, 50_000);
+            Equity second = new EquityCalculator(evaluator, many, 42).calculate(hands, 0, 50_000);
+
+            for (int player = 0; player < hands.length; player++) {
+                assertEquals(first.win(player), second.win(player));
+                assertEquals(first.tie(player), second.tie(player));
+            }
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    void testCalculate_TimeBudget() {
+        long pair = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS));
+        Equity equity = calculator.calculate(new long[]{pair, 0}, 0, Duration.ofMillis(50));
+
+        assertTrue(equity.getSamples() >= EquityCalculator.BLOCK);
+        assertTrue(equity.equity(0) > 0.5);
+    }
+
+    @Test
+    void testCalculate_InvalidArguments() {
+        long pair = CardSet.mask(Card.of(ACE, SPADES), Card.of(ACE, CLUBS));
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[]{pair, pair}, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[]{pair}, pair, 10));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[]{CardSet.FULL_DECK}, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[11], 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[]{pair}, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[]{pair}, 0, 10, 6));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(new long[10], 0, 10, 1));
+    }
+
+    private static double exactEquity(long drawing, long made, long dead) {
+        LookupEvaluator evaluator = new LookupEvaluator();
+        int madeStrength = evaluator.strength(made);
+        long deck = CardSet.FULL_DECK & ~drawing & ~made & ~dead;
+        double share = 0;
+        for (long m = deck; m != 0; m &= m - 1) {
+            int strength = evaluator.strength(drawing | (m & -m));
+            share += strength > madeStrength ? 1 : strength == madeStrength ? 0.5 : 0;
+        }
+        return share / Long.bitCount(deck);
+    }
+
+    /**
+     * Equity of the kept cards completed by every draw from the deck, against a hand standing pat
+     */
+    private static double exactEquityAfterDraw(long kept, long made, long dealt) {
+        LookupEvaluator evaluator = new LookupEvaluator();
+        int madeStrength = evaluator.strength(made);
+        long deck = CardSet.FULL_DECK & ~dealt & ~made;
+        int[] cards = new int[Long.bitCount(deck)];
+        int card = 0;
+        for (long m = deck; m != 0; m &= m - 1) {
+            cards[card++] = Long.numberOfTrailingZeros(m);
+        }
+        double[] share = new double[2];
+        drawInto(evaluator, kept, cards, 0, 5 - Long.bitCount(kept), madeStrength, share);
+        return share[0] / share[1];
+    }
+
+    private static void drawInto(LookupEvaluator evaluator, long hand, int[] cards, int from, int missing,
+                                 int madeStrength, double[] share) {
+        if (missing == 0) {
+            int strength = evaluator.strength(hand);
+            share[0] += strength > madeStrength ? 1 : strength == madeStrength ? 0.5 : 0;
+            share[1]++;
+            return;
+        }
+        for (int i = from; i < cards.length; i++) {
+            drawInto(evaluator, hand | 1L << cards[i], cards, i + 1, missing - 1, madeStrength, share);
+        }
+    }
+}
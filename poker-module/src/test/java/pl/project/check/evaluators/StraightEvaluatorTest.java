@@ -64,7 +64,42 @@ class StraightEvaluatorTest {
         assertTrue(evaluator.getPosition().isEmpty());
     }
 
+    @Test
+    void testEvaluate_FindsWheel() {
+        // Given
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(ACE, HEARTS),
+                new Card(TWO, DIAMONDS),
+                new Card(THREE, CLUBS),
+                new Card(FOUR, SPADES),
+                new Card(FIVE, HEARTS)
+        ));
+
+        // When
+        boolean result = evaluator.evaluate(hand);
+
+        // Then
+        assertTrue(result);
+        assertEquals(5, evaluator.getPosition().size());
+    }
 
+    @Test
+    void testEvaluate_AceWithLowCardsWithoutFive() {
+        // Given
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(ACE, HEARTS),
+                new Card(TWO, DIAMONDS),
+                new Card(THREE, CLUBS),
+                new Card(FOUR, SPADES),
+                new Card(SIX, HEARTS)
+        ));
+
+        // When
+        boolean result = evaluator.evaluate(hand);
+
+        // Then
+        assertFalse(result);
+    }
 
     @Test
     void testGetLayout_ReturnsStraight() {
@@ -88,6 +88,26 @@ class StraightFlushEvaluatorTest {
         assertFalse(result, "StraightFlushEvaluator should return false when hand is neither straight nor flush.");
     }
 
+    @Test
+    void testEvaluate_ReturnsTrue_ForSteelWheel() {
+        // Arrange
+        StraightFlushEvaluator evaluator = new StraightFlushEvaluator();
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(Rank.ACE, Suit.CLUBS),
+                new Card(Rank.TWO, Suit.CLUBS),
+                new Card(Rank.THREE, Suit.CLUBS),
+                new Card(Rank.FOUR, Suit.CLUBS),
+                new Card(Rank.FIVE, Suit.CLUBS)
+        ));
+
+        // Act
+        boolean result = evaluator.evaluate(hand);
+
+        // Assert
+        assertTrue(result, "StraightFlushEvaluator should accept A-2-3-4-5 of one suit.");
+        assertFalse(new RoyalFlushEvaluator().evaluate(hand), "A-2-3-4-5 of one suit is not a royal flush.");
+    }
+
     @Test
     void testGetLayout_ReturnsStraightFlush() {
         // Arrange
@@ -105,6 +105,25 @@ class EvaluatedHandTest {
         assertEquals(0, hand1.compareTo(hand2), "Hands with the same layout and maxCardOfLayout should be equal.");
     }
 
+    @Test
+    void testCompareTo_SameLayouts_KickerDecides() {
+        // Arrange
+        List<Card> kingsWithAce = List.of(
+                new Card(Rank.KING, Suit.HEARTS), new Card(Rank.KING, Suit.CLUBS),
+                new Card(Rank.ACE, Suit.CLUBS), new Card(Rank.THREE, Suit.SPADES), new Card(Rank.TWO, Suit.SPADES));
+        List<Card> kingsWithQueen = List.of(
+                new Card(Rank.KING, Suit.SPADES), new Card(Rank.KING, Suit.DIAMONDS),
+                new Card(Rank.QUEEN, Suit.CLUBS), new Card(Rank.THREE, Suit.HEARTS), new Card(Rank.TWO, Suit.HEARTS));
+
+        EvaluatedHand hand1 = new EvaluatedHand(kingsWithAce, new Card(Rank.ACE, Suit.CLUBS),
+                HandEvaluator.Layouts.PAIR, 1, new ArrayList<>(kingsWithAce.subList(0, 2)));
+        EvaluatedHand hand2 = new EvaluatedHand(kingsWithQueen, new Card(Rank.KING, Suit.SPADES),
+                HandEvaluator.Layouts.PAIR, 2, new ArrayList<>(kingsWithQueen.subList(0, 2)));
+
+        // Act & Assert
+        assertTrue(hand1.compareTo(hand2) > 0, "Ace kicker should beat queen kicker.");
+    }
+
     // Helper method to create hands quickly
     private List<Card> createHand(Rank... ranks) {
         List<Card> hand = new ArrayList<>();
@@ -0,0 +1,62 @@
+package pl.project.check.hand;
+
+import org.junit.jupiter.api.Test;
+import pl.project.cards.Card;
+import pl.project.cards.Card.Rank;
+import pl.project.cards.Card.Suit;
+import pl.project.check.evaluators.HandEvaluator.Layouts;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandStrengthTest {
+
+    @Test
+    void testOf_LayoutIsMoreImportantThanRanks() {
+        int pairOfTwos = HandStrength.of(Layouts.PAIR, 0, 3, 2, 1);
+        int aceHigh = HandStrength.of(Layouts.HIGH_CARD, 12, 11, 10, 9, 7);
+
+        assertTrue(pairOfTwos > aceHigh);
+    }
+
+    @Test
+    void testOf_KickersResolveTies() {
+        // Given
+        List<Card> kingsWithAce = List.of(
+                new Card(Rank.KING, Suit.HEARTS), new Card(Rank.KING, Suit.CLUBS),
+                new Card(Rank.ACE, Suit.CLUBS), new Card(Rank.THREE, Suit.SPADES), new Card(Rank.TWO, Suit.SPADES));
+        List<Card> kingsWithQueen = List.of(
+                new Card(Rank.KING, Suit.SPADES), new Card(Rank.KING, Suit.DIAMONDS),
+                new Card(Rank.QUEEN, Suit.CLUBS), new Card(Rank.THREE, Suit.HEARTS), new Card(Rank.TWO, Suit.HEARTS));
+
+        // When
+        int first = HandStrength.of(Layouts.PAIR, kingsWithAce);
+        int second = HandStrength.of(Layouts.PAIR, kingsWithQueen);
+
+        // Then
+        assertTrue(first > second);
+        assertEquals(Rank.KING.ordinal(), HandStrength.rank(first, 0));
+        assertEquals(Rank.ACE.ordinal(), HandStrength.rank(first, 1));
+        assertEquals(Layouts.PAIR, HandStrength.layout(first));
+    }
+
+    @Test
+    void testOf_WheelIsFiveHigh() {
+        List<Card> wheel = List.of(
+                new Card(Rank.ACE, Suit.HEARTS), new Card(Rank.TWO, Suit.CLUBS),
+                new Card(Rank.THREE, Suit.CLUBS), new Card(Rank.FOUR, Suit.SPADES), new Card(Rank.FIVE, Suit.SPADES));
+
+        assertEquals(HandStrength.of(Layouts.STRAIGHT, Rank.FIVE.ordinal()), HandStrength.of(Layouts.STRAIGHT, wheel));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("TWO_PAIRS[KING, TWO, NINE]", HandStrength.toString(HandStrength.of(Layouts.TWO_PAIRS, 11, 0, 7)));
+    }
+
+    @Test
+    void testOf_TooManyRanks() {
+        assertThrows(IllegalArgumentException.class, () -> HandStrength.of(Layouts.FLUSH, 1, 2, 3, 4, 5, 6));
+    }
+}
@@ -0,0 +1,121 @@
+package pl.project.check.showdown;
+
+import org.junit.jupiter.api.Test;
+import pl.project.Game;
+import pl.project.Player;
+import pl.project.cards.Card;
+import pl.project.check.StrengthEvaluator;
+import pl.project.check.evaluators.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pl.project.cards.Card.Rank.*;
+import static pl.project.cards.Card.Suit.*;
+
+class ShowdownResolverTest {
+
+    private final ShowdownResolver resolver = new ShowdownResolver();
+
+    @Test
+    void testResolve_BestHandTakesStake() {
+        Settlement settlement = resolver.resolve(new int[]{1, 2, 3}, new int[]{300, 700, 500}, 0, 1000);
+
+        assertEquals(0b010, settlement.getWinners());
+        assertEquals(1, settlement.firstWinner());
+        assertArrayEquals(new int[]{0, 1000, 0}, amounts(settlement));
+    }
+
+    @Test
+    void testResolve_FoldedHandCannotWin() {
+        Settlement settlement = resolver.resolve(new int[]{1, 2, 3}, new int[]{300, 700, 500}, 0b010, 1000);
+
+        assertTrue(settlement.isFolded(1));
+        assertFalse(settlement.isWinner(1));
+        assertArrayEquals(new int[]{0, 0, 1000}, amounts(settlement));
+    }
+
+    @Test
+    void testResolve_TiedHandsSplitPot() {
+        Settlement settlement = resolver.resolve(new int[]{1, 2, 3, 4}, new int[]{700, 100, 700, 700}, 0, 900);
+
+        assertEquals(3, settlement.winnerCount());
+        assertArrayEquals(new int[]{300, 0, 300, 300}, amounts(settlement));
+    }
+
+    @Test
+    void testResolve_OddChipsGoToFirstSeats() {
+        Settlement settlement = resolver.resolve(new int[]{1, 2, 3, 4}, new int[]{700, 700, 100, 700}, 0, 1001);
+        assertArrayEquals(new int[]{334, 334, 0, 333}, amounts(settlement));
+
+        Settlement folded = resolver.resolve(new int[]{1, 2, 3, 4}, new int[]{700, 700, 100, 700}, 0b001, 1001);
+        assertArrayEquals(new int[]{0, 501, 0, 500}, amounts(folded));
+    }
+
+    @Test
+    void testResolve_EveryoneFolded() {
+        Settlement settlement = resolver.resolve(new int[]{1, 2}, new int[]{700, 100}, 0b11, 1000);
+
+        assertEquals(0, settlement.winnerCount());
+        assertEquals(-1, settlement.firstWinner());
+        assertArrayEquals(new int[]{0, 0}, amounts(settlement));
+    }
+
+    @Test
+    void testResolve_Players() {
+        Player straight = player(1, Card.of(TEN, CLUBS), Card.of(JACK, HEARTS), Card.of(QUEEN, CLUBS),
+                Card.of(KING, DIAMONDS), Card.of(ACE, SPADES));
+        Player otherStraight = player(2, Card.of(TEN, HEARTS), Card.of(JACK, CLUBS), Card.of(QUEEN, HEARTS),
+                Card.of(KING, SPADES), Card.of(ACE, DIAMONDS));
+        Player flush = player(3, Card.of(TWO, SPADES), Card.of(FIVE, SPADES), Card.of(NINE, SPADES),
+                Card.of(JACK, SPADES), Card.of(KING, SPADES));
+        flush.setFold(true);
+
+        Settlement settlement = resolver.resolve(List.of(straight, otherStraight, flush), 101);
+
+        assertEquals(HandEvaluator.Layouts.STRAIGHT, settlement.layout(0));
+        assertEquals(HandEvaluator.Layouts.FLUSH, settlement.layout(2));
+        assertEquals(3, settlement.playerID(2));
+        assertArrayEquals(new int[]{51, 50, 0}, amounts(settlement));
+    }
+
+    @Test
+    void testResolve_LowballLowestHandWins() {
+        ShowdownResolver lowball = new ShowdownResolver(StrengthEvaluator.forVariant(Game.Variant.DEUCE_TO_SEVEN));
+        Player sevenLow = player(1, Card.of(SEVEN, CLUBS), Card.of(FIVE, HEARTS), Card.of(FOUR, CLUBS),
+                Card.of(THREE, DIAMONDS), Card.of(TWO, SPADES));
+        Player straight = player(2, Card.of(TEN, HEARTS), Card.of(JACK, CLUBS), Card.of(QUEEN, HEARTS),
+                Card.of(KING, SPADES), Card.of(ACE, DIAMONDS));
+        Player pair = player(3, Card.of(TWO, HEARTS), Card.of(TWO, CLUBS), Card.of(NINE, SPADES),
+                Card.of(JACK, SPADES), Card.of(KING, SPADES));
+
+        Settlement settlement = lowball.resolve(List.of(straight, sevenLow, pair), 100);
+
+        assertArrayEquals(new int[]{0, 100, 0}, amounts(settlement));
+        assertEquals(HandEvaluator.Layouts.STRAIGHT, settlement.layout(0));
+        assertEquals(HandEvaluator.Layouts.HIGH_CARD, settlement.layout(1));
+        assertEquals(HandEvaluator.Layouts.PAIR, settlement.layout(2));
+    }
+
+    @Test
+    void testResolve_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(new int[]{1, 2}, new int[]{1}, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(new int[]{1}, new int[]{1}, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(new int[33], new int[33], 0, 10));
+    }
+
+    private static int[] amounts(Settlement settlement) {
+        int[] amounts = new int[settlement.seats()];
+        for (int seat = 0; seat < amounts.length; seat++) {
+            amounts[seat] = settlement.amount(seat);
+        }
+        return amounts;
+    }
+
+    private static Player player(int id, Card... hand) {
+        Player player = new Player("player" + id, id);
+        player.setHand(new ArrayList<>(List.of(hand)));
+        return player;
+    }
+}
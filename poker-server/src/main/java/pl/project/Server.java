@@ -31,6 +31,28 @@ public class Server {
     }
 
 
+    /**
+     * Reads the number of players in a game from the first command-line argument, 4 when missing
+     * @param args command-line arguments of the server
+     * @return number of players, from 1 to {@value Game#MAX_SEATS}
+     * @throws IllegalArgumentException when the argument is not a number of players a game can seat
+     */
+    static int maxNumberOfPlayers(String[] args) {
+        if (args.length == 0) {
+            return 4;
+        }
+        int maxNumberOfPlayers;
+        try {
+            maxNumberOfPlayers = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Number of players must be a number, got " + args[0]);
+        }
+        if (maxNumberOfPlayers < 1 || maxNumberOfPlayers > Game.MAX_SEATS) {
+            throw new IllegalArgumentException("Game can have 1.." + Game.MAX_SEATS + " players, got " + maxNumberOfPlayers);
+        }
+        return maxNumberOfPlayers;
+    }
+
     /**
      * Entry point for the server application.
      * @param args optional command-line arguments for server configuration.
@@ -39,11 +61,9 @@ public class Server {
 
         try {
             // setting max players
-            int maxNumberOfPlayers = 4;
-            if (args.length != 0) {
-                maxNumberOfPlayers = Integer.parseInt(args[0]);
-            }
+            int maxNumberOfPlayers = maxNumberOfPlayers(args);
             serverData = new ServerData(maxNumberOfPlayers);
+            serverData.deckPool.start();
             System.out.println("Max number of players has been set to: " + maxNumberOfPlayers);
 
 
@@ -154,6 +174,21 @@ public class Server {
     }
 
 
+    /**
+     * Plays the exchange for a disconnected player whose turn it was to change cards, so the game does not wait for them
+     * @param playerID id of the disconnected player
+     * @throws IOException if an I/O error occurs while notifying other players
+     */
+    static void autoChangeCards(int playerID) throws IOException {
+        ChangeCardCommand exchange = (ChangeCardCommand) commands.get("exchange");
+        for (Game game : new ArrayList<>(serverData.games.values())) {
+            if (game.getChangingPlayerID() == playerID) {
+                exchange.handleAutoChange(game, playerID, serverData);
+            }
+        }
+    }
+
+
     /**
      * Disconnects a client safely, cleaning up resources and notifying other components.
      * @param clientChannel the channel of the client to disconnect.
@@ -166,6 +201,7 @@ public class Server {
 
             int clientID = serverData.reverseUserMap.get(clientChannel);
             serverData.clients.remove(clientID);
+            autoChangeCards(clientID);
             serverData.players.remove(clientID);
             serverData.reverseUserMap.remove(clientChannel);
 
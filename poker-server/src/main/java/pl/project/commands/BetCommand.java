@@ -8,7 +8,6 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 /**
  * One of implementation of Command Interface
@@ -85,7 +84,7 @@ public class BetCommand implements Command {
      * @throws IOException if an I/O error occurs
      */
     void handleCurrentState(Game game, ServerData serverData) throws IOException {
-        if (!game.getCurrentAuctionQueue().isEmpty()){
+        if (game.hasQueuedPlayers()){
             int nextPlayerID = game.nextPlayerIDFromQueue();
             String token = "startAuction " + game.getPlayers().get(nextPlayerID).getCash() + " "+ game.getMinimumBet() + " " + game.getStake();
             sendToken(serverData.clients.get(nextPlayerID), token);
@@ -111,6 +110,7 @@ public class BetCommand implements Command {
 
                     String token = "changeCards";
                     clientCH.write(ByteBuffer.wrap(token.getBytes(StandardCharsets.UTF_8)));
+                    game.setChangingPlayerID(gameFounderID);
                     game.setNumberOfAuction(game.getNumberOfAuction() + 1);
                 }
             }
@@ -133,7 +133,8 @@ public class BetCommand implements Command {
      * @throws IOException if an I/O error occurs
      */
     void handleSendTokenToEveryOne(Game game, ServerData serverData, String token) throws IOException {
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             sendToken(serverData.clients.get(gamePlayerID), token);
         }
     }
@@ -158,7 +159,8 @@ public class BetCommand implements Command {
         if (winnerID != -1){
 
             // send them to summary
-            for (Integer gamePlayerID : game.getPlayerIDs()) {
+            for (int seat = 0; seat < game.getSeatCount(); seat++) {
+                int gamePlayerID = game.getSeatPlayerID(seat);
                 sendToken(serverData.clients.get(gamePlayerID), "winner " + winnerID + " "+ serverData.players.get(winnerID).getUserName() + " " + game.getStake());
             }
         }
@@ -191,10 +193,8 @@ public class BetCommand implements Command {
         game.setStake(game.getStake() + sum);
         game.setMinimumBet(sum);
 
-        List<Integer> ids = game.getPlayersIDsBeforeNotFold(playerID);
-
         // dodanie graczy którzy muszą ponowanie scallować bo podniesiono zakład
-        game.getCurrentAuctionQueue().addAll(ids);
+        game.queuePlayersBefore(playerID);
     }
 
     /**
@@ -210,14 +210,10 @@ public class BetCommand implements Command {
         game.setStake(game.getStake() + sum);
         game.setMinimumBet(sum);
 
-        currentPLayer.setAllIn(true);
+        game.playerAllIn(playerID);
 
-        System.out.println("tutaj problem?");
-        List<Integer> ids = game.getPlayersIDsBeforeNotFold(playerID);
-        System.out.println(ids);
-        System.out.println("nie tutaj");
         // dodanie graczy którzy muszą ponowanie scallować bo podniesiono zakład
-        game.getCurrentAuctionQueue().addAll(ids);
+        game.queuePlayersBefore(playerID);
     }
 
 
@@ -233,7 +229,8 @@ public class BetCommand implements Command {
      */
     void sendInfoAboutBet(Game game, int playerID, String type, int sum, ServerData serverData) throws IOException {
         // sending info to other players that one player bet
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             if (gamePlayerID != playerID) {
                 sendToken(serverData.clients.get(gamePlayerID), "playerBet " + serverData.players.get(playerID).getUserName() + " " + type + " " + sum);
             }
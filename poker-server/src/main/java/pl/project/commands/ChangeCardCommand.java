@@ -1,18 +1,34 @@
 package pl.project.commands;
 
 import pl.project.Game;
+import pl.project.Player;
+import pl.project.cards.Card;
+import pl.project.cards.CardSet;
+import pl.project.check.draw.DiscardAdvisor;
 import pl.project.data.ServerData;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * One of implementation of Command Interface
  */
 public class ChangeCardCommand implements Command {
 
+    /**
+     * Number of cards a player can exchange in one game
+     */
+    static final int MAX_EXCHANGES = 4;
+
+    /**
+     * Advisors of every variant are shared by all games. Building the tables of one takes about a second,
+     * so they are built by the first auto-change in a game of that variant rather than when the command is loaded
+     */
+    private static final Map<Game.Variant, DiscardAdvisor> ADVISORS = new ConcurrentHashMap<>();
+
     /**
      * Executes the "change card" command, handling whether a player wants to change a card or not.
      *
@@ -59,7 +75,7 @@ public class ChangeCardCommand implements Command {
     void handleChangeCardToken(SocketChannel clientChannel, Game game, int playerID, ServerData serverData, int cardID) throws IOException {
         int count = serverData.getPlayers().get(playerID).getExchangeCounter();
 
-        if (count < 4) {
+        if (count < MAX_EXCHANGES) {
             String newCard = game.changeCard(playerID, cardID);
             sendToken(clientChannel, "acceptedChange " + cardID + " " + newCard);
             serverData.getPlayers().get(playerID).setExchangeCounter(count + 1);
@@ -74,6 +90,47 @@ public class ChangeCardCommand implements Command {
     }
 
 
+    /**
+     * Exchanges cards for a player who cannot answer - {@code Server} calls it when the player whose turn it is
+     * to exchange disconnects. Cards are chosen by the {@link DiscardAdvisor} of the game's variant within
+     * the exchanges the player has left, a hand with jokers is kept as it is. The player cannot bet any more,
+     * so then they fold - the last player left wins the hand, otherwise the game moves on as if the player
+     * ended changing. The player is not sent any token, the new hand is shown in the summary.
+     *
+     * @param game       the {@link Game} object representing the current game
+     * @param playerID   the ID of the player whose cards are exchanged
+     * @param serverData the {@link ServerData} object containing game and player state
+     * @throws IOException if an I/O error occurs
+     */
+    public void handleAutoChange(Game game, int playerID, ServerData serverData) throws IOException {
+        Player player = game.getPlayers().get(playerID);
+        int count = player.getExchangeCounter();
+        long handMask = player.getHandMask();
+        // doradca liczy tylko reki bez jokerow, z jokerem gracz zostaje przy swoich kartach
+        long discarded = (handMask & CardSet.JOKERS) != 0 ? 0
+                : ADVISORS.computeIfAbsent(game.getVariant(), DiscardAdvisor::new)
+                        .advise(handMask, Math.max(0, MAX_EXCHANGES - count));
+
+        List<Card> hand = player.getHand();
+        for (int cardID = 0; cardID < hand.size(); cardID++) {
+            if (CardSet.contains(discarded, hand.get(cardID).getId())) {
+                game.changeCard(playerID, cardID);
+                count++;
+            }
+        }
+        player.setExchangeCounter(count);
+
+        // rozlaczony gracz nie licytuje dalej, wiec pasuje i nie trafia do kolejnych kolejek
+        int winnerID = game.playerFold(playerID);
+        if (winnerID != -1) {
+            game.setChangingPlayerID(-1);
+            sendWinner(game, winnerID, serverData);
+            return;
+        }
+        handleAuctionOrChange(game, serverData);
+    }
+
+
     /**
      * Handles the scenario where a player opts not to change cards, sending confirmation and progressing the game state.
      *
@@ -93,18 +150,26 @@ public class ChangeCardCommand implements Command {
 
     /**
      * Determines whether to continue with the card change phase or proceed to the next stage (auction).
+     * A queued player who has disconnected has the cards changed by {@link #handleAutoChange}.
      *
      * @param game       the {@link Game} object representing the current game
      * @param serverData the {@link ServerData} object containing game and player state
      * @throws IOException if an I/O error occurs
      */
     void handleAuctionOrChange(Game game, ServerData serverData) throws IOException {
-        if (!game.getCurrentAuctionQueue().isEmpty()){
+        if (game.hasQueuedPlayers()){
             int nextPlayerID = game.nextPlayerIDFromQueue();
-
-            sendToken(serverData.clients.get(nextPlayerID), "changeCards");
+            game.setChangingPlayerID(nextPlayerID);
+
+            SocketChannel nextPlayerChannel = serverData.clients.get(nextPlayerID);
+            if (nextPlayerChannel == null) {
+                handleAutoChange(game, nextPlayerID, serverData);
+                return;
+            }
+            sendToken(nextPlayerChannel, "changeCards");
         }
         else{
+            game.setChangingPlayerID(-1);
             sendRequestNextStage(game, serverData);
             game.setMinimumBet(100);
             sendTokenToStarAuction(game, serverData);
@@ -112,6 +177,21 @@ public class ChangeCardCommand implements Command {
     }
 
 
+    /**
+     * Sends the winner of a hand where everyone else folded to all players.
+     *
+     * @param game       the {@link Game} object representing the current game
+     * @param winnerID   the ID of the only player who did not fold
+     * @param serverData the {@link ServerData} object containing game and player state
+     * @throws IOException if an I/O error occurs
+     */
+    void sendWinner(Game game, int winnerID, ServerData serverData) throws IOException {
+        String token = "winner " + winnerID + " " + game.getPlayers().get(winnerID).getUserName() + " " + game.getStake();
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            sendToken(serverData.clients.get(game.getSeatPlayerID(seat)), token);
+        }
+    }
+
     /**
      * Sends a token to all players indicating the transition to the next stage.
      *
@@ -121,7 +201,8 @@ public class ChangeCardCommand implements Command {
      */
     void sendRequestNextStage(Game game, ServerData serverData) throws IOException {
 
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             sendToken(serverData.clients.get(gamePlayerID), "nextStage ");
         }
 
@@ -137,9 +218,8 @@ public class ChangeCardCommand implements Command {
     void sendTokenToStarAuction(Game game, ServerData serverData) throws IOException {
 
         int gameFounderID = game.getQueueOfPlayers();
-        SocketChannel clientCH = serverData.clients.get(gameFounderID);
         String token = "startAuction " + game.getPlayers().get(gameFounderID).getCash() + " "+ game.getMinimumBet() + " " + game.getStake();
-        clientCH.write(ByteBuffer.wrap(token.getBytes(StandardCharsets.UTF_8)));
+        sendToken(serverData.clients.get(gameFounderID), token);
 
     }
 
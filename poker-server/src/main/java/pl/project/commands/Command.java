@@ -13,12 +13,15 @@ public interface Command {
     void execute(SocketChannel clientChannel, String[] args, ServerData serverData) throws IOException;
 
     /**
-     * Helps with sending tokens to client
-     * @param clientChannel socketChannel
+     * Helps with sending tokens to client, a disconnected client (no channel) is skipped
+     * @param clientChannel socketChannel, {@code null} for a disconnected client
      * @param token string
      * @throws IOException exception
      */
     default void sendToken(SocketChannel clientChannel, String token) throws IOException {
+        if (clientChannel == null) {
+            return;
+        }
         ByteBuffer buffer = ByteBuffer.wrap(token.getBytes());
         clientChannel.write(buffer);
         buffer.clear();
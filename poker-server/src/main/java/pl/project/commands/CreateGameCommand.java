@@ -2,10 +2,13 @@ package pl.project.commands;
 
 import pl.project.Game;
 import pl.project.Player;
+import pl.project.cards.DeckRandom;
 import pl.project.data.ServerData;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Locale;
 
 /**
  * One of implementation of Command Interface
@@ -13,7 +16,10 @@ import java.nio.channels.SocketChannel;
 public class CreateGameCommand implements Command {
 
     /**
-     * Executes the "create game" command
+     * Executes the "create game" command, the optional third argument chooses the {@link Game.Variant}
+     * (high hand when missing) and the optional fourth the number of jokers (none when missing).
+     * Unknown variant, wrong number of jokers or jokers in lowball are rejected with {@code rejectedCreate <arguments>}.
+     * The game shuffles with a generator of the server's {@link DeckRandom.Mode} and deals from its deck pool.
      *
      * @param clientChannel the {@link SocketChannel} representing the client's connection
      * @param args          an array of command arguments
@@ -30,6 +36,19 @@ public class CreateGameCommand implements Command {
 
         // create new game
         Game newGame = new Game(serverData.newGameID, player, serverData.maxNumberOfPlayers);
+        try {
+            if (args.length > 2) {
+                newGame.setVariant(Game.Variant.valueOf(args[2].toUpperCase(Locale.ROOT)));
+            }
+            if (args.length > 3) {
+                newGame.setJokers(Integer.parseInt(args[3]));
+            }
+        } catch (IllegalArgumentException e) {
+            sendToken(clientChannel, "rejectedCreate " + String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+            return;
+        }
+        newGame.setRandom(DeckRandom.of(serverData.randomMode, serverData.newGameID));
+        newGame.setDeckPool(serverData.deckPool);
 
         // added new game to map of games
         serverData.games.put(serverData.newGameID, newGame);
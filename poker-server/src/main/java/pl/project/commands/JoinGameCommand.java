@@ -61,7 +61,8 @@ public class JoinGameCommand implements Command {
         System.out.println("Player " + playerID + " joined the game."+ gameID);
         sendToken(clientChannel, "acceptedJoin " + gameID);
 
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             if (gamePlayerID != playerID) {
                 sendToken(serverData.clients.get(gamePlayerID), "playerJoin " + serverData.players.get(playerID).getUserName());
             }
@@ -75,13 +76,15 @@ public class JoinGameCommand implements Command {
         System.out.println("Player " + playerID + " joined the game."+ gameID);
 
         System.out.println("Gracze ");
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             System.out.println("id" + gamePlayerID);
         }
 
         sendToken(clientChannel, "acceptedJoin " + gameID);
 
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
             if (gamePlayerID != playerID) {
                 sendToken(serverData.clients.get(gamePlayerID), "playerJoin " + serverData.players.get(playerID).getUserName());
             }
@@ -2,21 +2,34 @@ package pl.project.commands;
 
 import pl.project.Game;
 import pl.project.Player;
-import pl.project.cards.Card;
-import pl.project.check.CheckEngine;
-import pl.project.check.hand.EvaluatedHand;
+import pl.project.check.StrengthEvaluator;
+import pl.project.check.showdown.Settlement;
+import pl.project.check.showdown.ShowdownResolver;
 import pl.project.data.ServerData;
 
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * One of implementation of Command Interface
  */
 public class SummaryCommand implements Command {
 
+    /**
+     * Resolvers are stateless, so one instance per variant serves every game
+     */
+    private static final Map<Game.Variant, ShowdownResolver> SHOWDOWN_RESOLVERS = new EnumMap<>(Game.Variant.class);
+
+    static {
+        for (Game.Variant variant : Game.Variant.values()) {
+            SHOWDOWN_RESOLVERS.put(variant, new ShowdownResolver(StrengthEvaluator.forVariant(variant)));
+        }
+    }
+
     /**
      * Executes the "Summary section" command,
      *
@@ -45,48 +58,50 @@ public class SummaryCommand implements Command {
 
 
 
+    /**
+     * Settles a showdown - every player with the best hand gets a share of the stake - and sends the result to all players.
+     * Winners are told their own share, other players the first winner in seat order and that winner's share,
+     * the last field is the number of players splitting the pot.
+     *
+     * @param game       the {@link Game} object representing the current game
+     * @param serverData the {@link ServerData} object containing game and player state
+     * @throws IOException if an I/O error occurs
+     */
     void handleNormalWin(Game game, ServerData serverData) throws IOException {
 
-        List<EvaluatedHand> allEvaluatedHands = evaluatePlayersHands(game);
-
-        EvaluatedHand winnerHand = findWinningHand(game, allEvaluatedHands);
-
-        Player winner = game.getPlayers().get(winnerHand.playerID);
-
-
-        winner.setWinner(true);
-        winner.setCash(winner.getCash() + game.getStake());
-        String username = serverData.players.get(winnerHand.playerID).getUserName();
+        Settlement settlement = resolveShowdown(game);
 
-        for (EvaluatedHand hand : allEvaluatedHands) {
-            int currentID = hand.playerID;
-            int cash = serverData.players.get(currentID).getCash();
-            sendToken(serverData.clients.get(currentID), "score " + hand.layout + " "+ winnerHand.playerID + " " + username + " " + winnerHand.layout  + " " + game.getStake() + " "+ cash);
+        for (int seat = 0; seat < settlement.seats(); seat++) {
+            if (settlement.isWinner(seat)) {
+                Player winner = game.getPlayers().get(settlement.playerID(seat));
+                winner.setWinner(true);
+                winner.setCash(winner.getCash() + settlement.amount(seat));
+            }
         }
 
-    }
-
-    List<EvaluatedHand> evaluatePlayersHands(Game game){
-        List<Player> quickListOfPlayers = new ArrayList<>(game.getPlayers().values());
-
-        CheckEngine checkEngine = new CheckEngine();
+        for (int seat = 0; seat < settlement.seats(); seat++) {
+            int shownSeat = settlement.isWinner(seat) ? seat : settlement.firstWinner();
+            int currentID = settlement.playerID(seat);
+            int winnerID = settlement.playerID(shownSeat);
+            String username = game.getPlayers().get(winnerID).getUserName();
+            int cash = game.getPlayers().get(currentID).getCash();
+            sendToken(serverData.clients.get(currentID), "score " + settlement.layout(seat) + " " + winnerID + " " + username + " "
+                    + settlement.layout(shownSeat) + " " + settlement.amount(shownSeat) + " " + cash + " " + settlement.winnerCount());
+        }
 
-        return checkEngine.check(quickListOfPlayers);
     }
 
-
-
-
-    EvaluatedHand findWinningHand(Game game, List<EvaluatedHand> allEvaluatedHands){
-
-        int i = 2;
-        EvaluatedHand winnerHand = allEvaluatedHands.get(allEvaluatedHands.size()-1);
-
-        while(game.getPlayers().get(winnerHand.playerID).isFold()){
-            winnerHand = allEvaluatedHands.get(allEvaluatedHands.size()-i);
-            i++;
+    /**
+     * Resolves the showdown of all players of the game in seat order, by the rules of the game's variant
+     * @param game the {@link Game} object representing the current game
+     * @return settlement of the stake
+     */
+    Settlement resolveShowdown(Game game) {
+        List<Player> seats = new ArrayList<>(game.getSeatCount());
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            seats.add(game.getSeat(seat));
         }
-        return  winnerHand;
+        return SHOWDOWN_RESOLVERS.get(game.getVariant()).resolve(seats, game.getStake());
     }
 
 
@@ -100,7 +115,8 @@ public class SummaryCommand implements Command {
         winner.setCash(winner.getCash() + game.getStake());
 
 
-        for (Integer playerID : game.getPlayerIDs()){
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int playerID = game.getSeatPlayerID(seat);
             int cash  = serverData.players.get(playerID).getCash();
             sendToken(serverData.clients.get(playerID), "foldWinner " + winnerUsername + " "+ winnerID + " " + game.getStake() + " " + cash);
         }
@@ -108,12 +124,13 @@ public class SummaryCommand implements Command {
 
 
     void handleClearAfterGame(Game game, ServerData serverData) {
-        for (Integer gamePlayerID : game.getPlayerIDs()) {
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            int gamePlayerID = game.getSeatPlayerID(seat);
 
             Player player = game.getPlayers().get(gamePlayerID);
 
             if(player.isWinner()){
-                player.setCash(player.getCash() + game.getStake());
+                // winnings were paid when the game was settled
                 player.setWinner(false);
             }else{
                 if (player.getCash()==0){
@@ -121,7 +138,7 @@ public class SummaryCommand implements Command {
                 }
             }
 
-            player.getHand().clear();
+            player.setHand(new ArrayList<>());
             player.setExchangeCounter(0);
             player.setGameId(-1);
             player.setFold(false);
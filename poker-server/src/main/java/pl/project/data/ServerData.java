@@ -3,6 +3,8 @@ package pl.project.data;
 import lombok.Getter;
 import pl.project.Game;
 import pl.project.Player;
+import pl.project.cards.DeckPool;
+import pl.project.cards.DeckRandom;
 
 import java.nio.channels.SocketChannel;
 import java.util.HashMap;
@@ -25,6 +27,10 @@ public class ServerData {
     public Set<String> userNames = new HashSet<>();
     public Map<SocketChannel, Integer> reverseUserMap = new HashMap<>();
 
+    // karty tasowane sa z gory w osobnym watku, pula rusza dopiero po starcie serwera
+    public DeckRandom.Mode randomMode = DeckRandom.Mode.SECURE;
+    public DeckPool deckPool = new DeckPool(64, 0, DeckRandom.of(randomMode, 0));
+
     public ServerData(int maxNumberOfPlayers) {
         this.maxNumberOfPlayers = maxNumberOfPlayers;
     }
@@ -25,5 +25,95 @@ import static org.mockito.Mockito.*;
 
 class ServerTest {
 
+    private SocketChannel founderChannel;
+    private SocketChannel playerChannel;
+    private SelectionKey playerKey;
 
+    @BeforeEach
+    void setUp() throws IOException {
+        Server.serverData = new ServerData(3);
+        founderChannel = mock(SocketChannel.class);
+        // close() is final, so the disconnected client gets a real, never connected channel
+        playerChannel = SocketChannel.open();
+        playerKey = mock(SelectionKey.class);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        playerChannel.close();
+        Server.serverData = null;
+    }
+
+    @Test
+    void testMaxNumberOfPlayers_DefaultsToFour() {
+        assertEquals(4, Server.maxNumberOfPlayers(new String[0]));
+        assertEquals(Game.MAX_SEATS, Server.maxNumberOfPlayers(new String[]{String.valueOf(Game.MAX_SEATS)}));
+    }
+
+    @Test
+    void testMaxNumberOfPlayers_RejectsWhatGameCannotSeat() {
+        assertThrows(IllegalArgumentException.class, () -> Server.maxNumberOfPlayers(new String[]{"0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Server.maxNumberOfPlayers(new String[]{String.valueOf(Game.MAX_SEATS + 1)}));
+        assertThrows(IllegalArgumentException.class, () -> Server.maxNumberOfPlayers(new String[]{"four"}));
+    }
+
+    @Test
+    void testDisconnectClient_WhileChangingCards() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 1);
+        Player player = new Player("Player", 2);
+        Game game = new Game(100, founder, 3);
+        game.addPlayer(player);
+        game.handCards(1);
+        game.handCards(2);
+        game.setChangingPlayerID(2);
+
+        ServerData serverData = Server.serverData;
+        serverData.games.put(100, game);
+        serverData.players.put(1, founder);
+        serverData.players.put(2, player);
+        serverData.clients.put(1, founderChannel);
+        serverData.clients.put(2, playerChannel);
+        serverData.reverseUserMap.put(founderChannel, 1);
+        serverData.reverseUserMap.put(playerChannel, 2);
+
+        // When
+        Server.disconnectClient(playerChannel, playerKey);
+
+        // Then
+        assertEquals(-1, game.getChangingPlayerID(), "The exchange should end after the auto-change.");
+        assertEquals(5, player.getHand().size());
+        verify(founderChannel, times(1)).write(ByteBuffer.wrap("nextStage ".getBytes()));
+        verify(founderChannel, times(1)).write(ByteBuffer.wrap(
+                ("startAuction " + founder.getCash() + " " + game.getMinimumBet() + " " + game.getStake()).getBytes()));
+        verify(playerKey, times(1)).cancel();
+        assertFalse(playerChannel.isOpen());
+        assertFalse(serverData.clients.containsKey(2));
+        assertFalse(serverData.reverseUserMap.containsKey(playerChannel));
+    }
+
+    @Test
+    void testDisconnectClient_NotChangingCards() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 1);
+        Player player = new Player("Player", 2);
+        Game game = new Game(100, founder, 3);
+        game.addPlayer(player);
+
+        ServerData serverData = Server.serverData;
+        serverData.games.put(100, game);
+        serverData.players.put(2, player);
+        serverData.clients.put(1, founderChannel);
+        serverData.clients.put(2, playerChannel);
+        serverData.reverseUserMap.put(playerChannel, 2);
+
+        // When
+        Server.disconnectClient(playerChannel, playerKey);
+
+        // Then
+        verify(founderChannel, never()).write(any(ByteBuffer.class));
+        assertFalse(playerChannel.isOpen());
+        assertFalse(serverData.players.containsKey(2));
+    }
 }
\ No newline at end of file
@@ -93,6 +93,7 @@ class BetCommandTest {
         verify(mockPlayer, times(1)).setCash(300); // 500 - 200
         verify(mockGame, times(1)).setStake(200); // Add 200 to stake
         verify(mockGame, times(1)).setMinimumBet(200); // Update minimum bet
+        verify(mockGame, times(1)).queuePlayersBefore(playerID); // Players before have to answer the raise
         verify(betCommand, times(1)).sendToken(mockClientChannel, "acceptedBet");
     }
 
@@ -136,6 +137,8 @@ class BetCommandTest {
         verify(mockPlayer, times(1)).setCash(0); // All-in sets cash to 0
         verify(mockGame, times(1)).setStake(500); // Add all-in amount to stake
         verify(mockGame, times(1)).setMinimumBet(500); // Update minimum bet
+        verify(mockGame, times(1)).playerAllIn(playerID);
+        verify(mockGame, times(1)).queuePlayersBefore(playerID);
         verify(betCommand, times(1)).sendToken(mockClientChannel, "acceptedBet");
     }
 
@@ -154,7 +157,7 @@ class BetCommandTest {
 
         // Mock Game
         Game mockGame1 = mock(Game.class);
-        when(mockGame1.getCurrentAuctionQueue()).thenReturn(new LinkedList<>(List.of(playerID)));
+        when(mockGame1.hasQueuedPlayers()).thenReturn(true);
         when(mockGame1.nextPlayerIDFromQueue()).thenReturn(playerID);
         when(mockGame1.getPlayers()).thenReturn(serverData.players);
         when(mockGame1.getMinimumBet()).thenReturn(100);
@@ -177,7 +180,7 @@ class BetCommandTest {
     @Test
     void testHandleCurrentState_NoQueue() throws IOException {
         // Given
-        when(mockGame.getCurrentAuctionQueue()).thenReturn(Collections.emptyList());
+        when(mockGame.hasQueuedPlayers()).thenReturn(false);
         when(mockGame.getNumberOfAuction()).thenReturn(0);
         when(mockGame.getQueueOfPlayers()).thenReturn(-1);
 
@@ -200,7 +203,7 @@ class BetCommandTest {
         serverData.clients.put(otherPlayerID, mock(SocketChannel.class));
 
         when(mockPlayer.getUserName()).thenReturn("Player1");
-        when(mockGame.getPlayerIDs()).thenReturn(Set.of(playerID, otherPlayerID));
+        seatPlayers(mockGame, playerID, otherPlayerID);
 
         // When
         betCommand.sendInfoAboutBet(mockGame, playerID, "call", 100, serverData);
@@ -232,7 +235,7 @@ class BetCommandTest {
         serverData.players.put(playerID2, mock(Player.class));
 
         Game mockGame1 = mock(Game.class);
-        when(mockGame1.getPlayerIDs()).thenReturn(Set.of(playerID1, playerID2));
+        seatPlayers(mockGame1, playerID1, playerID2);
         when(mockGame1.playerFold(playerID2)).thenReturn(winnerID);
         when(mockGame1.getStake()).thenReturn(1000);
 
@@ -248,6 +251,10 @@ class BetCommandTest {
                 .write(ByteBuffer.wrap("winner 42 Winner 1000".getBytes()));
     }
 
-
-
-}
\ No newline at end of file
+    private static void seatPlayers(Game game, int... playerIDs) {
+        when(game.getSeatCount()).thenReturn(playerIDs.length);
+        for (int seat = 0; seat < playerIDs.length; seat++) {
+            when(game.getSeatPlayerID(seat)).thenReturn(playerIDs[seat]);
+        }
+    }
+}
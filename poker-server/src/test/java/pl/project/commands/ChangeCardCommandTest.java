@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pl.project.Game;
 import pl.project.Player;
+import pl.project.cards.Card;
 import pl.project.data.ServerData;
 
 import java.io.IOException;
@@ -11,6 +12,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class ChangeCardCommandTest {
@@ -78,7 +80,7 @@ class ChangeCardCommandTest {
         // Mock Player and Game behavior
         when(mockPlayer1.getCash()).thenReturn(1000); // Ensure no NPE on getCash()
         when(mockGame1.getPlayers()).thenReturn(serverData.players); // Game returns players map
-        when(mockGame1.getCurrentAuctionQueue()).thenReturn(List.of(playerID));
+        when(mockGame1.hasQueuedPlayers()).thenReturn(true);
         when(mockGame1.nextPlayerIDFromQueue()).thenReturn(playerID);
 
         // Args
@@ -130,7 +132,7 @@ class ChangeCardCommandTest {
         // Mock Player behavior
         when(mockPlayer1.getExchangeCounter()).thenReturn(4); // Limit reached
         when(mockPlayer1.getCash()).thenReturn(1000); // Avoid NullPointerException
-        when(mockGame1.getCurrentAuctionQueue()).thenReturn(List.of(playerID));
+        when(mockGame1.hasQueuedPlayers()).thenReturn(true);
         when(mockGame1.nextPlayerIDFromQueue()).thenReturn(playerID);
 
         // Mock game behavior
@@ -144,6 +146,154 @@ class ChangeCardCommandTest {
         verify(changeCardCommand, times(1)).handleAuctionOrChange(mockGame1, serverData);
     }
 
+    @Test
+    void testHandleAutoChange_ExchangesAdvisedCards() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(Card.Rank.ACE, Card.Suit.SPADES), new Card(Card.Rank.ACE, Card.Suit.HEARTS),
+                new Card(Card.Rank.KING, Card.Suit.CLUBS), new Card(Card.Rank.SEVEN, Card.Suit.DIAMONDS),
+                new Card(Card.Rank.TWO, Card.Suit.CLUBS)));
+        game.getDeck().getCardList().removeIf(card -> hand.stream().anyMatch(c -> c.getId() == card.getId()));
+        founder.setHand(hand);
+        founder.setExchangeCounter(2);
+        doNothing().when(changeCardCommand).handleAuctionOrChange(game, serverData);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then
+        assertEquals(4, founder.getExchangeCounter(), "Only the exchanges left should be used.");
+        assertEquals(Card.Rank.ACE, founder.getHand().get(0).getRank());
+        assertEquals(Card.Rank.ACE, founder.getHand().get(1).getRank());
+        verify(changeCardCommand, times(1)).handleAuctionOrChange(game, serverData);
+    }
+
+    @Test
+    void testHandleAutoChange_DrawsToLowHandInLowball() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        game.setVariant(Game.Variant.DEUCE_TO_SEVEN);
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(Card.Rank.TWO, Card.Suit.SPADES), new Card(Card.Rank.THREE, Card.Suit.HEARTS),
+                new Card(Card.Rank.FOUR, Card.Suit.CLUBS), new Card(Card.Rank.SEVEN, Card.Suit.DIAMONDS),
+                new Card(Card.Rank.SEVEN, Card.Suit.CLUBS)));
+        game.getDeck().getCardList().removeIf(card -> hand.stream().anyMatch(c -> c.getId() == card.getId()));
+        founder.setHand(hand);
+        doNothing().when(changeCardCommand).handleAuctionOrChange(game, serverData);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then - one seven goes, the low cards stay
+        assertEquals(1, founder.getExchangeCounter());
+        assertEquals(Card.Rank.TWO, founder.getHand().get(0).getRank());
+        assertEquals(Card.Rank.THREE, founder.getHand().get(1).getRank());
+        assertEquals(Card.Rank.FOUR, founder.getHand().get(2).getRank());
+        verify(changeCardCommand, times(1)).handleAuctionOrChange(game, serverData);
+    }
+
+    @Test
+    void testHandleAutoChange_KeepsHandWithJoker() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        game.setJokers(1);
+        List<Card> hand = new ArrayList<>(List.of(
+                new Card(Card.Rank.ACE, Card.Suit.SPADES), new Card(Card.Rank.KING, Card.Suit.SPADES),
+                new Card(Card.Rank.TWO, Card.Suit.HEARTS), new Card(Card.Rank.SEVEN, Card.Suit.CLUBS),
+                Card.joker(0)));
+        game.getDeck().getCardList().removeIf(card -> hand.stream().anyMatch(c -> c.getId() == card.getId()));
+        founder.setHand(hand);
+        doNothing().when(changeCardCommand).handleAuctionOrChange(game, serverData);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then
+        assertEquals(hand, founder.getHand());
+        assertEquals(0, founder.getExchangeCounter());
+        verify(changeCardCommand, times(1)).handleAuctionOrChange(game, serverData);
+    }
+
+    @Test
+    void testHandleAutoChange_NoExchangesLeft() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        game.handCards(42);
+        List<Card> hand = new ArrayList<>(founder.getHand());
+        founder.setExchangeCounter(4);
+        doNothing().when(changeCardCommand).handleAuctionOrChange(game, serverData);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then
+        assertEquals(hand, founder.getHand());
+        assertEquals(4, founder.getExchangeCounter());
+        verify(changeCardCommand, times(1)).handleAuctionOrChange(game, serverData);
+    }
+
+    @Test
+    void testHandleAutoChange_FoldsPlayerAndStartsAuctionWithOthers() throws IOException {
+        // Given - the founder disconnected while changing, the other two are connected
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        SocketChannel channel43 = seatConnectedPlayer(game, 43);
+        SocketChannel channel44 = seatConnectedPlayer(game, 44);
+        game.handCards(42);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then
+        assertTrue(founder.isFold());
+        assertEquals(-1, game.getChangingPlayerID());
+        verify(channel43, times(1)).write(ByteBuffer.wrap("startAuction 10000 100 0".getBytes()));
+        verify(channel44, never()).write(ByteBuffer.wrap("startAuction 10000 100 0".getBytes()));
+    }
+
+    @Test
+    void testHandleAutoChange_LastPlayerLeftWins() throws IOException {
+        // Given
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 2);
+        SocketChannel channel43 = seatConnectedPlayer(game, 43);
+        game.handCards(42);
+
+        // When
+        changeCardCommand.handleAutoChange(game, 42, serverData);
+
+        // Then
+        verify(channel43, times(1)).write(ByteBuffer.wrap("winner 43 Player43 0".getBytes()));
+        verify(changeCardCommand, never()).handleAuctionOrChange(game, serverData);
+    }
+
+    @Test
+    void testHandleAuctionOrChange_DisconnectedPlayerInQueue() throws IOException {
+        // Given - the founder is connected, player 43 disconnected before the turn to change
+        Player founder = new Player("Founder", 42);
+        Game game = new Game(100, founder, 3);
+        SocketChannel founderChannel = mock(SocketChannel.class);
+        serverData.clients.put(42, founderChannel);
+        Player disconnected = new Player("Player43", 43);
+        game.addPlayer(disconnected);
+        seatConnectedPlayer(game, 44);
+        game.handCards(43);
+        game.addPlayerToQueue(43);
+
+        // When
+        changeCardCommand.handleAuctionOrChange(game, serverData);
+
+        // Then
+        verify(changeCardCommand, times(1)).handleAutoChange(game, 43, serverData);
+        assertTrue(disconnected.isFold());
+        verify(founderChannel, times(1)).write(ByteBuffer.wrap("startAuction 10000 100 0".getBytes()));
+    }
+
     @Test
     void testHandleNoChangeToken() throws IOException {
         // Given
@@ -160,7 +310,7 @@ class ChangeCardCommandTest {
         serverData.games.put(gameID, mockGame1);
 
         // Mock game behavior
-        when(mockGame1.getPlayerIDs()).thenReturn(Set.of(playerID)); // Use Set instead of List
+        seatPlayers(mockGame1, playerID);
         when(mockGame1.getQueueOfPlayers()).thenReturn(playerID);
         when(mockGame1.getPlayers()).thenReturn(serverData.players);
 
@@ -184,7 +334,7 @@ class ChangeCardCommandTest {
         SocketChannel nextPlayerChannel = mock(SocketChannel.class);
         serverData.clients.put(nextPlayerID, nextPlayerChannel);
 
-        when(mockGame.getCurrentAuctionQueue()).thenReturn(Arrays.asList(nextPlayerID));
+        when(mockGame.hasQueuedPlayers()).thenReturn(true);
         when(mockGame.nextPlayerIDFromQueue()).thenReturn(nextPlayerID);
 
         // When
@@ -203,7 +353,7 @@ class ChangeCardCommandTest {
         serverData.clients.put(gameFounderID, founderChannel);
         serverData.players.put(gameFounderID, mockPlayer);
 
-        when(mockGame.getCurrentAuctionQueue()).thenReturn(Collections.emptyList());
+        when(mockGame.hasQueuedPlayers()).thenReturn(false);
         when(mockGame.getQueueOfPlayers()).thenReturn(gameFounderID);
         when(mockGame.getPlayers()).thenReturn(serverData.players);
         when(mockGame.getMinimumBet()).thenReturn(100);
@@ -243,7 +393,17 @@ class ChangeCardCommandTest {
                 .write(ByteBuffer.wrap("startAuction 1000 100 500".getBytes()));
     }
 
+    private SocketChannel seatConnectedPlayer(Game game, int playerID) {
+        SocketChannel channel = mock(SocketChannel.class);
+        game.addPlayer(new Player("Player" + playerID, playerID));
+        serverData.clients.put(playerID, channel);
+        return channel;
+    }
 
-
-
-}
\ No newline at end of file
+    private static void seatPlayers(Game game, int... playerIDs) {
+        when(game.getSeatCount()).thenReturn(playerIDs.length);
+        for (int seat = 0; seat < playerIDs.length; seat++) {
+            when(game.getSeatPlayerID(seat)).thenReturn(playerIDs[seat]);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.nio.channels.SocketChannel;
 import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class CreateGameCommandTest {
@@ -60,8 +62,63 @@ class CreateGameCommandTest {
         assertEquals(2, serverData.newGameID);
     }
 
+    @Test
+    void testExecute_CreatesGameOfVariant() throws IOException {
+        serverData.players.put(42, mockPlayer);
+
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42", "deuce_to_seven"}, serverData);
 
+        assertEquals(Game.Variant.DEUCE_TO_SEVEN, serverData.games.get(1).getVariant());
+        verify(createGameCommand).sendToken(mockClientChannel, "acceptedCreate 1");
+    }
 
+    @Test
+    void testExecute_DefaultVariantIsHigh() throws IOException {
+        serverData.players.put(42, mockPlayer);
+
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42"}, serverData);
+
+        assertEquals(Game.Variant.HIGH, serverData.games.get(1).getVariant());
+    }
 
+    @Test
+    void testExecute_GameDealsFromServerDeckPool() throws IOException {
+        serverData.players.put(42, mockPlayer);
+
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42"}, serverData);
+
+        assertSame(serverData.deckPool, serverData.games.get(1).getDeckPool());
+    }
+
+    @Test
+    void testExecute_RejectsUnknownVariant() throws IOException {
+        serverData.players.put(42, mockPlayer);
 
-}
\ No newline at end of file
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42", "razz"}, serverData);
+
+        assertTrue(serverData.games.isEmpty());
+        assertEquals(1, serverData.newGameID);
+        verify(createGameCommand).sendToken(mockClientChannel, "rejectedCreate razz");
+    }
+
+    @Test
+    void testExecute_CreatesGameWithJokers() throws IOException {
+        serverData.players.put(42, mockPlayer);
+
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42", "high", "2"}, serverData);
+
+        assertEquals(2, serverData.games.get(1).getJokers());
+        verify(createGameCommand).sendToken(mockClientChannel, "acceptedCreate 1");
+    }
+
+    @Test
+    void testExecute_RejectsJokersInLowball() throws IOException {
+        serverData.players.put(42, mockPlayer);
+
+        createGameCommand.execute(mockClientChannel, new String[]{"create", "42", "ace_to_five", "1"}, serverData);
+
+        assertTrue(serverData.games.isEmpty());
+        assertEquals(1, serverData.newGameID);
+        verify(createGameCommand).sendToken(mockClientChannel, "rejectedCreate ace_to_five 1");
+    }
+}
@@ -61,7 +61,7 @@ class JoinGameCommandTest {
         // Mock game behavior
         when(mockGame.addPlayer(mockPlayer)).thenReturn(0);
         when(mockGame.getGameID()).thenReturn(1);
-        when(mockGame.getPlayerIDs()).thenReturn(new HashSet<>(Arrays.asList(42, 43)));
+        seatPlayers(mockGame, 42, 43);
 
         // Mock additional player
         SocketChannel otherPlayerChannel = mock(SocketChannel.class);
@@ -88,7 +88,7 @@ class JoinGameCommandTest {
         // Mock game behavior
         when(mockGame.addPlayer(mockPlayer)).thenReturn(1); // Indicate the game is ready to start
         when(mockGame.getGameID()).thenReturn(1);
-        when(mockGame.getPlayerIDs()).thenReturn(new HashSet<>(Arrays.asList(42, 43))); // Simulate player IDs in the game
+        seatPlayers(mockGame, 42, 43); // Simulate player IDs in the game
 
         // Mock additional player
         SocketChannel otherPlayerChannel = mock(SocketChannel.class); // Mock a second client channel
@@ -133,8 +133,10 @@ class JoinGameCommandTest {
         verify(joinGameCommand, times(1)).sendToken(clientChannel, "rejectedJoin 1");
     }
 
-
-
-
-
-}
\ No newline at end of file
+    private static void seatPlayers(Game game, int... playerIDs) {
+        when(game.getSeatCount()).thenReturn(playerIDs.length);
+        for (int seat = 0; seat < playerIDs.length; seat++) {
+            when(game.getSeatPlayerID(seat)).thenReturn(playerIDs[seat]);
+        }
+    }
+}
@@ -2,13 +2,9 @@ package pl.project.commands;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import pl.project.Game;
 import pl.project.Player;
 import pl.project.cards.Card;
-import pl.project.check.CheckEngine;
-import pl.project.check.evaluators.HandEvaluator;
-import pl.project.check.hand.EvaluatedHand;
 import pl.project.data.ServerData;
 
 import java.io.IOException;
@@ -54,7 +50,7 @@ class SummaryCommandTest {
         when(mockGame.foldedWinner()).thenReturn(winnerID);
         when(mockGame.getStake()).thenReturn(1000);
         when(mockGame.getPlayers()).thenReturn(Map.of(winnerID, winner));
-        when(mockGame.getPlayerIDs()).thenReturn(Set.of(winnerID));
+        seatPlayers(mockGame, winnerID);
 
         serverData.games.put(gameID, mockGame);
         serverData.players.put(winnerID, winner);
@@ -92,7 +88,7 @@ class SummaryCommandTest {
 
         when(mockGame.getGameID()).thenReturn(gameID);
         when(mockGame.getPlayers()).thenReturn(Map.of(playerID, player));
-        when(mockGame.getPlayerIDs()).thenReturn(Set.of(playerID));
+        seatPlayers(mockGame, playerID);
 
         serverData.games.put(gameID, mockGame);
 
@@ -112,40 +108,116 @@ class SummaryCommandTest {
     }
 
     @Test
-    void testFindWinningHand() {
+    void testHandleNormalWin_BetterLayoutWins() throws IOException {
         // Given
-        int player1ID = 42;
-        int player2ID = 43;
+        Player pair = player(42, 10000, 0, 13, 5, 20, 34);
+        Player flush = player(43, 10000, 1, 3, 6, 9, 11);
+        SocketChannel pairChannel = mock(SocketChannel.class);
+        SocketChannel flushChannel = mock(SocketChannel.class);
+        mockTable(1000, pair, flush);
+        serverData.clients.put(42, pairChannel);
+        serverData.clients.put(43, flushChannel);
 
-        // Create mutable lists of cards
-        List<Card> player1Cards = new ArrayList<>(List.of(mock(Card.class), mock(Card.class)));
-        List<Card> player2Cards = new ArrayList<>(List.of(mock(Card.class), mock(Card.class)));
+        // When
+        summaryCommand.handleNormalWin(mockGame, serverData);
+
+        // Then
+        assertEquals(11000, flush.getCash());
+        assertEquals(10000, pair.getCash());
+        verify(summaryCommand).sendToken(flushChannel, "score FLUSH 43 player43 FLUSH 1000 11000 1");
+        verify(summaryCommand).sendToken(pairChannel, "score PAIR 43 player43 FLUSH 1000 10000 1");
+    }
 
-        // Mocking card comparisons for sorting
-        Card player1MaxCard = mock(Card.class);
-        Card player2MaxCard = mock(Card.class);
-        when(player1MaxCard.compareTo(any())).thenReturn(-1); // Mock comparison for sorting
-        when(player2MaxCard.compareTo(any())).thenReturn(1);
+    @Test
+    void testHandleNormalWin_SkipsFoldedPlayer() throws IOException {
+        // Given
+        Player pair = player(42, 10000, 0, 13, 5, 20, 34);
+        Player flush = player(43, 10000, 1, 3, 6, 9, 11);
+        flush.setFold(true);
+        mockTable(1000, pair, flush);
+        serverData.clients.put(42, mockClientChannel);
+        serverData.clients.put(43, mock(SocketChannel.class));
 
-        // Prepare EvaluatedHand instances
-        EvaluatedHand hand1 = new EvaluatedHand(player1Cards, player1MaxCard, HandEvaluator.Layouts.HIGH_CARD, player1ID, player1Cards);
-        EvaluatedHand hand2 = new EvaluatedHand(player2Cards, player2MaxCard, HandEvaluator.Layouts.PAIR, player2ID, player2Cards);
+        // When
+        summaryCommand.handleNormalWin(mockGame, serverData);
 
-        List<EvaluatedHand> evaluatedHands = List.of(hand1, hand2);
+        // Then
+        assertEquals(11000, pair.getCash());
+        assertEquals(10000, flush.getCash());
+        verify(summaryCommand).sendToken(mockClientChannel, "score PAIR 42 player42 PAIR 1000 11000 1");
+    }
 
-        // Mock game with players
-        when(mockGame.getPlayers()).thenReturn(Map.of(
-                player1ID, mock(Player.class),
-                player2ID, mock(Player.class)
-        ));
-        when(mockGame.getPlayers().get(player1ID).isFold()).thenReturn(false);
-        when(mockGame.getPlayers().get(player2ID).isFold()).thenReturn(false);
+    @Test
+    void testHandleNormalWin_SplitsPot() throws IOException {
+        // Given - two equal straights in the first and the last seat
+        Player straight = player(42, 10000, 8, 9, 23, 37, 51);
+        Player pair = player(43, 10000, 0, 13, 5, 20, 34);
+        Player otherStraight = player(44, 10000, 21, 22, 10, 11, 38);
+        SocketChannel pairChannel = mock(SocketChannel.class);
+        mockTable(1001, straight, pair, otherStraight);
+        serverData.clients.put(42, mockClientChannel);
+        serverData.clients.put(43, pairChannel);
+        serverData.clients.put(44, mock(SocketChannel.class));
 
         // When
-        EvaluatedHand winningHand = summaryCommand.findWinningHand(mockGame, evaluatedHands);
+        summaryCommand.handleNormalWin(mockGame, serverData);
+
+        // Then - odd chip goes to the first seat
+        assertEquals(10501, straight.getCash());
+        assertEquals(10500, otherStraight.getCash());
+        assertEquals(10000, pair.getCash());
+        assertEquals(true, straight.isWinner());
+        assertEquals(true, otherStraight.isWinner());
+        verify(summaryCommand).sendToken(mockClientChannel, "score STRAIGHT 42 player42 STRAIGHT 501 10501 2");
+        verify(summaryCommand).sendToken(pairChannel, "score PAIR 42 player42 STRAIGHT 501 10000 2");
+    }
+
+    @Test
+    void testHandleClearAfterGame_WinnerIsPaidOnce() {
+        // Given
+        Player winner = new Player("Winner", 42);
+        winner.setCash(11000);
+        winner.setWinner(true);
+        when(mockGame.getPlayers()).thenReturn(Map.of(42, winner));
+        seatPlayers(mockGame, 42);
+        when(mockGame.getStake()).thenReturn(1000);
+
+        // When
+        summaryCommand.handleClearAfterGame(mockGame, serverData);
 
         // Then
-        assertEquals(hand2, winningHand); // Verify the hand with the better layout is returned
+        assertEquals(11000, winner.getCash());
+        assertEquals(false, winner.isWinner());
     }
 
-}
\ No newline at end of file
+    private void mockTable(int stake, Player... seats) {
+        Map<Integer, Player> players = new HashMap<>();
+        when(mockGame.getSeatCount()).thenReturn(seats.length);
+        for (int seat = 0; seat < seats.length; seat++) {
+            players.put(seats[seat].getPlayerId(), seats[seat]);
+            when(mockGame.getSeat(seat)).thenReturn(seats[seat]);
+            when(mockGame.getSeatPlayerID(seat)).thenReturn(seats[seat].getPlayerId());
+        }
+        when(mockGame.getPlayers()).thenReturn(players);
+        when(mockGame.getStake()).thenReturn(stake);
+        when(mockGame.getVariant()).thenReturn(Game.Variant.HIGH);
+    }
+
+    private static Player player(int id, int cash, int... cardIDs) {
+        List<Card> hand = new ArrayList<>();
+        for (int cardID : cardIDs) {
+            hand.add(Card.fromId(cardID));
+        }
+        Player player = new Player("player" + id, id);
+        player.setCash(cash);
+        player.setHand(hand);
+        return player;
+    }
+
+    private static void seatPlayers(Game game, int... playerIDs) {
+        when(game.getSeatCount()).thenReturn(playerIDs.length);
+        for (int seat = 0; seat < playerIDs.length; seat++) {
+            when(game.getSeatPlayerID(seat)).thenReturn(playerIDs[seat]);
+        }
+    }
+}